@@ -36,8 +36,9 @@ public class AnnotationErrorDecoder implements ErrorDecoder {
 
   @Override
   public Exception decode(String methodKey, Response response) {
-    if (errorHandlerMap.containsKey(methodKey)) {
-      return errorHandlerMap.get(methodKey).decode(response);
+    MethodErrorHandler errorHandler = errorHandlerMap.get(methodKey);
+    if (errorHandler != null) {
+      return errorHandler.decode(response);
     }
     return defaultDecoder.decode(methodKey, response);
   }
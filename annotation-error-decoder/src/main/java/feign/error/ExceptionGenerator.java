@@ -20,6 +20,9 @@ import feign.codec.DecodeException;
 import feign.codec.Decoder;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
@@ -27,6 +30,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import org.jvnet.animal_sniffer.IgnoreJRERequirement;
 import static feign.Util.checkState;
 
 class ExceptionGenerator {
@@ -46,17 +50,22 @@ class ExceptionGenerator {
         .build();
   }
 
-  private final Integer bodyIndex;
-  private final Integer requestIndex;
-  private final Integer headerMapIndex;
-  private final Integer numOfParams;
+  private static final MethodType FACTORY_TYPE =
+      MethodType.methodType(Exception.class, Object[].class);
+
+  private final int bodyIndex;
+  private final int requestIndex;
+  private final int headerMapIndex;
+  private final int numOfParams;
   private final Type bodyType;
   private final Class<? extends Exception> exceptionType;
   private final Decoder bodyDecoder;
+  // the constructor, taking its arguments as an Object[] and returning Exception
+  private final MethodHandle factory;
 
-  ExceptionGenerator(Integer bodyIndex, Integer requestIndex, Integer headerMapIndex,
-      Integer numOfParams, Type bodyType,
-      Class<? extends Exception> exceptionType, Decoder bodyDecoder) {
+  ExceptionGenerator(int bodyIndex, int requestIndex, int headerMapIndex,
+      int numOfParams, Type bodyType,
+      Class<? extends Exception> exceptionType, Decoder bodyDecoder, MethodHandle factory) {
     this.bodyIndex = bodyIndex;
     this.requestIndex = requestIndex;
     this.headerMapIndex = headerMapIndex;
@@ -64,29 +73,32 @@ class ExceptionGenerator {
     this.bodyType = bodyType;
     this.exceptionType = exceptionType;
     this.bodyDecoder = bodyDecoder;
+    this.factory = factory;
   }
 
 
-  Exception createException(Response response) throws InvocationTargetException,
-      NoSuchMethodException, InstantiationException, IllegalAccessException {
-
-    Class<?>[] paramClasses = new Class[numOfParams];
+  /**
+   * Creates the exception, decoding the body only if the constructor takes it.
+   *
+   * @throws InvocationTargetException if the constructor throws.
+   */
+  @IgnoreJRERequirement // animal-sniffer doesn't know invokeExact is signature polymorphic
+  Exception createException(Response response) throws InvocationTargetException {
     Object[] paramValues = new Object[numOfParams];
     if (bodyIndex >= 0) {
-      paramClasses[bodyIndex] = Types.getRawType(bodyType);
       paramValues[bodyIndex] = resolveBody(response);
     }
     if (requestIndex >= 0) {
-      paramClasses[requestIndex] = Request.class;
       paramValues[requestIndex] = response.request();
     }
     if (headerMapIndex >= 0) {
       paramValues[headerMapIndex] = response.headers();
-      paramClasses[headerMapIndex] = Map.class;
     }
-    return exceptionType.getConstructor(paramClasses)
-        .newInstance(paramValues);
-
+    try {
+      return (Exception) factory.invokeExact(paramValues);
+    } catch (Throwable e) {
+      throw new InvocationTargetException(e);
+    }
   }
 
   Class<? extends Exception> getExceptionType() {
@@ -127,10 +139,10 @@ class ExceptionGenerator {
       Type[] parameterTypes = constructor.getGenericParameterTypes();
       Annotation[][] parametersAnnotations = constructor.getParameterAnnotations();
 
-      Integer bodyIndex = -1;
-      Integer requestIndex = -1;
-      Integer headerMapIndex = -1;
-      Integer numOfParams = parameterTypes.length;
+      int bodyIndex = -1;
+      int requestIndex = -1;
+      int headerMapIndex = -1;
+      int numOfParams = parameterTypes.length;
       Type bodyType = null;
 
       for (int i = 0; i < parameterTypes.length; i++) {
@@ -168,12 +180,27 @@ class ExceptionGenerator {
           numOfParams,
           bodyType,
           exceptionType,
-          responseBodyDecoder);
+          responseBodyDecoder,
+          factoryFor(constructor));
 
       validateGeneratorCanBeUsedToGenerateExceptions(generator);
       return generator;
     }
 
+    /**
+     * Resolves the constructor once, so creating an exception doesn't need to look it up again.
+     */
+    private static MethodHandle factoryFor(Constructor<? extends Exception> constructor) {
+      try {
+        return MethodHandles.lookup().unreflectConstructor(constructor)
+            .asSpreader(Object[].class, constructor.getParameterCount())
+            .asType(FACTORY_TYPE);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(
+            "Cannot access constructor of [" + constructor.getDeclaringClass().getName() + "]", e);
+      }
+    }
+
     private void validateGeneratorCanBeUsedToGenerateExceptions(ExceptionGenerator generator) {
       try {
         generator.createException(TEST_RESPONSE);
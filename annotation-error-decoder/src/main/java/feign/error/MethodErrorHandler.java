@@ -15,19 +15,41 @@ package feign.error;
 
 import feign.Response;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Map;
 
 class MethodErrorHandler {
 
-  private final Map<Integer, ExceptionGenerator> methodLevelExceptionsByCode;
-  private final Map<Integer, ExceptionGenerator> classLevelExceptionsByCode;
+  // HTTP status codes have three digits; anything else is looked up in otherExceptionsByCode
+  private static final int MAX_STATUS = 999;
+
+  private final ExceptionGenerator[] exceptionsByStatus;
+  private final Map<Integer, ExceptionGenerator> otherExceptionsByCode;
   private final ExceptionGenerator defaultException;
 
   MethodErrorHandler(Map<Integer, ExceptionGenerator> methodLevelExceptionsByCode,
       Map<Integer, ExceptionGenerator> classLevelExceptionsByCode,
       ExceptionGenerator defaultException) {
-    this.methodLevelExceptionsByCode = methodLevelExceptionsByCode;
-    this.classLevelExceptionsByCode = classLevelExceptionsByCode;
+    Map<Integer, ExceptionGenerator> exceptionsByCode =
+        new HashMap<Integer, ExceptionGenerator>(classLevelExceptionsByCode);
+    exceptionsByCode.putAll(methodLevelExceptionsByCode); // the method wins over the class
+
+    int maxStatus = -1;
+    for (int status : exceptionsByCode.keySet()) {
+      if (status >= 0 && status <= MAX_STATUS) {
+        maxStatus = Math.max(maxStatus, status);
+      }
+    }
+    this.exceptionsByStatus = new ExceptionGenerator[maxStatus + 1];
+    this.otherExceptionsByCode = new HashMap<Integer, ExceptionGenerator>();
+    for (Map.Entry<Integer, ExceptionGenerator> entry : exceptionsByCode.entrySet()) {
+      int status = entry.getKey();
+      if (status >= 0 && status <= MAX_STATUS) {
+        exceptionsByStatus[status] = entry.getValue();
+      } else {
+        otherExceptionsByCode.put(status, entry.getValue());
+      }
+    }
     this.defaultException = defaultException;
   }
 
@@ -38,26 +60,18 @@ class MethodErrorHandler {
   }
 
   private ExceptionGenerator getConstructorDefinition(Response response) {
-    if (methodLevelExceptionsByCode.containsKey(response.status())) {
-      return methodLevelExceptionsByCode.get(response.status());
-    }
-    if (classLevelExceptionsByCode.containsKey(response.status())) {
-      return classLevelExceptionsByCode.get(response.status());
-    }
-    return defaultException;
+    int status = response.status();
+    ExceptionGenerator generator = status >= 0 && status < exceptionsByStatus.length
+        ? exceptionsByStatus[status]
+        : otherExceptionsByCode.get(status);
+    return generator != null ? generator : defaultException;
   }
 
   protected Exception createException(ExceptionGenerator constructorDefinition, Response response) {
     try {
       return constructorDefinition.createException(response);
-    } catch (IllegalAccessException e) {
-      throw new IllegalStateException("Cannot access constructor", e);
-    } catch (InstantiationException e) {
-      throw new IllegalStateException("Cannot instantiate exception with constructor", e);
     } catch (InvocationTargetException e) {
       throw new IllegalStateException("Cannot invoke constructor", e);
-    } catch (NoSuchMethodException e) {
-      throw new IllegalStateException("Constructor does not exist", e);
     }
   }
 }
@@ -51,6 +51,11 @@ public class AnnotationErrorDecoderPriorityTest extends
         {"Test Default At Method", 504, "method1Test", Method1DefaultException.class},
         {"Test Default At Method", 504, "method3Test", Method3DefaultException.class},
         {"Test Default At Class", 504, "method2Test", ClassLevelDefaultException.class},
+        {"Test Non Standard Code", 0, "method4Test", NonStandardStatusException.class},
+        {"Test Non Standard Code", 1000, "method4Test", NonStandardStatusException.class},
+        {"Test Non Standard Code", 999, "method4Test", ClassLevelDefaultException.class},
+        {"Test Non Standard Code", -1, "method4Test", ClassLevelDefaultException.class},
+        {"Test Non Standard Code", 404, "method4Test", ClassLevelNotFoundException.class},
     });
   }
 
@@ -99,6 +104,10 @@ public class AnnotationErrorDecoderPriorityTest extends
         defaultException = Method3DefaultException.class)
     void method3Test();
 
+    @ErrorHandling(codeSpecific = {
+        @ErrorCodes(codes = {0, 1000}, generate = NonStandardStatusException.class)
+    })
+    void method4Test();
 
 
     class ClassLevelDefaultException extends Exception {
@@ -117,5 +126,7 @@ public class AnnotationErrorDecoderPriorityTest extends
     }
     class ServeErrorException extends Exception {
     }
+    class NonStandardStatusException extends Exception {
+    }
   }
 }
@@ -0,0 +1,131 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.Feign;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Response;
+import feign.Util;
+import feign.error.AnnotationErrorDecoder;
+import feign.error.ErrorCodes;
+import feign.error.ErrorHandling;
+import feign.error.FeignExceptionConstructor;
+import feign.error.ResponseBody;
+import feign.error.ResponseHeaders;
+
+/**
+ * Cost of mapping an error response to an exception with {@link AnnotationErrorDecoder}.
+ * {@code 404} hits a method-level mapping whose constructor takes no arguments, {@code 409} a
+ * class-level mapping taking the request, headers and decoded body, and {@code 500} the method
+ * default.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class AnnotationErrorDecoderBenchmarks {
+
+  @Param({"404", "409", "500"})
+  private int status;
+
+  private AnnotationErrorDecoder errorDecoder;
+  private String methodKey;
+  private Request request;
+  private Map<String, Collection<String>> headers;
+
+  @Setup
+  public void setup() throws NoSuchMethodException {
+    errorDecoder = AnnotationErrorDecoder.builderFor(Api.class).build();
+    methodKey = Feign.configKey(Api.class, Api.class.getMethod("get"));
+    request = Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8, null);
+    headers = Collections.singletonMap("Content-Type",
+        Collections.singletonList("text/plain"));
+  }
+
+  @Benchmark
+  public Exception decode() {
+    Response response = Response.builder()
+        .status(status)
+        .reason("Error")
+        .request(request)
+        .headers(headers)
+        .body("{\"error\":\"conflict\"}", Util.UTF_8)
+        .build();
+    return errorDecoder.decode(methodKey, response);
+  }
+
+  @ErrorHandling(codeSpecific = {
+      @ErrorCodes(codes = {401, 403}, generate = NotAllowedException.class),
+      @ErrorCodes(codes = {409}, generate = ConflictException.class)
+  })
+  interface Api {
+
+    @ErrorHandling(codeSpecific = @ErrorCodes(codes = {404}, generate = NotFoundException.class),
+        defaultException = ServerException.class)
+    @RequestLine("GET /")
+    String get();
+  }
+
+  public static class StacklessException extends Exception {
+    StacklessException(String message) {
+      super(message, null, false, false);
+    }
+  }
+
+  public static class NotFoundException extends StacklessException {
+    public NotFoundException() {
+      super("Not Found");
+    }
+  }
+
+  public static class NotAllowedException extends StacklessException {
+    public NotAllowedException() {
+      super("Not Allowed");
+    }
+  }
+
+  public static class ServerException extends StacklessException {
+    public ServerException() {
+      super("Server Error");
+    }
+  }
+
+  public static class ConflictException extends StacklessException {
+    @FeignExceptionConstructor
+    public ConflictException(Request request,
+        @ResponseHeaders Map<String, Collection<String>> headers,
+        @ResponseBody String body) {
+      super(body);
+    }
+  }
+}
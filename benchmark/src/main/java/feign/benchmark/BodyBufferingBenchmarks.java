@@ -0,0 +1,119 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.Logger;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+
+/**
+ * How much does buffering a response body into a {@code byte[]} cost? {@code lengthKnown} toggles
+ * whether the response announces its length, like a {@code Content-Length} header does.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class BodyBufferingBenchmarks {
+
+  @Param({"512", "16384", "262144"})
+  private int bodySize;
+
+  @Param({"true", "false"})
+  private boolean lengthKnown;
+
+  private byte[] body;
+  private Request request;
+  private Decoder decoder;
+  private ResponseLogger logger;
+
+  @Setup
+  public void setup() {
+    body = new byte[bodySize];
+    Arrays.fill(body, (byte) 'x');
+    request = Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8, null);
+    decoder = new Decoder.Default();
+    logger = new ResponseLogger();
+  }
+
+  private Response response() {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(request)
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(body), lengthKnown ? bodySize : null)
+        .build();
+  }
+
+  /**
+   * {@link Decoder.Default} decoding to {@code byte[]}.
+   */
+  @Benchmark
+  public Object decodeBytes() throws IOException {
+    return decoder.decode(response(), byte[].class);
+  }
+
+  /**
+   * {@link #decodeBytes()} with the response logged at {@link Logger.Level#HEADERS} first.
+   */
+  @Benchmark
+  public Object logHeadersThenDecodeBytes() throws IOException {
+    return decoder.decode(logger.logResponse(Logger.Level.HEADERS, response()), byte[].class);
+  }
+
+  /**
+   * {@link #decodeBytes()} with the response logged at {@link Logger.Level#FULL} first, keeping at
+   * most 1 KiB of the body for the log.
+   */
+  @Benchmark
+  public Object logFullThenDecodeBytes() throws IOException {
+    return decoder.decode(logger.logResponse(Logger.Level.FULL, response()), byte[].class);
+  }
+
+  static final class ResponseLogger extends Logger {
+
+    ResponseLogger() {
+      maxBodyBytes(1024);
+    }
+
+    Response logResponse(Level level, Response response) throws IOException {
+      return logAndRebufferResponse("Api#get()", level, response, 0);
+    }
+
+    @Override
+    protected void log(String configKey, String format, Object... args) {}
+  }
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import org.json.JSONObject;
+import feign.RequestTemplate;
+import feign.codec.Encoder;
+import feign.gson.GsonEncoder;
+import feign.jackson.JacksonEncoder;
+import feign.jackson.binary.BinaryFormat;
+import feign.jackson.binary.JacksonBinaryEncoder;
+import feign.jackson.jaxb.JacksonJaxbJsonEncoder;
+import feign.jackson.jr.JacksonJrEncoder;
+import feign.jaxb.JAXBContextFactory;
+import feign.jaxb.JAXBEncoder;
+import feign.json.JsonEncoder;
+import feign.soap.SOAPEncoder;
+import feign.soap.StAXSOAPEncoder;
+
+/**
+ * The encoders compared by {@link EncoderBenchmarks} and {@link DecoderBenchmarks}, which also uses
+ * them to produce its input.
+ */
+final class Codecs {
+
+  private Codecs() {}
+
+  static Encoder encoder(String codec) {
+    switch (codec) {
+      case "jackson":
+        return new JacksonEncoder();
+      case "jacksonCompact":
+        return JacksonEncoder.compact();
+      case "jacksonJr":
+        return new JacksonJrEncoder();
+      case "smile":
+        return new JacksonBinaryEncoder(BinaryFormat.SMILE);
+      case "cbor":
+        return new JacksonBinaryEncoder(BinaryFormat.CBOR);
+      case "jacksonJaxb":
+        return new JacksonJaxbJsonEncoder();
+      case "gson":
+        return new GsonEncoder();
+      case "json":
+        return new JsonEncoder();
+      case "jaxb":
+      case "sax":
+        return new JAXBEncoder(new JAXBContextFactory.Builder().build());
+      case "soap":
+        return new SOAPEncoder(new JAXBContextFactory.Builder().build());
+      case "soapStax":
+        return new StAXSOAPEncoder(new JAXBContextFactory.Builder().build());
+      default:
+        throw new IllegalArgumentException("Unknown codec " + codec);
+    }
+  }
+
+  /**
+   * The json module binds to {@link JSONObject} rather than to classes.
+   */
+  static Type type(String codec) {
+    return "json".equals(codec) ? JSONObject.class : Order.class;
+  }
+
+  static Object body(String codec, int items) {
+    Order order = Order.create(items);
+    if (!"json".equals(codec)) {
+      return order;
+    }
+    return new JSONObject(new String(encode(new GsonEncoder(), order, Order.class),
+        StandardCharsets.UTF_8));
+  }
+
+  static byte[] encode(Encoder encoder, Object body, Type type) {
+    RequestTemplate template = new RequestTemplate();
+    encoder.encode(body, type, template);
+    return template.body();
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.Decoder;
+import feign.gson.GsonDecoder;
+import feign.jackson.JacksonDecoder;
+import feign.jackson.binary.BinaryFormat;
+import feign.jackson.binary.JacksonBinaryDecoder;
+import feign.jackson.jaxb.JacksonJaxbJsonDecoder;
+import feign.jackson.jr.JacksonJrDecoder;
+import feign.jaxb.JAXBContextFactory;
+import feign.jaxb.JAXBDecoder;
+import feign.json.JsonDecoder;
+import feign.sax.SAXDecoder;
+import feign.sax.SAXDecoder.ContentHandlerWithResult;
+import feign.soap.SOAPDecoder;
+import feign.soap.StAXSOAPDecoder;
+
+/**
+ * How fast does each decoder read an {@link Order} from a response? {@code body} selects between a
+ * byte array body, as buffered by logging or small responses, and a stream of unknown length, as
+ * most clients return. Run with {@code -prof gc} to compare allocation.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class DecoderBenchmarks {
+
+  @Param({"jackson", "jacksonJr", "jacksonJaxb", "smile", "cbor", "gson", "json", "jaxb", "sax",
+      "soap", "soapStax"})
+  private String codec;
+
+  @Param({"1", "100", "10000"})
+  private int items;
+
+  @Param({"bytes", "stream"})
+  private String body;
+
+  private Decoder decoder;
+  private Type type;
+  private byte[] payload;
+  private Request request;
+
+  @Setup
+  public void setup() {
+    type = Codecs.type(codec);
+    payload = Codecs.encode(Codecs.encoder(codec), Codecs.body(codec, items), type);
+    request = Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8, null);
+    switch (codec) {
+      case "jackson":
+        decoder = new JacksonDecoder();
+        break;
+      case "jacksonJr":
+        decoder = new JacksonJrDecoder();
+        break;
+      case "jacksonJaxb":
+        decoder = new JacksonJaxbJsonDecoder();
+        break;
+      case "smile":
+        decoder = new JacksonBinaryDecoder(BinaryFormat.SMILE);
+        break;
+      case "cbor":
+        decoder = new JacksonBinaryDecoder(BinaryFormat.CBOR);
+        break;
+      case "gson":
+        decoder = new GsonDecoder();
+        break;
+      case "json":
+        decoder = new JsonDecoder();
+        break;
+      case "jaxb":
+        decoder = new JAXBDecoder(new JAXBContextFactory.Builder().build());
+        break;
+      case "sax":
+        decoder = SAXDecoder.builder()
+            .registerContentHandler(Order.class,
+                (ContentHandlerWithResult.Factory<Order>) Order.Handler::new)
+            .build();
+        break;
+      case "soap":
+        decoder = new SOAPDecoder(new JAXBContextFactory.Builder().build());
+        break;
+      case "soapStax":
+        decoder = new StAXSOAPDecoder(new JAXBContextFactory.Builder().build());
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown codec " + codec);
+    }
+  }
+
+  @Benchmark
+  public Object decode() throws IOException {
+    Response.Builder response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(request)
+        .headers(Collections.emptyMap());
+    if ("stream".equals(body)) {
+      response.body(new ByteArrayInputStream(payload), null);
+    } else {
+      response.body(payload);
+    }
+    return decoder.decode(response.build(), type);
+  }
+}
@@ -19,24 +19,40 @@ import feign.Request.HttpMethod;
 import feign.Response;
 import feign.Util;
 import feign.codec.Decoder;
+import feign.gson.GsonDecoder;
+import feign.gson.GsonIteratorDecoder;
 import feign.jackson.JacksonDecoder;
 import feign.jackson.JacksonIteratorDecoder;
+import feign.jackson.jr.JacksonJrDecoder;
+import feign.jackson.jr.JacksonJrIteratorDecoder;
+import feign.jaxb.JAXBContextFactory;
+import feign.jaxb.JAXBDecoder;
+import feign.jaxb.JAXBIteratorDecoder;
+import feign.json.JsonDecoder;
+import feign.json.JsonIteratorDecoder;
 import feign.stream.StreamDecoder;
+import org.json.JSONArray;
+import org.json.JSONObject;
 import org.openjdk.jmh.annotations.*;
 import java.lang.reflect.Type;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
 
 /**
- * This test shows up how fast different json array response processing implementations are.
+ * This test shows up how fast different json array response processing implementations are. The
+ * {@code jaxb} codec reads the same cars as repeated XML elements.
  */
 @State(Scope.Thread)
 public class DecoderIteratorsBenchmark {
 
+  @Param({"jackson", "gson", "jacksonJr", "json", "jaxb"})
+  private String codec;
+
   @Param({"list", "iterator", "stream"})
   private String api;
 
@@ -58,16 +74,17 @@ public class DecoderIteratorsBenchmark {
     fetch(decoder.decode(response, type));
   }
 
-  @SuppressWarnings("unchecked")
   private void fetch(Object o) {
-    Iterator<Car> cars;
+    Iterator<?> cars;
 
-    if (o instanceof Collection) {
-      cars = ((Collection<Car>) o).iterator();
+    if (o instanceof Iterable) { // includes JSONArray
+      cars = ((Iterable<?>) o).iterator();
+    } else if (o instanceof Cars) {
+      cars = ((Cars) o).cars.iterator();
     } else if (o instanceof Stream) {
-      cars = ((Stream<Car>) o).iterator();
+      cars = ((Stream<?>) o).iterator();
     } else {
-      cars = (Iterator<Car>) o;
+      cars = (Iterator<?>) o;
     }
 
     while (cars.hasNext()) {
@@ -83,30 +100,71 @@ public class DecoderIteratorsBenchmark {
         .reason("OK")
         .request(Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8))
         .headers(Collections.emptyMap())
-        .body(carsJson(Integer.parseInt(size)), Util.UTF_8)
+        .body("jaxb".equals(codec) ? carsXml(Integer.parseInt(size))
+            : carsJson(Integer.parseInt(size)), Util.UTF_8)
         .build();
   }
 
   @Setup(Level.Trial)
   public void buildDecoder() {
+    // the json module binds to JSONObject rather than to classes
+    boolean json = "json".equals(codec);
     switch (api) {
       case "list":
-        decoder = new JacksonDecoder();
-        type = new TypeReference<List<Car>>() {}.getType();
+        decoder = listDecoder();
+        type = json ? JSONArray.class
+            : "jaxb".equals(codec) ? Cars.class
+                : new TypeReference<List<Car>>() {}.getType();
         break;
       case "iterator":
-        decoder = JacksonIteratorDecoder.create();
-        type = new TypeReference<Iterator<Car>>() {}.getType();
+        decoder = iteratorDecoder();
+        type = json ? new TypeReference<Iterator<JSONObject>>() {}.getType()
+            : new TypeReference<Iterator<Car>>() {}.getType();
         break;
       case "stream":
-        decoder = StreamDecoder.create(JacksonIteratorDecoder.create());
-        type = new TypeReference<Stream<Car>>() {}.getType();
+        decoder = StreamDecoder.create(iteratorDecoder());
+        type = json ? new TypeReference<Stream<JSONObject>>() {}.getType()
+            : new TypeReference<Stream<Car>>() {}.getType();
         break;
       default:
         throw new IllegalStateException("Unknown api: " + api);
     }
   }
 
+  private Decoder listDecoder() {
+    switch (codec) {
+      case "jackson":
+        return new JacksonDecoder();
+      case "gson":
+        return new GsonDecoder();
+      case "jacksonJr":
+        return new JacksonJrDecoder();
+      case "json":
+        return new JsonDecoder();
+      case "jaxb":
+        return new JAXBDecoder(new JAXBContextFactory.Builder().build());
+      default:
+        throw new IllegalStateException("Unknown codec: " + codec);
+    }
+  }
+
+  private Decoder iteratorDecoder() {
+    switch (codec) {
+      case "jackson":
+        return JacksonIteratorDecoder.create();
+      case "gson":
+        return GsonIteratorDecoder.create();
+      case "jacksonJr":
+        return new JacksonJrIteratorDecoder();
+      case "json":
+        return new JsonIteratorDecoder();
+      case "jaxb":
+        return JAXBIteratorDecoder.create(new JAXBContextFactory.Builder().build());
+      default:
+        throw new IllegalStateException("Unknown codec: " + codec);
+    }
+  }
+
   private String carsJson(int count) {
     String car = "{\"name\":\"c4\",\"manufacturer\":\"Citroën\"}";
     StringBuilder builder = new StringBuilder("[");
@@ -117,7 +175,22 @@ public class DecoderIteratorsBenchmark {
     return builder.append("]").toString();
   }
 
-  static class Car {
+  private String carsXml(int count) {
+    String car = "<car><name>c4</name><manufacturer>Citroën</manufacturer></car>";
+    StringBuilder builder = new StringBuilder("<cars>");
+    for (int i = 0; i < count; i++) {
+      builder.append(car);
+    }
+    return builder.append("</cars>").toString();
+  }
+
+  @XmlRootElement(name = "cars")
+  public static class Cars {
+    @XmlElement(name = "car")
+    public List<Car> cars;
+  }
+
+  public static class Car {
     public String name;
     public String manufacturer;
   }
@@ -0,0 +1,65 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.codec.Encoder;
+
+/**
+ * How fast does each encoder turn an {@link Order} into a request body? Run with {@code -prof gc}
+ * to compare allocation.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class EncoderBenchmarks {
+
+  @Param({"jackson", "jacksonCompact", "jacksonJr", "jacksonJaxb", "smile", "cbor", "gson", "json",
+      "jaxb", "soap", "soapStax"})
+  private String codec;
+
+  @Param({"1", "100", "10000"})
+  private int items;
+
+  private Encoder encoder;
+  private Object body;
+  private Type type;
+
+  @Setup
+  public void setup() {
+    encoder = Codecs.encoder(codec);
+    type = Codecs.type(codec);
+    body = Codecs.body(codec, items);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return Codecs.encode(encoder, body, type);
+  }
+}
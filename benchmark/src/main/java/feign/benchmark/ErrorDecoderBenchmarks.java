@@ -0,0 +1,102 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.ErrorDecoder;
+
+/**
+ * What does turning an error response into an exception cost? {@code decoder} compares the defaults
+ * with skipping stack traces ({@code stackless}) and also bounding the captured body to 256 bytes
+ * ({@code lightweight}). The call depth mimics the frames between the caller and the error decoder,
+ * which is what stack capture walks.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class ErrorDecoderBenchmarks {
+
+  private static final int CALL_DEPTH = 50;
+
+  @Param({"default", "stackless", "lightweight"})
+  private String decoder;
+
+  @Param({"0", "4096"})
+  private int bodySize;
+
+  private ErrorDecoder errorDecoder;
+  private byte[] body;
+  private Request request;
+
+  @Setup
+  public void setup() {
+    switch (decoder) {
+      case "default":
+        errorDecoder = new ErrorDecoder.Default();
+        break;
+      case "stackless":
+        errorDecoder = ErrorDecoder.Default.builder().stackTraces(false).build();
+        break;
+      case "lightweight":
+        errorDecoder =
+            ErrorDecoder.Default.builder().stackTraces(false).maxBodyBytes(256).build();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown decoder " + decoder);
+    }
+    body = new byte[bodySize];
+    Arrays.fill(body, (byte) 'x');
+    request = Request.create(HttpMethod.GET, "/", Collections.emptyMap(), null, Util.UTF_8, null);
+  }
+
+  @Benchmark
+  public Exception decode() {
+    return decodeAtDepth(CALL_DEPTH);
+  }
+
+  private Exception decodeAtDepth(int depth) {
+    if (depth > 0) {
+      return decodeAtDepth(depth - 1);
+    }
+    Response response = Response.builder()
+        .status(404)
+        .reason("Not Found")
+        .request(request)
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(body), bodySize)
+        .build();
+    return errorDecoder.decode("Api#get()", response);
+  }
+}
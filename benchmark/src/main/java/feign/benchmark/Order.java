@@ -0,0 +1,186 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+import feign.sax.SAXDecoder.ContentHandlerWithResult;
+
+/**
+ * A moderately nested payload, mapped for every codec under test: public fields for the JSON
+ * binders, JAXB annotations for the XML ones and a hand-written SAX handler.
+ */
+@XmlRootElement(name = "order")
+@XmlAccessorType(XmlAccessType.FIELD)
+public class Order {
+
+  public long id;
+  public String status;
+  public Customer customer;
+  @XmlElement(name = "item")
+  public List<Item> items = new ArrayList<>();
+
+  @XmlAccessorType(XmlAccessType.FIELD)
+  public static class Customer {
+
+    public String name;
+    public String email;
+    public Address address;
+  }
+
+  @XmlAccessorType(XmlAccessType.FIELD)
+  public static class Address {
+
+    public String street;
+    public String city;
+    public String zip;
+    public String country;
+  }
+
+  @XmlAccessorType(XmlAccessType.FIELD)
+  public static class Item {
+
+    public String sku;
+    public String description;
+    public int quantity;
+    public double price;
+    @XmlElement(name = "tag")
+    public List<String> tags = new ArrayList<>();
+  }
+
+  /**
+   * An order with {@code itemCount} line items.
+   */
+  static Order create(int itemCount) {
+    Order order = new Order();
+    order.id = 8_675_309L;
+    order.status = "SHIPPED";
+    order.customer = new Customer();
+    order.customer.name = "Ada Lovelace";
+    order.customer.email = "ada@example.com";
+    order.customer.address = new Address();
+    order.customer.address.street = "12 St James's Square";
+    order.customer.address.city = "London";
+    order.customer.address.zip = "SW1Y 4JH";
+    order.customer.address.country = "GB";
+    for (int i = 0; i < itemCount; i++) {
+      Item item = new Item();
+      item.sku = "SKU-" + (100_000 + i);
+      item.description = "Analytical engine part number " + i + ", brass, hand finished";
+      item.quantity = 1 + i % 7;
+      item.price = 19.99 + i % 100;
+      item.tags.addAll(Arrays.asList("mechanical", "brass", i % 2 == 0 ? "even" : "odd"));
+      order.items.add(item);
+    }
+    return order;
+  }
+
+  /**
+   * Builds an {@link Order} from the XML JAXB produces for it.
+   */
+  static class Handler extends DefaultHandler implements ContentHandlerWithResult<Order> {
+
+    private final StringBuilder text = new StringBuilder();
+    private Order order;
+    private Item item;
+
+    @Override
+    public Order result() {
+      return order;
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+      text.setLength(0);
+      switch (qName) {
+        case "order":
+          order = new Order();
+          break;
+        case "customer":
+          order.customer = new Customer();
+          break;
+        case "address":
+          order.customer.address = new Address();
+          break;
+        case "item":
+          item = new Item();
+          order.items.add(item);
+          break;
+        default:
+          break;
+      }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+      text.append(ch, start, length);
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+      String value = text.toString();
+      switch (qName) {
+        case "id":
+          order.id = Long.parseLong(value);
+          break;
+        case "status":
+          order.status = value;
+          break;
+        case "name":
+          order.customer.name = value;
+          break;
+        case "email":
+          order.customer.email = value;
+          break;
+        case "street":
+          order.customer.address.street = value;
+          break;
+        case "city":
+          order.customer.address.city = value;
+          break;
+        case "zip":
+          order.customer.address.zip = value;
+          break;
+        case "country":
+          order.customer.address.country = value;
+          break;
+        case "sku":
+          item.sku = value;
+          break;
+        case "description":
+          item.description = value;
+          break;
+        case "quantity":
+          item.quantity = Integer.parseInt(value);
+          break;
+        case "price":
+          item.price = Double.parseDouble(value);
+          break;
+        case "tag":
+          item.tags.add(value);
+          break;
+        default:
+          break;
+      }
+      text.setLength(0);
+    }
+  }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.QueryMapEncoder;
+import feign.querymap.BeanQueryMapEncoder;
+import feign.querymap.FieldQueryMapEncoder;
+
+/**
+ * Encoding a {@code @QueryMap} search object with 24 properties, of which 16 are set.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class QueryMapEncoderBenchmarks {
+
+  @Param({"field", "bean"})
+  private String encoder;
+
+  private QueryMapEncoder queryMapEncoder;
+  private Search search;
+
+  @Setup
+  public void setup() {
+    switch (encoder) {
+      case "field":
+        queryMapEncoder = new FieldQueryMapEncoder();
+        break;
+      case "bean":
+        queryMapEncoder = new BeanQueryMapEncoder();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown encoder " + encoder);
+    }
+    search = new Search();
+    search.query = "running shoes";
+    search.category = "footwear";
+    search.brand = "acme";
+    search.color = "blue";
+    search.size = "42";
+    search.country = "NL";
+    search.sortBy = "price";
+    search.sortOrder = "asc";
+    search.currency = "EUR";
+    search.language = "en";
+    search.minPrice = 20;
+    search.maxPrice = 150;
+    search.page = 3;
+    search.pageSize = 50;
+    search.inStock = true;
+    search.tags = Arrays.asList("trail", "waterproof");
+  }
+
+  @Benchmark
+  public Map<String, Object> encode() {
+    return queryMapEncoder.encode(search);
+  }
+
+  public static class Search {
+    private String query;
+    private String category;
+    private String brand;
+    private String color;
+    private String size;
+    private String material;
+    private String country;
+    private String city;
+    private String sortBy;
+    private String sortOrder;
+    private String currency;
+    private String language;
+    private Integer minPrice;
+    private Integer maxPrice;
+    private Integer page;
+    private Integer pageSize;
+    private Integer rating;
+    private Integer discount;
+    private Boolean inStock;
+    private Boolean freeShipping;
+    private List<String> tags;
+    private List<String> sellerIds;
+    private String createdAfter;
+    private String createdBefore;
+
+    public String getQuery() {
+      return query;
+    }
+
+    public String getCategory() {
+      return category;
+    }
+
+    public String getBrand() {
+      return brand;
+    }
+
+    public String getColor() {
+      return color;
+    }
+
+    public String getSize() {
+      return size;
+    }
+
+    public String getMaterial() {
+      return material;
+    }
+
+    public String getCountry() {
+      return country;
+    }
+
+    public String getCity() {
+      return city;
+    }
+
+    public String getSortBy() {
+      return sortBy;
+    }
+
+    public String getSortOrder() {
+      return sortOrder;
+    }
+
+    public String getCurrency() {
+      return currency;
+    }
+
+    public String getLanguage() {
+      return language;
+    }
+
+    public Integer getMinPrice() {
+      return minPrice;
+    }
+
+    public Integer getMaxPrice() {
+      return maxPrice;
+    }
+
+    public Integer getPage() {
+      return page;
+    }
+
+    public Integer getPageSize() {
+      return pageSize;
+    }
+
+    public Integer getRating() {
+      return rating;
+    }
+
+    public Integer getDiscount() {
+      return discount;
+    }
+
+    public Boolean getInStock() {
+      return inStock;
+    }
+
+    public Boolean getFreeShipping() {
+      return freeShipping;
+    }
+
+    public List<String> getTags() {
+      return tags;
+    }
+
+    public List<String> getSellerIds() {
+      return sellerIds;
+    }
+
+    public String getCreatedAfter() {
+      return createdAfter;
+    }
+
+    public String getCreatedBefore() {
+      return createdBefore;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.ribbon.LBClientFactory;
+import feign.ribbon.RibbonClient;
+
+/**
+ * Measures the per-request overhead of {@link RibbonClient} routing, without considering network.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 10, time = 1)
+@Fork(3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class RibbonClientBenchmarks {
+
+  private static final String CLIENT_NAME = "benchmark";
+
+  private Request request;
+  private Request.Options options;
+  private RibbonClient perRequestLBClient;
+  private RibbonClient cachedLBClient;
+
+  @Setup
+  public void setup() {
+    // read by archaius when ribbon first looks up the named client
+    System.setProperty(CLIENT_NAME + ".ribbon.listOfServers", "localhost:8080,localhost:8081");
+    Client fakeClient = (request, options) -> Response.builder()
+        .status(200)
+        .reason("ok")
+        .headers(Collections.emptyMap())
+        .request(request)
+        .build();
+    request = Request.create(HttpMethod.GET, "http://" + CLIENT_NAME + "/repos/OpenFeign/feign",
+        Collections.singletonMap("Accept", Collections.singletonList("application/json")),
+        (byte[]) null, null, null);
+    options = new Request.Options();
+    perRequestLBClient = RibbonClient.builder()
+        .delegate(fakeClient)
+        .lbClientFactory(new LBClientFactory.Default())
+        .build();
+    cachedLBClient = RibbonClient.builder()
+        .delegate(fakeClient)
+        .lbClientFactory(new LBClientFactory.Caching())
+        .build();
+  }
+
+  /**
+   * How fast is routing when an LBClient is created for each request, as before it was cached?
+   */
+  @Benchmark
+  public Response execute_perRequestLBClient() throws IOException {
+    return perRequestLBClient.execute(request, options);
+  }
+
+  /**
+   * How fast is routing with the default, cached LBClient?
+   */
+  @Benchmark
+  public Response execute_cachedLBClient() throws IOException {
+    return cachedLBClient.execute(request, options);
+  }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.Client;
+import feign.Feign;
+import feign.Response;
+
+/**
+ * How much does resolving the request templates of {@link FeignTestInterface} cost, without
+ * considering network? Each benchmark calls one method of a cached api backed by a client that
+ * answers immediately.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class TemplateExpansionBenchmarks {
+
+  private FeignTestInterface api;
+
+  @Setup
+  public void setup() {
+    Client fakeClient = (request, options) -> Response.builder()
+        .status(200)
+        .reason("ok")
+        .headers(Collections.emptyMap())
+        .request(request)
+        .body((byte[]) null)
+        .build();
+    api = Feign.builder().client(fakeClient)
+        .target(FeignTestInterface.class, "http://localhost");
+  }
+
+  /**
+   * Literal query parameters only.
+   */
+  @Benchmark
+  public Response query() {
+    return api.query();
+  }
+
+  /**
+   * A path parameter followed by query parameters.
+   */
+  @Benchmark
+  public Response mixedParams() {
+    return api.mixedParams(12345, "www.denominator.io/", "CNAME");
+  }
+
+  /**
+   * A {@code @Body} template with encoded braces.
+   */
+  @Benchmark
+  public void form() {
+    api.form("netflix", "denominator", "password");
+  }
+
+  /**
+   * A header expression.
+   */
+  @Benchmark
+  public void headers() {
+    api.headers("fooo");
+  }
+}
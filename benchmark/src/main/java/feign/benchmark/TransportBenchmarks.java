@@ -0,0 +1,279 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.net.ServerSocketFactory;
+import javax.ws.rs.client.ClientBuilder;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import feign.AsyncFeign;
+import feign.Client;
+import feign.Feign;
+import feign.RequestInterceptor;
+import feign.RequestLine;
+import feign.Response;
+import feign.googlehttpclient.GoogleHttpClient;
+import feign.hc5.ApacheHttp5Client;
+import feign.hc5.AsyncApacheHttp5Client;
+import feign.httpclient.ApacheHttpClient;
+import feign.jaxrs2.JAXRSClient;
+import feign.okhttp.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import okio.Buffer;
+
+/**
+ * Compares the transports Feign can use, by fetching and fully reading a response body from a local
+ * server. Bodies are read the same way regardless of transport: when a client leaves a response
+ * gzipped, it is decompressed here.
+ *
+ * <p>
+ * The full matrix is large; narrow it with {@code -p}, for example
+ * {@code -p client=okhttp,hc5 -p size=1024}.
+ */
+@Measurement(iterations = 5, time = 1)
+@Warmup(iterations = 5, time = 1)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TransportBenchmarks {
+
+  static {
+    // lets HttpURLConnection, used by Client.Default and Jersey, send "Connection: close"
+    System.setProperty("sun.net.http.allowRestrictedHeaders", "true");
+  }
+
+  @Param({"default", "okhttp", "httpclient", "hc5", "hc5Async", "googlehttpclient", "jaxrs2"})
+  private String client;
+
+  @Param({"0", "1024", "102400", "10485760"})
+  private int size;
+
+  @Param({"false", "true"})
+  private boolean gzip;
+
+  @Param({"true", "false"})
+  private boolean keepAlive;
+
+  private MockWebServer server;
+  private AutoCloseable closeable;
+  private Api api;
+  private AsyncApi asyncApi;
+  private final byte[] buffer = new byte[8192];
+
+  public interface Api {
+
+    @RequestLine("GET /")
+    Response get();
+  }
+
+  public interface AsyncApi {
+
+    @RequestLine("GET /")
+    CompletableFuture<Response> get();
+  }
+
+  @Setup
+  public void setup() throws IOException {
+    byte[] plain = new byte[size];
+    // text-like content, so gzip has something to do
+    Random random = new Random(size);
+    for (int i = 0; i < plain.length; i++) {
+      plain[i] = (byte) ('a' + random.nextInt(16));
+    }
+    byte[] body = gzip ? gzip(plain) : plain;
+
+    server = new MockWebServer();
+    server.setServerSocketFactory(new NoDelayServerSocketFactory());
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+        // requests are recorded by default; don't let them pile up
+        server.takeRequest(0, TimeUnit.SECONDS);
+        MockResponse response = new MockResponse().setBody(new Buffer().write(body));
+        if (gzip) {
+          response.addHeader("Content-Encoding", "gzip");
+        }
+        if ("close".equalsIgnoreCase(request.getHeader("Connection"))) {
+          response.addHeader("Connection", "close")
+              .setSocketPolicy(SocketPolicy.DISCONNECT_AT_END);
+        }
+        return response;
+      }
+    });
+    server.start();
+
+    RequestInterceptor headers = template -> {
+      template.header("Accept-Encoding", gzip ? "gzip" : "identity");
+      if (!keepAlive) {
+        template.header("Connection", "close");
+      }
+    };
+    String url = "http://localhost:" + server.getPort();
+    if ("hc5Async".equals(client)) {
+      AsyncApacheHttp5Client asyncClient = new AsyncApacheHttp5Client();
+      closeable = asyncClient;
+      asyncApi = AsyncFeign.<HttpClientContext>asyncBuilder()
+          .client(asyncClient)
+          .requestInterceptor(headers)
+          .target(AsyncApi.class, url);
+    } else {
+      api = Feign.builder()
+          .client(syncClient())
+          .requestInterceptor(headers)
+          .target(Api.class, url);
+    }
+  }
+
+  private Client syncClient() {
+    switch (client) {
+      case "default":
+        return new Client.Default(null, null);
+      case "okhttp":
+        return new OkHttpClient();
+      case "httpclient":
+        return new ApacheHttpClient();
+      case "hc5":
+        return new ApacheHttp5Client();
+      case "googlehttpclient":
+        return new GoogleHttpClient();
+      case "jaxrs2":
+        return new JAXRSClient(ClientBuilder.newBuilder());
+      default:
+        throw new IllegalArgumentException("Unknown client " + client);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    if (closeable != null) {
+      closeable.close();
+    }
+    server.shutdown();
+  }
+
+  /**
+   * How many responses of this size can we fetch and read per second?
+   */
+  @Benchmark
+  public long fetch() throws Exception {
+    Response response = asyncApi != null ? asyncApi.get().get() : api.get();
+    try {
+      return read(response);
+    } finally {
+      response.close();
+    }
+  }
+
+  private long read(Response response) throws IOException {
+    if (response.body() == null) {
+      return 0;
+    }
+    // some clients decompress transparently but leave Content-Encoding, so sniff instead
+    PushbackInputStream in = new PushbackInputStream(response.body().asInputStream(), 2);
+    int first = in.read();
+    int second = in.read();
+    if (second != -1) {
+      in.unread(second);
+    }
+    if (first != -1) {
+      in.unread(first);
+    }
+    InputStream body = first == 0x1f && second == 0x8b ? new GZIPInputStream(in) : in;
+    long total = 0;
+    for (int read; (read = body.read(buffer)) != -1;) {
+      total += read;
+    }
+    return total;
+  }
+
+  /**
+   * Disables Nagle's algorithm on accepted connections. Otherwise, small responses written in
+   * several segments wait on delayed acknowledgements, hiding any difference between clients.
+   */
+  static class NoDelayServerSocketFactory extends ServerSocketFactory {
+
+    @Override
+    public ServerSocket createServerSocket() throws IOException {
+      return new ServerSocket() {
+        @Override
+        public Socket accept() throws IOException {
+          Socket socket = super.accept();
+          socket.setTcpNoDelay(true);
+          return socket;
+        }
+      };
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port) throws IOException {
+      return createServerSocket(port, 50); // ServerSocket's default backlog
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog) throws IOException {
+      return createServerSocket(port, backlog, null);
+    }
+
+    @Override
+    public ServerSocket createServerSocket(int port, int backlog, InetAddress address)
+        throws IOException {
+      ServerSocket socket = createServerSocket();
+      try {
+        // a null address binds the wildcard address
+        socket.bind(new InetSocketAddress(address, port), backlog);
+      } catch (IOException | RuntimeException e) {
+        socket.close();
+        throw e;
+      }
+      return socket;
+    }
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(data);
+    }
+    return out.toByteArray();
+  }
+}
@@ -70,6 +70,7 @@ public abstract class AsyncFeign<C> extends Feign {
     private ErrorDecoder errorDecoder = new ErrorDecoder.Default();
     private boolean decode404;
     private boolean closeAfterDecode = true;
+    private InvocationListener.Factory invocationListenerFactory = InvocationListener.Factory.NONE;
 
     public AsyncBuilder() {
       super();
@@ -123,6 +124,15 @@ public abstract class AsyncFeign<C> extends Feign {
       return this;
     }
 
+    /**
+     * @see Builder#invocationListener(InvocationListener.Factory)
+     */
+    public AsyncBuilder<C> invocationListener(
+                                              InvocationListener.Factory invocationListenerFactory) {
+      this.invocationListenerFactory = invocationListenerFactory;
+      return this;
+    }
+
     public <T> T target(Class<T> apiType, String url) {
       return target(new HardCodedTarget<>(apiType, url));
     }
@@ -240,6 +250,7 @@ public abstract class AsyncFeign<C> extends Feign {
   private final Logger logger;
 
   private final AsyncResponseHandler responseHandler;
+  private final InvocationListener.Factory listenerFactory;
 
   protected AsyncFeign(AsyncBuilder<C> asyncBuilder) {
     this.activeContext = new ThreadLocal<>();
@@ -249,6 +260,9 @@ public abstract class AsyncFeign<C> extends Feign {
 
     this.logLevel = asyncBuilder.logLevel;
     this.logger = asyncBuilder.logger;
+    this.listenerFactory =
+        asyncBuilder.invocationListenerFactory == InvocationListener.Factory.NONE ? null
+            : asyncBuilder.invocationListenerFactory;
 
     this.responseHandler = new AsyncResponseHandler(
         asyncBuilder.logLevel,
@@ -272,10 +286,37 @@ public abstract class AsyncFeign<C> extends Feign {
         .build();
 
     final AsyncInvocation<C> invocationContext = activeContext.get();
+    final RequestTemplate template = request.requestTemplate();
+
+    if (listenerFactory != null && template != null) {
+      final InvocationListener listener =
+          listenerFactory.create(template.feignTarget(), template.methodMetadata());
+      if (listener != null) {
+        listener.invocationStart(invocationContext.startNanos());
+        listener.templateResolved(request, System.nanoTime());
+        invocationContext.setListener(listener);
+      }
+    }
 
-    invocationContext.setResponseFuture(
-        client.execute(request, options, Optional.ofNullable(invocationContext.context())));
-
+    final long start = System.nanoTime();
+    if (invocationContext.listener() != null) {
+      invocationContext.listener().requestSent(request, start);
+    }
+    final CompletableFuture<Response> responseFuture =
+        client.execute(request, options, Optional.ofNullable(invocationContext.context()));
+    invocationContext.setResponseFuture(responseFuture);
+
+    final Target<?> target = template != null ? template.feignTarget() : null;
+    if (target instanceof Target.Feedback) {
+      final Target.Feedback feedback = (Target.Feedback) target;
+      responseFuture.whenComplete((r, t) -> {
+        if (t != null) {
+          feedback.onError(request, t, System.nanoTime() - start);
+        } else {
+          feedback.onResponse(request, r, System.nanoTime() - start);
+        }
+      });
+    }
 
     return result;
   }
@@ -288,6 +329,7 @@ public abstract class AsyncFeign<C> extends Feign {
 
   private Object stageDecode(Response response, Type type) {
     final AsyncInvocation<C> invocationContext = activeContext.get();
+    final InvocationListener listener = invocationContext.listener();
 
     final CompletableFuture<Object> result = new CompletableFuture<>();
 
@@ -299,10 +341,32 @@ public abstract class AsyncFeign<C> extends Feign {
           final IOException e = (IOException) t;
           logger.logIOException(invocationContext.configKey(), logLevel, e, elapsedTime);
         }
+        if (listener != null) {
+          listener.invocationEnd(
+              t instanceof CompletionException && t.getCause() != null ? t.getCause() : t,
+              System.nanoTime());
+        }
         result.completeExceptionally(t);
-      } else {
+      } else if (listener == null) {
         responseHandler.handleResponse(result, invocationContext.configKey(), r,
             invocationContext.underlyingType(), elapsedTime);
+      } else {
+        final long now = System.nanoTime();
+        listener.firstByte(r, now);
+        listener.decodeStart(r, now);
+        // decode to the side, so the listener is done before the caller sees the result
+        final CompletableFuture<Object> decoded = new CompletableFuture<>();
+        responseHandler.handleResponse(decoded, invocationContext.configKey(), r,
+            invocationContext.underlyingType(), elapsedTime);
+        listener.decodeEnd(System.nanoTime());
+        decoded.whenComplete((value, error) -> {
+          listener.invocationEnd(error, System.nanoTime());
+          if (error != null) {
+            result.completeExceptionally(error);
+          } else {
+            result.complete(value);
+          }
+        });
       }
     });
 
@@ -26,6 +26,7 @@ class AsyncInvocation<C> {
   private final MethodInfo methodInfo;
   private final long startNanos;
   private CompletableFuture<Response> responseFuture;
+  private InvocationListener listener;
 
   AsyncInvocation(C context, MethodInfo methodInfo) {
     super();
@@ -61,4 +62,15 @@ class AsyncInvocation<C> {
   CompletableFuture<Response> responseFuture() {
     return responseFuture;
   }
+
+  void setListener(InvocationListener listener) {
+    this.listener = listener;
+  }
+
+  /**
+   * Null unless an {@link InvocationListener.Factory} is registered.
+   */
+  InvocationListener listener() {
+    return listener;
+  }
 }
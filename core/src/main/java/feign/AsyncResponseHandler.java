@@ -77,7 +77,8 @@ class AsyncResponseHandler {
           resultFuture.complete(response);
         } else {
           // Ensure the response body is disconnected
-          final byte[] bodyData = Util.toByteArray(response.body().asInputStream());
+          final byte[] bodyData =
+              Util.toByteArray(response.body().asInputStream(), response.body().length());
           resultFuture.complete(response.toBuilder().body(bodyData).build());
         }
       } else if (response.status() >= 200 && response.status() < 300) {
@@ -112,4 +112,8 @@ public interface Capability {
     return queryMapEncoder;
   }
 
+  default InvocationListener.Factory enrich(InvocationListener.Factory invocationListenerFactory) {
+    return invocationListenerFactory;
+  }
+
 }
@@ -116,6 +116,7 @@ public abstract class Feign {
     private ExceptionPropagationPolicy propagationPolicy = NONE;
     private boolean forceDecoding = false;
     private List<Capability> capabilities = new ArrayList<>();
+    private InvocationListener.Factory invocationListenerFactory = InvocationListener.Factory.NONE;
 
     public Builder logLevel(Logger.Level logLevel) {
       this.logLevel = logLevel;
@@ -248,6 +249,15 @@ public abstract class Feign {
       return this;
     }
 
+    /**
+     * Reports the phases of each invocation, such as encoding, the network call and decoding, to a
+     * listener created by {@code invocationListenerFactory}. Nothing is reported by default.
+     */
+    public Builder invocationListener(InvocationListener.Factory invocationListenerFactory) {
+      this.invocationListenerFactory = invocationListenerFactory;
+      return this;
+    }
+
     public Builder addCapability(Capability capability) {
       this.capabilities.add(capability);
       return this;
@@ -283,10 +293,13 @@ public abstract class Feign {
       InvocationHandlerFactory invocationHandlerFactory =
           Capability.enrich(this.invocationHandlerFactory, capabilities);
       QueryMapEncoder queryMapEncoder = Capability.enrich(this.queryMapEncoder, capabilities);
+      InvocationListener.Factory invocationListenerFactory =
+          Capability.enrich(this.invocationListenerFactory, capabilities);
 
       SynchronousMethodHandler.Factory synchronousMethodHandlerFactory =
           new SynchronousMethodHandler.Factory(client, retryer, requestInterceptors, logger,
-              logLevel, decode404, closeAfterDecode, propagationPolicy, forceDecoding);
+              logLevel, decode404, closeAfterDecode, propagationPolicy, forceDecoding,
+              invocationListenerFactory);
       ParseHandlersByName handlersByName =
           new ParseHandlersByName(contract, options, encoder, decoder, queryMapEncoder,
               errorDecoder, synchronousMethodHandlerFactory);
@@ -14,7 +14,9 @@
 package feign;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.Buffer;
@@ -95,6 +97,18 @@ public class FeignException extends RuntimeException {
     this.request = checkRequestNotNull(request);
   }
 
+  /**
+   * @param writableStackTrace false to skip capturing the stack trace, which dominates the cost of
+   *        creating an exception. Useful when errors such as 404 are routine control flow.
+   */
+  protected FeignException(int status, String message, Request request, byte[] responseBody,
+      boolean writableStackTrace) {
+    super(message, null, true, writableStackTrace);
+    this.status = status;
+    this.responseBody = responseBody;
+    this.request = checkRequestNotNull(request);
+  }
+
   private Request checkRequestNotNull(Request request) {
     return checkNotNull(request, EXCEPTION_MESSAGE_TEMPLATE_NULL_REQUEST);
   }
@@ -152,11 +166,21 @@ public class FeignException extends RuntimeException {
   }
 
   public static FeignException errorStatus(String methodKey, Response response) {
+    return errorStatus(methodKey, response, Integer.MAX_VALUE, true);
+  }
 
+  /**
+   * Like {@link #errorStatus(String, Response)}, but keeps at most {@code maxBodyBytes} of the
+   * response body, and omits the stack trace unless {@code writableStackTrace}.
+   */
+  public static FeignException errorStatus(String methodKey,
+                                           Response response,
+                                           int maxBodyBytes,
+                                           boolean writableStackTrace) {
     byte[] body = {};
     try {
       if (response.body() != null) {
-        body = Util.toByteArray(response.body().asInputStream());
+        body = readBody(response.body(), maxBodyBytes);
       }
     } catch (IOException ignored) { // NOPMD
     }
@@ -166,20 +190,37 @@ public class FeignException extends RuntimeException {
         .withMethodKey(methodKey)
         .withBody(body).build();
 
-    return errorStatus(response.status(), message, response.request(), body);
+    return errorStatus(response.status(), message, response.request(), body, writableStackTrace);
+  }
+
+  private static byte[] readBody(Response.Body body, int maxBodyBytes) throws IOException {
+    InputStream in = body.asInputStream();
+    if (maxBodyBytes == Integer.MAX_VALUE) {
+      return Util.toByteArray(in, body.length());
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(Math.min(maxBodyBytes, 1024));
+    byte[] buf = new byte[Math.min(maxBodyBytes, 8192)];
+    int remaining = maxBodyBytes;
+    int read;
+    while (remaining > 0 && (read = in.read(buf, 0, Math.min(buf.length, remaining))) != -1) {
+      out.write(buf, 0, read);
+      remaining -= read;
+    }
+    return out.toByteArray();
   }
 
   private static FeignException errorStatus(int status,
                                             String message,
                                             Request request,
-                                            byte[] body) {
+                                            byte[] body,
+                                            boolean writableStackTrace) {
     if (isClientError(status)) {
-      return clientErrorStatus(status, message, request, body);
+      return clientErrorStatus(status, message, request, body, writableStackTrace);
     }
     if (isServerError(status)) {
-      return serverErrorStatus(status, message, request, body);
+      return serverErrorStatus(status, message, request, body, writableStackTrace);
     }
-    return new FeignException(status, message, request, body);
+    return new FeignException(status, message, request, body, writableStackTrace);
   }
 
   private static boolean isClientError(int status) {
@@ -189,32 +230,33 @@ public class FeignException extends RuntimeException {
   private static FeignClientException clientErrorStatus(int status,
                                                         String message,
                                                         Request request,
-                                                        byte[] body) {
+                                                        byte[] body,
+                                                        boolean writableStackTrace) {
     switch (status) {
       case 400:
-        return new BadRequest(message, request, body);
+        return new BadRequest(message, request, body, writableStackTrace);
       case 401:
-        return new Unauthorized(message, request, body);
+        return new Unauthorized(message, request, body, writableStackTrace);
       case 403:
-        return new Forbidden(message, request, body);
+        return new Forbidden(message, request, body, writableStackTrace);
       case 404:
-        return new NotFound(message, request, body);
+        return new NotFound(message, request, body, writableStackTrace);
       case 405:
-        return new MethodNotAllowed(message, request, body);
+        return new MethodNotAllowed(message, request, body, writableStackTrace);
       case 406:
-        return new NotAcceptable(message, request, body);
+        return new NotAcceptable(message, request, body, writableStackTrace);
       case 409:
-        return new Conflict(message, request, body);
+        return new Conflict(message, request, body, writableStackTrace);
       case 410:
-        return new Gone(message, request, body);
+        return new Gone(message, request, body, writableStackTrace);
       case 415:
-        return new UnsupportedMediaType(message, request, body);
+        return new UnsupportedMediaType(message, request, body, writableStackTrace);
       case 429:
-        return new TooManyRequests(message, request, body);
+        return new TooManyRequests(message, request, body, writableStackTrace);
       case 422:
-        return new UnprocessableEntity(message, request, body);
+        return new UnprocessableEntity(message, request, body, writableStackTrace);
       default:
-        return new FeignClientException(status, message, request, body);
+        return new FeignClientException(status, message, request, body, writableStackTrace);
     }
   }
 
@@ -225,20 +267,21 @@ public class FeignException extends RuntimeException {
   private static FeignServerException serverErrorStatus(int status,
                                                         String message,
                                                         Request request,
-                                                        byte[] body) {
+                                                        byte[] body,
+                                                        boolean writableStackTrace) {
     switch (status) {
       case 500:
-        return new InternalServerError(message, request, body);
+        return new InternalServerError(message, request, body, writableStackTrace);
       case 501:
-        return new NotImplemented(message, request, body);
+        return new NotImplemented(message, request, body, writableStackTrace);
       case 502:
-        return new BadGateway(message, request, body);
+        return new BadGateway(message, request, body, writableStackTrace);
       case 503:
-        return new ServiceUnavailable(message, request, body);
+        return new ServiceUnavailable(message, request, body, writableStackTrace);
       case 504:
-        return new GatewayTimeout(message, request, body);
+        return new GatewayTimeout(message, request, body, writableStackTrace);
       default:
-        return new FeignServerException(status, message, request, body);
+        return new FeignServerException(status, message, request, body, writableStackTrace);
     }
   }
 
@@ -255,6 +298,11 @@ public class FeignException extends RuntimeException {
     public FeignClientException(int status, String message, Request request, byte[] body) {
       super(status, message, request, body);
     }
+
+    protected FeignClientException(int status, String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(status, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -262,6 +310,10 @@ public class FeignException extends RuntimeException {
     public BadRequest(String message, Request request, byte[] body) {
       super(400, message, request, body);
     }
+
+    public BadRequest(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(400, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -269,6 +321,10 @@ public class FeignException extends RuntimeException {
     public Unauthorized(String message, Request request, byte[] body) {
       super(401, message, request, body);
     }
+
+    public Unauthorized(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(401, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -276,6 +332,10 @@ public class FeignException extends RuntimeException {
     public Forbidden(String message, Request request, byte[] body) {
       super(403, message, request, body);
     }
+
+    public Forbidden(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(403, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -283,6 +343,10 @@ public class FeignException extends RuntimeException {
     public NotFound(String message, Request request, byte[] body) {
       super(404, message, request, body);
     }
+
+    public NotFound(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(404, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -290,6 +354,11 @@ public class FeignException extends RuntimeException {
     public MethodNotAllowed(String message, Request request, byte[] body) {
       super(405, message, request, body);
     }
+
+    public MethodNotAllowed(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(405, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -297,6 +366,10 @@ public class FeignException extends RuntimeException {
     public NotAcceptable(String message, Request request, byte[] body) {
       super(406, message, request, body);
     }
+
+    public NotAcceptable(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(406, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -304,6 +377,10 @@ public class FeignException extends RuntimeException {
     public Conflict(String message, Request request, byte[] body) {
       super(409, message, request, body);
     }
+
+    public Conflict(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(409, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -311,6 +388,10 @@ public class FeignException extends RuntimeException {
     public Gone(String message, Request request, byte[] body) {
       super(410, message, request, body);
     }
+
+    public Gone(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(410, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -318,6 +399,11 @@ public class FeignException extends RuntimeException {
     public UnsupportedMediaType(String message, Request request, byte[] body) {
       super(415, message, request, body);
     }
+
+    public UnsupportedMediaType(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(415, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -325,6 +411,11 @@ public class FeignException extends RuntimeException {
     public TooManyRequests(String message, Request request, byte[] body) {
       super(429, message, request, body);
     }
+
+    public TooManyRequests(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(429, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -332,6 +423,11 @@ public class FeignException extends RuntimeException {
     public UnprocessableEntity(String message, Request request, byte[] body) {
       super(422, message, request, body);
     }
+
+    public UnprocessableEntity(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(422, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -339,6 +435,11 @@ public class FeignException extends RuntimeException {
     public FeignServerException(int status, String message, Request request, byte[] body) {
       super(status, message, request, body);
     }
+
+    protected FeignServerException(int status, String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(status, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -346,6 +447,11 @@ public class FeignException extends RuntimeException {
     public InternalServerError(String message, Request request, byte[] body) {
       super(500, message, request, body);
     }
+
+    public InternalServerError(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(500, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -353,6 +459,11 @@ public class FeignException extends RuntimeException {
     public NotImplemented(String message, Request request, byte[] body) {
       super(501, message, request, body);
     }
+
+    public NotImplemented(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(501, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -360,6 +471,10 @@ public class FeignException extends RuntimeException {
     public BadGateway(String message, Request request, byte[] body) {
       super(502, message, request, body);
     }
+
+    public BadGateway(String message, Request request, byte[] body, boolean writableStackTrace) {
+      super(502, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -367,6 +482,11 @@ public class FeignException extends RuntimeException {
     public ServiceUnavailable(String message, Request request, byte[] body) {
       super(503, message, request, body);
     }
+
+    public ServiceUnavailable(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(503, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -374,6 +494,11 @@ public class FeignException extends RuntimeException {
     public GatewayTimeout(String message, Request request, byte[] body) {
       super(504, message, request, body);
     }
+
+    public GatewayTimeout(String message, Request request, byte[] body,
+        boolean writableStackTrace) {
+      super(504, message, request, body, writableStackTrace);
+    }
   }
 
 
@@ -381,6 +506,7 @@ public class FeignException extends RuntimeException {
 
     private static final int MAX_BODY_BYTES_LENGTH = 400;
     private static final int MAX_BODY_CHARS_LENGTH = 200;
+    private static final Pattern CHARSET = Pattern.compile(".*charset=([^\\s|^;]+).*");
 
     private Response response;
 
@@ -403,19 +529,16 @@ public class FeignException extends RuntimeException {
     }
 
     public String build() {
-      StringBuilder result = new StringBuilder();
-
+      // plain appends rather than String.format, as this runs for every error response
+      StringBuilder result = new StringBuilder().append('[').append(response.status());
       if (response.reason() != null) {
-        result.append(format("[%d %s]", response.status(), response.reason()));
-      } else {
-        result.append(format("[%d]", response.status()));
+        result.append(' ').append(response.reason());
       }
-      result.append(format(" during [%s] to [%s] [%s]", response.request().httpMethod(),
-          response.request().url(), methodKey));
-
-      result.append(format(": [%s]", getBodyAsString(body, response.headers())));
-
-      return result.toString();
+      return result.append("] during [").append(response.request().httpMethod())
+          .append("] to [").append(response.request().url())
+          .append("] [").append(methodKey)
+          .append("]: [").append(getBodyAsString(body, response.headers())).append(']')
+          .toString();
     }
 
     private static String getBodyAsString(byte[] body, Map<String, Collection<String>> headers) {
@@ -454,8 +577,7 @@ public class FeignException extends RuntimeException {
         return null;
       }
 
-      Pattern pattern = Pattern.compile(".*charset=([^\\s|^;]+).*");
-      Matcher matcher = pattern.matcher(strings.iterator().next());
+      Matcher matcher = CHARSET.matcher(strings.iterator().next());
       if (!matcher.lookingAt()) {
         return null;
       }
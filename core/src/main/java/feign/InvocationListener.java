@@ -0,0 +1,96 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+/**
+ * Receives the phases of a single method invocation, each stamped with {@link System#nanoTime()},
+ * so that time spent building, sending and decoding a request can be told apart. Every callback is
+ * optional.
+ *
+ * <p>
+ * A new listener is {@link Factory#create(Target, MethodMetadata) created} for each invocation, so
+ * implementations may keep per-call state in fields. Callbacks for one invocation are never
+ * concurrent, though asynchronous invocations may see them on different threads. When no factory is
+ * registered, none of this is invoked and no timestamps are taken.
+ *
+ * <p>
+ * A successful synchronous invocation reports, in order: {@link #invocationStart(long)},
+ * {@link #templateResolved(Request, long)}, {@link #requestSent(Request, long)},
+ * {@link #firstByte(Response, long)}, {@link #decodeStart(Response, long)},
+ * {@link #decodeEnd(long)} and {@link #invocationEnd(Throwable, long)}. Each retry repeats the
+ * phases from {@link #templateResolved(Request, long)}, after
+ * {@link #retryScheduled(RetryableException, long)}.
+ */
+public interface InvocationListener {
+
+  /**
+   * The method was called, before its arguments were resolved into a request template.
+   */
+  default void invocationStart(long nanoTime) {}
+
+  /**
+   * Request interceptors and the {@link Target} were applied, yielding {@code request}.
+   */
+  default void templateResolved(Request request, long nanoTime) {}
+
+  /**
+   * {@code request} was handed to the client.
+   */
+  default void requestSent(Request request, long nanoTime) {}
+
+  /**
+   * The client returned {@code response}. Status and headers have been read, but usually not the
+   * body.
+   */
+  default void firstByte(Response response, long nanoTime) {}
+
+  /**
+   * {@code response} is about to be read by the decoder, or the error decoder if unsuccessful.
+   */
+  default void decodeStart(Response response, long nanoTime) {}
+
+  /**
+   * Decoding finished, successfully or not.
+   */
+  default void decodeEnd(long nanoTime) {}
+
+  /**
+   * The {@link Retryer} decided to retry after {@code cause}, including any backoff it applied.
+   */
+  default void retryScheduled(RetryableException cause, long nanoTime) {}
+
+  /**
+   * The invocation completed.
+   *
+   * @param error what the caller receives, or null if the invocation returned normally.
+   */
+  default void invocationEnd(Throwable error, long nanoTime) {}
+
+  /**
+   * Creates a listener for each invocation of a method on {@code target}.
+   */
+  interface Factory {
+
+    /**
+     * The default, which listens to nothing. Feign skips listener calls entirely when this is
+     * configured.
+     */
+    Factory NONE = (target, metadata) -> null;
+
+    /**
+     * @return the listener for this invocation, or null to skip it, for example when sampling.
+     */
+    InvocationListener create(Target<?> target, MethodMetadata metadata);
+  }
+}
@@ -13,9 +13,19 @@
  */
 package feign;
 
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.io.Reader;
 import java.io.StringWriter;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.util.Arrays;
 import java.util.logging.FileHandler;
 import java.util.logging.LogRecord;
 import java.util.logging.SimpleFormatter;
@@ -31,6 +41,23 @@ public abstract class Logger {
         .append("] ").toString();
   }
 
+  private static final int BUF_SIZE = 0x1000;
+  // like Util.toByteArray, trust a declared length only this far before bytes actually arrive
+  private static final int MAX_PREALLOCATED = 0x100000; // 1 MiB
+
+  private int maxBodyBytes = Integer.MAX_VALUE;
+
+  /**
+   * Logs at most this many bytes of each response body at {@link Level#FULL}. Response bodies are
+   * logged as they are read rather than buffered up front, so this bounds the memory logging takes
+   * per response. Defaults to no limit.
+   */
+  public Logger maxBodyBytes(int maxBodyBytes) {
+    checkArgument(maxBodyBytes >= 0, "maxBodyBytes must not be negative");
+    this.maxBodyBytes = maxBodyBytes;
+    return this;
+  }
+
   /**
    * Override to log requests and responses using your own implementation. Messages will be http
    * request and response text.
@@ -71,6 +98,14 @@ public abstract class Logger {
     log(configKey, "---> RETRYING");
   }
 
+  /**
+   * Logs the response status and, depending on the level, its headers and body. Bodies that can't
+   * be read twice are not buffered: they are logged as the caller reads them, and the end of the
+   * response is logged once the body is read to its end or closed. Only {@link #maxBodyBytes(int)}
+   * of each body is kept for logging.
+   *
+   * @return the response to continue with, which may wrap the original body.
+   */
   protected Response logAndRebufferResponse(String configKey,
                                             Level logLevel,
                                             Response response,
@@ -89,27 +124,64 @@ public abstract class Logger {
         }
       }
 
-      int bodyLength = 0;
-      if (response.body() != null && !(status == 204 || status == 205)) {
+      Response.Body body = response.body();
+      if (body != null && !(status == 204 || status == 205)) {
         // HTTP 204 No Content "...response MUST NOT include a message-body"
         // HTTP 205 Reset Content "...response MUST NOT include an entity"
         if (logLevel.ordinal() >= Level.FULL.ordinal()) {
           log(configKey, ""); // CRLF
+        } else if (body.length() != null) {
+          log(configKey, "<--- END HTTP (%s-byte body)", body.length());
+          return response;
         }
-        byte[] bodyData = Util.toByteArray(response.body().asInputStream());
-        bodyLength = bodyData.length;
-        if (logLevel.ordinal() >= Level.FULL.ordinal() && bodyLength > 0) {
-          log(configKey, "%s", decodeOrDefault(bodyData, UTF_8, "Binary data"));
+        if (body.isRepeatable()) {
+          // it can be read again, so read it in place
+          ByteBuffer bodyData = body.asByteBuffer();
+          int bodyLength = bodyData.remaining();
+          ((Buffer) bodyData).limit(bodyData.position() + Math.min(bodyLength, maxBodyBytes));
+          logResponseBody(configKey, logLevel, bodyData, bodyLength);
+          return response;
         }
-        log(configKey, "<--- END HTTP (%s-byte body)", bodyLength);
-        return response.toBuilder().body(bodyData).build();
+        return response.toBuilder().body(new LoggingBody(configKey, logLevel, body)).build();
       } else {
-        log(configKey, "<--- END HTTP (%s-byte body)", bodyLength);
+        log(configKey, "<--- END HTTP (%s-byte body)", 0);
       }
     }
     return response;
   }
 
+  /**
+   * Logs what was kept of a response body, then the end of the response.
+   */
+  private void logResponseBody(String configKey,
+                               Level logLevel,
+                               ByteBuffer logged,
+                               long bodyLength) {
+    if (logLevel.ordinal() >= Level.FULL.ordinal() && logged.hasRemaining()) {
+      if (logged.remaining() < bodyLength) {
+        log(configKey, "%s", decodeTruncated(logged));
+        log(configKey, "<--- END HTTP (%s-byte body, first %s bytes logged)", bodyLength,
+            logged.remaining());
+        return;
+      }
+      log(configKey, "%s", decodeOrDefault(logged, UTF_8, "Binary data"));
+    }
+    log(configKey, "<--- END HTTP (%s-byte body)", bodyLength);
+  }
+
+  /**
+   * Decodes the start of a UTF-8 body, where a character may have been cut off by the limit.
+   */
+  private static String decodeTruncated(ByteBuffer data) {
+    CharsetDecoder decoder = UTF_8.newDecoder();
+    CharBuffer chars = CharBuffer.allocate(data.remaining());
+    if (decoder.decode(data.duplicate(), chars, false).isError()) {
+      return "Binary data";
+    }
+    ((Buffer) chars).flip();
+    return chars.toString();
+  }
+
   protected IOException logIOException(String configKey,
                                        Level logLevel,
                                        IOException ioe,
@@ -125,6 +197,190 @@ public abstract class Logger {
     return ioe;
   }
 
+  /**
+   * Wraps a response body that can't be read twice, to log it as it is read.
+   */
+  private final class LoggingBody implements Response.Body {
+
+    private final String configKey;
+    private final Level logLevel;
+    private final Response.Body delegate;
+    private LoggingInputStream stream;
+    private boolean closed;
+
+    LoggingBody(String configKey, Level logLevel, Response.Body delegate) {
+      this.configKey = configKey;
+      this.logLevel = logLevel;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Integer length() {
+      return delegate.length();
+    }
+
+    @Override
+    public boolean isRepeatable() {
+      return false;
+    }
+
+    @Override
+    public InputStream asInputStream() throws IOException {
+      if (stream == null) {
+        stream = new LoggingInputStream(delegate.asInputStream(), delegate.length());
+      }
+      return stream;
+    }
+
+    @Override
+    public Reader asReader(Charset charset) throws IOException {
+      checkNotNull(charset, "charset should not be null");
+      return new InputStreamReader(asInputStream(), charset);
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        if (stream == null && !closed && logLevel.ordinal() >= Level.FULL.ordinal()) {
+          // log it even though nobody read it, as far as the limit
+          asInputStream();
+        }
+        if (stream != null) {
+          stream.close();
+        } else if (!closed) {
+          log(configKey, "<--- END HTTP (closed unread)");
+        }
+      } finally {
+        closed = true;
+        delegate.close();
+      }
+    }
+
+    private final class LoggingInputStream extends FilterInputStream {
+
+      private final Integer length;
+      // what's kept to log, or null if the body isn't logged
+      private byte[] logged;
+      private int loggedCount;
+      private long count;
+      private boolean ended;
+
+      LoggingInputStream(InputStream in, Integer length) {
+        super(in);
+        this.length = length;
+        this.logged = logLevel.ordinal() >= Level.FULL.ordinal() && maxBodyBytes > 0
+            ? new byte[Math.min(maxBodyBytes,
+                length != null && length >= 0 ? Math.min(length, MAX_PREALLOCATED) : BUF_SIZE)]
+            : null;
+      }
+
+      @Override
+      public int read() throws IOException {
+        int b = in.read();
+        if (b == -1) {
+          logEnd(true);
+        } else {
+          count++;
+          if (keep(1) == 1) {
+            logged[loggedCount++] = (byte) b;
+          }
+        }
+        return b;
+      }
+
+      @Override
+      public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read == -1) {
+          logEnd(true);
+        } else {
+          count += read;
+          int kept = keep(read);
+          if (kept > 0) {
+            System.arraycopy(b, off, logged, loggedCount, kept);
+            loggedCount += kept;
+          }
+        }
+        return read;
+      }
+
+      /**
+       * Makes room to keep up to {@code read} more bytes, within the limit.
+       *
+       * @return how many of them to keep.
+       */
+      private int keep(int read) {
+        if (logged == null) {
+          return 0;
+        }
+        int kept = Math.min(read, maxBodyBytes - loggedCount);
+        if (loggedCount + kept > logged.length) {
+          logged = Arrays.copyOf(logged, (int) Math.min(
+              Math.max(loggedCount + kept, logged.length * 2L), maxBodyBytes));
+        }
+        return kept;
+      }
+
+      @Override
+      public long skip(long n) throws IOException {
+        // read rather than skip, so that what's skipped is logged too
+        byte[] skipped = new byte[(int) Math.min(Math.max(n, 0), BUF_SIZE)];
+        int read = read(skipped, 0, skipped.length);
+        return Math.max(read, 0);
+      }
+
+      @Override
+      public boolean markSupported() {
+        return false;
+      }
+
+      @Override
+      public synchronized void mark(int readlimit) {}
+
+      @Override
+      public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+      }
+
+      @Override
+      public void close() throws IOException {
+        try {
+          if (logged != null) {
+            // decoders often stop at the end of a value, so read what they left, up to the limit
+            byte[] rest = new byte[BUF_SIZE];
+            while (!ended && loggedCount < maxBodyBytes && read(rest, 0, rest.length) != -1) {
+              // until the end or the limit
+            }
+          }
+        } finally {
+          try {
+            super.close();
+          } finally {
+            logEnd(false);
+          }
+        }
+      }
+
+      void logEnd(boolean endOfStream) {
+        if (ended) {
+          return;
+        }
+        ended = true;
+        if (endOfStream || (length != null && count == length)) {
+          ByteBuffer loggedData = logged != null
+              ? ByteBuffer.wrap(logged, 0, loggedCount)
+              : ByteBuffer.allocate(0);
+          logResponseBody(configKey, logLevel, loggedData, count);
+        } else {
+          if (loggedCount > 0) {
+            log(configKey, "%s", decodeTruncated(ByteBuffer.wrap(logged, 0, loggedCount)));
+          }
+          log(configKey, "<--- END HTTP (closed after %s bytes)", count);
+        }
+      }
+    }
+  }
+
   /**
    * Controls the level of logging.
    */
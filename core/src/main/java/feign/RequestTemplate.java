@@ -21,8 +21,6 @@ import java.nio.charset.Charset;
 import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.*;
 import java.util.Map.Entry;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import static feign.Util.*;
 
@@ -36,7 +34,6 @@ import static feign.Util.*;
 @SuppressWarnings("UnusedReturnValue")
 public final class RequestTemplate implements Serializable {
 
-  private static final Pattern QUERY_STRING_PATTERN = Pattern.compile("(?<!\\{)\\?");
   private final Map<String, QueryTemplate> queries = new LinkedHashMap<>();
   private final Map<String, HeaderTemplate> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
   private String target;
@@ -206,8 +203,7 @@ public final class RequestTemplate implements Serializable {
 
       String queryString = query.toString();
       if (!queryString.isEmpty()) {
-        Matcher queryMatcher = QUERY_STRING_PATTERN.matcher(uri);
-        if (queryMatcher.find()) {
+        if (indexOfQuery(uri) != -1) {
           /* the uri already has a query, so any additional queries should be appended */
           uri.append("&");
         } else {
@@ -446,15 +442,15 @@ public final class RequestTemplate implements Serializable {
      * templates may provide query parameters. since we want to manage those explicity, we will need
      * to extract those out, leaving the uriTemplate with only the path to deal with.
      */
-    Matcher queryMatcher = QUERY_STRING_PATTERN.matcher(uri);
-    if (queryMatcher.find()) {
-      String queryString = uri.substring(queryMatcher.start() + 1);
+    int queryIndex = indexOfQuery(uri);
+    if (queryIndex != -1) {
+      String queryString = uri.substring(queryIndex + 1);
 
       /* parse the query string */
       this.extractQueryTemplates(queryString, append);
 
       /* reduce the uri to the path */
-      uri = uri.substring(0, queryMatcher.start());
+      uri = uri.substring(0, queryIndex);
     }
 
     int fragmentIndex = uri.indexOf('#');
@@ -972,6 +968,22 @@ public final class RequestTemplate implements Serializable {
     return result;
   }
 
+  /**
+   * Finds the start of the query string: the first {@code ?} that isn't the operator of an
+   * expression such as <code>{?name}</code>.
+   *
+   * @param uri to search.
+   * @return the index of the {@code ?}, or -1 if there is no query string.
+   */
+  private static int indexOfQuery(CharSequence uri) {
+    for (int i = 0; i < uri.length(); i++) {
+      if (uri.charAt(i) == '?' && (i == 0 || uri.charAt(i - 1) != '{')) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private void extractQueryTemplates(String queryString, boolean append) {
     /* split the query string up into name value pairs */
     Map<String, List<String>> queryParameters =
@@ -15,6 +15,9 @@ package feign;
 
 import static feign.Util.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -252,6 +255,23 @@ public final class Response implements Closeable {
      * It is the responsibility of the caller to close the stream.
      */
     Reader asReader(Charset charset) throws IOException;
+
+    /**
+     * The whole body, from its position to its limit. {@link #isRepeatable() Repeatable} bodies
+     * that are held in memory return a read-only view of it, so decoders which accept a
+     * {@link ByteBuffer} needn't copy it. Otherwise the body is read fully, like
+     * {@link #asInputStream()}, and can't be read again.
+     */
+    default ByteBuffer asByteBuffer() throws IOException {
+      return ByteBuffer.wrap(Util.toByteArray(asInputStream(), length()));
+    }
+
+    /**
+     * It is the responsibility of the caller to close the channel.
+     */
+    default ReadableByteChannel asReadableByteChannel() throws IOException {
+      return Channels.newChannel(asInputStream());
+    }
   }
 
   private static final class InputStreamBody implements Response.Body {
@@ -343,6 +363,11 @@ public final class Response implements Closeable {
       return new ByteArrayInputStream(data);
     }
 
+    @Override
+    public ByteBuffer asByteBuffer() {
+      return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public Reader asReader() throws IOException {
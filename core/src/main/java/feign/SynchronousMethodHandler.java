@@ -41,6 +41,8 @@ final class SynchronousMethodHandler implements MethodHandler {
   private final RequestTemplate.Factory buildTemplateFromArgs;
   private final Options options;
   private final ExceptionPropagationPolicy propagationPolicy;
+  private final Target.Feedback feedback;
+  private final InvocationListener.Factory listenerFactory;
 
   // only one of decoder and asyncResponseHandler will be non-null
   private final Decoder decoder;
@@ -53,7 +55,7 @@ final class SynchronousMethodHandler implements MethodHandler {
       RequestTemplate.Factory buildTemplateFromArgs, Options options,
       Decoder decoder, ErrorDecoder errorDecoder, boolean decode404,
       boolean closeAfterDecode, ExceptionPropagationPolicy propagationPolicy,
-      boolean forceDecoding) {
+      boolean forceDecoding, InvocationListener.Factory listenerFactory) {
 
     this.target = checkNotNull(target, "target");
     this.client = checkNotNull(client, "client for %s", target);
@@ -66,6 +68,14 @@ final class SynchronousMethodHandler implements MethodHandler {
     this.buildTemplateFromArgs = checkNotNull(buildTemplateFromArgs, "metadata for %s", target);
     this.options = checkNotNull(options, "options for %s", target);
     this.propagationPolicy = propagationPolicy;
+    // AsyncFeign reports feedback itself, once the real response arrives
+    this.feedback = !forceDecoding && target instanceof Target.Feedback
+        ? (Target.Feedback) target
+        : null;
+    // likewise, AsyncFeign reports to listeners itself
+    this.listenerFactory =
+        forceDecoding || listenerFactory == InvocationListener.Factory.NONE ? null
+            : listenerFactory;
 
     if (forceDecoding) {
       // internal only: usual handling will be short-circuited, and all responses will be passed to
@@ -81,12 +91,31 @@ final class SynchronousMethodHandler implements MethodHandler {
 
   @Override
   public Object invoke(Object[] argv) throws Throwable {
+    if (listenerFactory == null) {
+      return invoke(argv, null);
+    }
+    InvocationListener listener = listenerFactory.create(target, metadata);
+    if (listener == null) {
+      return invoke(argv, null);
+    }
+    listener.invocationStart(System.nanoTime());
+    try {
+      Object result = invoke(argv, listener);
+      listener.invocationEnd(null, System.nanoTime());
+      return result;
+    } catch (Throwable e) {
+      listener.invocationEnd(e, System.nanoTime());
+      throw e;
+    }
+  }
+
+  private Object invoke(Object[] argv, InvocationListener listener) throws Throwable {
     RequestTemplate template = buildTemplateFromArgs.create(argv);
     Options options = findOptions(argv);
     Retryer retryer = this.retryer.clone();
     while (true) {
       try {
-        return executeAndDecode(template, options);
+        return executeAndDecode(template, options, listener);
       } catch (RetryableException e) {
         try {
           retryer.continueOrPropagate(e);
@@ -101,13 +130,20 @@ final class SynchronousMethodHandler implements MethodHandler {
         if (logLevel != Logger.Level.NONE) {
           logger.logRetry(metadata.configKey(), logLevel);
         }
+        if (listener != null) {
+          listener.retryScheduled(e, System.nanoTime());
+        }
         continue;
       }
     }
   }
 
-  Object executeAndDecode(RequestTemplate template, Options options) throws Throwable {
+  Object executeAndDecode(RequestTemplate template, Options options, InvocationListener listener)
+      throws Throwable {
     Request request = targetRequest(template);
+    if (listener != null) {
+      listener.templateResolved(request, System.nanoTime());
+    }
 
     if (logLevel != Logger.Level.NONE) {
       logger.logRequest(metadata.configKey(), logLevel, request);
@@ -115,8 +151,17 @@ final class SynchronousMethodHandler implements MethodHandler {
 
     Response response;
     long start = System.nanoTime();
+    if (listener != null) {
+      listener.requestSent(request, start);
+    }
     try {
       response = client.execute(request, options);
+      if (listener != null) {
+        listener.firstByte(response, System.nanoTime());
+      }
+      if (feedback != null) {
+        feedback.onResponse(request, response, System.nanoTime() - start);
+      }
       // ensure the request is set. TODO: remove in Feign 12
       response = response.toBuilder()
           .request(request)
@@ -126,7 +171,15 @@ final class SynchronousMethodHandler implements MethodHandler {
       if (logLevel != Logger.Level.NONE) {
         logger.logIOException(metadata.configKey(), logLevel, e, elapsedTime(start));
       }
+      if (feedback != null) {
+        feedback.onError(request, e, System.nanoTime() - start);
+      }
       throw errorExecuting(request, e);
+    } catch (RuntimeException e) {
+      if (feedback != null) {
+        feedback.onError(request, e, System.nanoTime() - start);
+      }
+      throw e;
     }
     long elapsedTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 
@@ -134,10 +187,16 @@ final class SynchronousMethodHandler implements MethodHandler {
     if (decoder != null)
       return decoder.decode(response, metadata.returnType());
 
+    if (listener != null) {
+      listener.decodeStart(response, System.nanoTime());
+    }
     CompletableFuture<Object> resultFuture = new CompletableFuture<>();
     asyncResponseHandler.handleResponse(resultFuture, metadata.configKey(), response,
         metadata.returnType(),
         elapsedTime);
+    if (listener != null) {
+      listener.decodeEnd(System.nanoTime());
+    }
 
     try {
       if (!resultFuture.isDone())
@@ -185,10 +244,12 @@ final class SynchronousMethodHandler implements MethodHandler {
     private final boolean closeAfterDecode;
     private final ExceptionPropagationPolicy propagationPolicy;
     private final boolean forceDecoding;
+    private final InvocationListener.Factory listenerFactory;
 
     Factory(Client client, Retryer retryer, List<RequestInterceptor> requestInterceptors,
         Logger logger, Logger.Level logLevel, boolean decode404, boolean closeAfterDecode,
-        ExceptionPropagationPolicy propagationPolicy, boolean forceDecoding) {
+        ExceptionPropagationPolicy propagationPolicy, boolean forceDecoding,
+        InvocationListener.Factory listenerFactory) {
       this.client = checkNotNull(client, "client");
       this.retryer = checkNotNull(retryer, "retryer");
       this.requestInterceptors = checkNotNull(requestInterceptors, "requestInterceptors");
@@ -198,6 +259,7 @@ final class SynchronousMethodHandler implements MethodHandler {
       this.closeAfterDecode = closeAfterDecode;
       this.propagationPolicy = propagationPolicy;
       this.forceDecoding = forceDecoding;
+      this.listenerFactory = listenerFactory;
     }
 
     public MethodHandler create(Target<?> target,
@@ -208,7 +270,8 @@ final class SynchronousMethodHandler implements MethodHandler {
                                 ErrorDecoder errorDecoder) {
       return new SynchronousMethodHandler(target, client, retryer, requestInterceptors, logger,
           logLevel, md, buildTemplateFromArgs, options, decoder,
-          errorDecoder, decode404, closeAfterDecode, propagationPolicy, forceDecoding);
+          errorDecoder, decode404, closeAfterDecode, propagationPolicy, forceDecoding,
+          listenerFactory);
     }
   }
 }
@@ -63,6 +63,24 @@ public interface Target<T> {
    */
   public Request apply(RequestTemplate input);
 
+  /**
+   * Implemented by targets that adapt to the outcome of the requests they produce, for example to
+   * route around slow or failing servers. Each request returned by {@link #apply(RequestTemplate)}
+   * is reported exactly once: when its response headers arrive, or when the client fails.
+   */
+  interface Feedback {
+
+    /**
+     * @param elapsedNanos time from sending the request until the response was received.
+     */
+    void onResponse(Request request, Response response, long elapsedNanos);
+
+    /**
+     * @param cause usually an {@link java.io.IOException}, such as a timeout.
+     */
+    void onError(Request request, Throwable cause, long elapsedNanos);
+  }
+
   public static class HardCodedTarget<T> implements Target<T> {
 
     private final Class<T> type;
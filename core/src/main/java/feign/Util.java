@@ -13,11 +13,9 @@
  */
 package feign;
 
-import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
 import java.io.Reader;
 import java.lang.reflect.Array;
 import java.lang.reflect.Method;
@@ -31,6 +29,7 @@ import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -80,6 +79,13 @@ public class Util {
    */
   public static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
   private static final int BUF_SIZE = 0x800; // 2K chars (4K bytes)
+  // bodies with a known length are read into an array of that size, up to this limit
+  private static final int MAX_PREALLOCATED = 0x100000; // 1 MiB
+  private static final int READ_BUFFER_SIZE = 0x4000; // 16 KiB
+  // the largest array size VMs reliably allow
+  private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+  // a plain ThreadLocal, so an unloaded application's classes aren't kept reachable
+  private static final ThreadLocal<byte[]> READ_BUFFER = new ThreadLocal<byte[]>();
 
 
   /**
@@ -296,46 +302,105 @@ public class Util {
   }
 
   /**
-   * Adapted from {@code com.google.common.io.ByteStreams.toByteArray()}.
+   * Reads the stream fully and closes it.
    */
   public static byte[] toByteArray(InputStream in) throws IOException {
+    return toByteArray(in, null);
+  }
+
+  /**
+   * Reads the stream fully and closes it. If {@code length} is known, such as from a
+   * {@code Content-Length} header, the bytes are read straight into an array of that size. If not,
+   * they are read into a buffer the calling thread reuses, so the only new array is the result.
+   * Either way, a stream longer or shorter than {@code length} is still read correctly.
+   *
+   * @param in to read.
+   * @param length of the stream, or {@code null} if unknown.
+   */
+  public static byte[] toByteArray(InputStream in, Integer length) throws IOException {
     checkNotNull(in, "in");
     try {
-      ByteArrayOutputStream out = new ByteArrayOutputStream();
-      copy(in, out);
-      return out.toByteArray();
+      if (length != null && length >= 0 && length <= MAX_PREALLOCATED) {
+        byte[] bytes = new byte[length];
+        int count = readFully(in, bytes, 0);
+        return count < length ? Arrays.copyOf(bytes, count) : readRemaining(in, bytes);
+      }
+      byte[] buffer = READ_BUFFER.get();
+      // take it, in case reading the stream calls back into this method
+      READ_BUFFER.set(null);
+      if (buffer == null) {
+        buffer = new byte[READ_BUFFER_SIZE];
+      }
+      try {
+        int count = readFully(in, buffer, 0);
+        return count < buffer.length
+            ? Arrays.copyOf(buffer, count)
+            : readRemaining(in, buffer.clone());
+      } finally {
+        READ_BUFFER.set(buffer);
+      }
     } finally {
       ensureClosed(in);
     }
   }
 
   /**
-   * Adapted from {@code com.google.common.io.ByteStreams.copy()}.
+   * Reads into {@code bytes} from {@code offset} until it is full or the stream ends.
+   *
+   * @return the number of bytes in {@code bytes}.
    */
-  private static long copy(InputStream from, OutputStream to)
-      throws IOException {
-    checkNotNull(from, "from");
-    checkNotNull(to, "to");
-    byte[] buf = new byte[BUF_SIZE];
-    long total = 0;
-    while (true) {
-      int r = from.read(buf);
-      if (r == -1) {
+  private static int readFully(InputStream in, byte[] bytes, int offset) throws IOException {
+    int count = offset;
+    while (count < bytes.length) {
+      int read = in.read(bytes, count, bytes.length - count);
+      if (read == -1) {
         break;
       }
-      to.write(buf, 0, r);
-      total += r;
+      count += read;
     }
-    return total;
+    return count;
+  }
+
+  /**
+   * Reads the rest of the stream, once {@code bytes} is full.
+   *
+   * @return {@code bytes} if the stream has ended, otherwise a larger array with the rest appended.
+   */
+  private static byte[] readRemaining(InputStream in, byte[] bytes) throws IOException {
+    int count = bytes.length;
+    int next;
+    while ((next = in.read()) != -1) {
+      if (count == MAX_ARRAY_SIZE) {
+        throw new OutOfMemoryError("Required array size too large");
+      }
+      bytes = Arrays.copyOf(bytes,
+          (int) Math.min(Math.max(count, BUF_SIZE) * 2L, MAX_ARRAY_SIZE));
+      bytes[count++] = (byte) next;
+      count = readFully(in, bytes, count);
+      if (count < bytes.length) {
+        return Arrays.copyOf(bytes, count);
+      }
+    }
+    return bytes;
   }
 
   public static String decodeOrDefault(byte[] data, Charset charset, String defaultValue) {
+    if (data == null) {
+      return defaultValue;
+    }
+    return decodeOrDefault(ByteBuffer.wrap(data), charset, defaultValue);
+  }
+
+  /**
+   * Decodes the remaining bytes of {@code data}, without changing its position.
+   */
+  public static String decodeOrDefault(ByteBuffer data, Charset charset, String defaultValue) {
     if (data == null) {
       return defaultValue;
     }
     checkNotNull(charset, "charset");
     try {
-      return charset.newDecoder().decode(ByteBuffer.wrap(data)).toString();
+      return charset.newDecoder().decode(data.duplicate()).toString();
     } catch (CharacterCodingException ex) {
       return defaultValue;
     }
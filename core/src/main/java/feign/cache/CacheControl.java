@@ -0,0 +1,129 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The subset of <a href="https://tools.ietf.org/html/rfc7234#section-5.2">Cache-Control</a>
+ * directives understood by a private cache.
+ */
+final class CacheControl {
+
+  static final CacheControl EMPTY = new CacheControl();
+
+  boolean noStore;
+  boolean noCache;
+  boolean mustRevalidate;
+  /** seconds, or -1 when absent. */
+  long maxAge = -1;
+  /** seconds, or -1 when absent. */
+  long staleWhileRevalidate = -1;
+
+  private CacheControl() {}
+
+  /**
+   * Parses all {@code Cache-Control} header values. Unknown directives are ignored.
+   */
+  static CacheControl parse(Collection<String> values) {
+    if (values == null || values.isEmpty()) {
+      return EMPTY;
+    }
+    CacheControl result = new CacheControl();
+    for (String value : values) {
+      int pos = 0;
+      int length = value.length();
+      while (pos < length) {
+        int end = nextDelimiter(value, pos);
+        result.apply(value, pos, end);
+        pos = end + 1;
+      }
+    }
+    return result;
+  }
+
+  private void apply(String header, int start, int end) {
+    int equals = header.indexOf('=', start);
+    String name;
+    String argument = null;
+    if (equals < 0 || equals >= end) {
+      name = header.substring(start, end).trim();
+    } else {
+      name = header.substring(start, equals).trim();
+      argument = header.substring(equals + 1, end).trim();
+      if (argument.length() > 1 && argument.charAt(0) == '"') {
+        argument = argument.substring(1, argument.length() - 1);
+      }
+    }
+    switch (name.toLowerCase(Locale.ROOT)) {
+      case "no-store":
+        noStore = true;
+        break;
+      case "no-cache":
+        // field-qualified no-cache is treated as unqualified, which is the conservative choice.
+        noCache = true;
+        break;
+      case "must-revalidate":
+      case "proxy-revalidate":
+        mustRevalidate = true;
+        break;
+      case "max-age":
+        maxAge = seconds(argument);
+        break;
+      case "stale-while-revalidate":
+        staleWhileRevalidate = seconds(argument);
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Finds the next comma that isn't inside a quoted string.
+   */
+  private static int nextDelimiter(String value, int from) {
+    boolean quoted = false;
+    for (int i = from; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        quoted = !quoted;
+      } else if (c == ',' && !quoted) {
+        return i;
+      }
+    }
+    return value.length();
+  }
+
+  /**
+   * Delta-seconds per RFC 7234 section 1.2.1: invalid values are ignored, overflows saturate.
+   */
+  private static long seconds(String argument) {
+    if (argument == null || argument.isEmpty()) {
+      return -1;
+    }
+    long result = 0;
+    for (int i = 0; i < argument.length(); i++) {
+      char c = argument.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      result = result * 10 + (c - '0');
+      if (result > Integer.MAX_VALUE) {
+        return Integer.MAX_VALUE;
+      }
+    }
+    return result;
+  }
+}
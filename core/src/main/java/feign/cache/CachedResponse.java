@@ -0,0 +1,340 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import feign.Request;
+import feign.Response;
+import static feign.Util.UTF_8;
+import static feign.Util.checkNotNull;
+
+/**
+ * An immutable snapshot of a response held by a {@link ResponseCache}, along with the timing and
+ * request information needed to compute its freshness.
+ */
+public final class CachedResponse {
+
+  private static final int FORMAT_VERSION = 1;
+
+  private final String url;
+  private final int status;
+  private final String reason;
+  private final Map<String, Collection<String>> headers;
+  private final Map<String, String> varyHeaders;
+  private final byte[] body;
+  private final long requestTimeMillis;
+  private final long responseTimeMillis;
+
+  CachedResponse(String url, int status, String reason, Map<String, Collection<String>> headers,
+      Map<String, String> varyHeaders, byte[] body, long requestTimeMillis,
+      long responseTimeMillis) {
+    this.url = checkNotNull(url, "url");
+    this.status = status;
+    this.reason = reason;
+    this.headers = Collections.unmodifiableMap(checkNotNull(headers, "headers"));
+    this.varyHeaders = Collections.unmodifiableMap(checkNotNull(varyHeaders, "varyHeaders"));
+    this.body = body;
+    this.requestTimeMillis = requestTimeMillis;
+    this.responseTimeMillis = responseTimeMillis;
+  }
+
+  /**
+   * the url this response was fetched from.
+   */
+  public String url() {
+    return url;
+  }
+
+  public int status() {
+    return status;
+  }
+
+  /**
+   * Nullable, as in {@link Response#reason()}.
+   */
+  public String reason() {
+    return reason;
+  }
+
+  public Map<String, Collection<String>> headers() {
+    return headers;
+  }
+
+  /**
+   * Nullable when the original response had no body.
+   */
+  public byte[] body() {
+    return body;
+  }
+
+  /**
+   * Approximate number of bytes this entry retains, used for size-aware eviction.
+   */
+  public long size() {
+    long size = 64 + url.length() * 2L + (body != null ? body.length : 0);
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      size += header.getKey().length() * 2L;
+      for (String value : header.getValue()) {
+        size += value.length() * 2L + 16;
+      }
+    }
+    for (Map.Entry<String, String> vary : varyHeaders.entrySet()) {
+      size += (vary.getKey().length() + vary.getValue().length()) * 2L;
+    }
+    return size;
+  }
+
+  CacheControl cacheControl() {
+    return CacheControl.parse(header(headers, "Cache-Control"));
+  }
+
+  String firstHeader(String name) {
+    Collection<String> values = header(headers, name);
+    return values == null || values.isEmpty() ? null : values.iterator().next();
+  }
+
+  boolean hasValidators() {
+    return firstHeader("ETag") != null || firstHeader("Last-Modified") != null;
+  }
+
+  /**
+   * True if the selecting headers named by {@code Vary} match those on {@code request}.
+   */
+  boolean matchesVary(Request request) {
+    for (Map.Entry<String, String> vary : varyHeaders.entrySet()) {
+      if (!vary.getValue().equals(joined(header(request.headers(), vary.getKey())))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Freshness lifetime in milliseconds, from {@code max-age} or {@code Expires}. Heuristic
+   * freshness is intentionally not applied: responses without explicit lifetime are only reused
+   * after revalidation.
+   */
+  long freshnessLifetimeMillis() {
+    CacheControl cacheControl = cacheControl();
+    if (cacheControl.maxAge >= 0) {
+      return cacheControl.maxAge * 1000L;
+    }
+    String expires = firstHeader("Expires");
+    if (expires != null) {
+      long expiresMillis = parseDate(expires);
+      if (expiresMillis < 0) {
+        return 0; // invalid dates, such as "0", mean already expired
+      }
+      long date = dateMillis();
+      return Math.max(0, expiresMillis - date);
+    }
+    return 0;
+  }
+
+  /**
+   * Current age per RFC 7234 section 4.2.3.
+   */
+  long ageMillis(long nowMillis) {
+    long apparentAge = Math.max(0, responseTimeMillis - dateMillis());
+    long ageValue = 0;
+    String age = firstHeader("Age");
+    if (age != null) {
+      try {
+        ageValue = Long.parseLong(age.trim()) * 1000L;
+      } catch (NumberFormatException ignored) { // NOPMD
+      }
+    }
+    long responseDelay = responseTimeMillis - requestTimeMillis;
+    long correctedInitialAge = Math.max(apparentAge, ageValue + responseDelay);
+    long residentTime = nowMillis - responseTimeMillis;
+    return correctedInitialAge + residentTime;
+  }
+
+  private long dateMillis() {
+    String date = firstHeader("Date");
+    long result = date != null ? parseDate(date) : -1;
+    return result < 0 ? responseTimeMillis : result;
+  }
+
+  /**
+   * Returns a copy with headers refreshed from a {@code 304 Not Modified} response, per RFC 7234
+   * section 4.3.4.
+   */
+  CachedResponse revalidated(Map<String, Collection<String>> notModifiedHeaders,
+                             long requestTimeMillis,
+                             long responseTimeMillis) {
+    Map<String, Collection<String>> merged = new LinkedHashMap<>(headers);
+    for (Map.Entry<String, Collection<String>> header : notModifiedHeaders.entrySet()) {
+      if ("Content-Length".equalsIgnoreCase(header.getKey())) {
+        continue;
+      }
+      merged.keySet().removeIf(name -> name.equalsIgnoreCase(header.getKey()));
+      merged.put(header.getKey(), new ArrayList<>(header.getValue()));
+    }
+    return new CachedResponse(url, status, reason, merged, varyHeaders, body, requestTimeMillis,
+        responseTimeMillis);
+  }
+
+  /**
+   * Creates a response for {@code request} from this entry. The body is a repeatable view over the
+   * cached bytes.
+   */
+  Response toResponse(Request request, long nowMillis) {
+    Map<String, Collection<String>> responseHeaders = new LinkedHashMap<>(headers);
+    responseHeaders.keySet().removeIf("Age"::equalsIgnoreCase);
+    responseHeaders.put("Age",
+        Collections.singletonList(String.valueOf(ageMillis(nowMillis) / 1000L)));
+    return Response.builder()
+        .status(status)
+        .reason(reason)
+        .headers(responseHeaders)
+        .body(body)
+        .request(request)
+        .build();
+  }
+
+  /**
+   * Writes this entry in a compact binary format readable by {@link #readFrom(InputStream)}.
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(FORMAT_VERSION);
+    writeString(data, url);
+    data.writeInt(status);
+    data.writeBoolean(reason != null);
+    if (reason != null) {
+      writeString(data, reason);
+    }
+    data.writeLong(requestTimeMillis);
+    data.writeLong(responseTimeMillis);
+    data.writeInt(headers.size());
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      writeString(data, header.getKey());
+      data.writeInt(header.getValue().size());
+      for (String value : header.getValue()) {
+        writeString(data, value);
+      }
+    }
+    data.writeInt(varyHeaders.size());
+    for (Map.Entry<String, String> vary : varyHeaders.entrySet()) {
+      writeString(data, vary.getKey());
+      writeString(data, vary.getValue());
+    }
+    data.writeInt(body != null ? body.length : -1);
+    if (body != null) {
+      data.write(body);
+    }
+    data.flush();
+  }
+
+  /**
+   * Reads an entry written by {@link #writeTo(OutputStream)}.
+   *
+   * @throws IOException if the stream is truncated or was written by an incompatible version.
+   */
+  public static CachedResponse readFrom(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(in);
+    int version = data.readInt();
+    if (version != FORMAT_VERSION) {
+      throw new IOException("Unsupported cache entry version " + version);
+    }
+    String url = readString(data);
+    int status = data.readInt();
+    String reason = data.readBoolean() ? readString(data) : null;
+    long requestTimeMillis = data.readLong();
+    long responseTimeMillis = data.readLong();
+    int headerCount = data.readInt();
+    Map<String, Collection<String>> headers = new LinkedHashMap<>(headerCount);
+    for (int i = 0; i < headerCount; i++) {
+      String name = readString(data);
+      int valueCount = data.readInt();
+      List<String> values = new ArrayList<>(valueCount);
+      for (int j = 0; j < valueCount; j++) {
+        values.add(readString(data));
+      }
+      headers.put(name, values);
+    }
+    int varyCount = data.readInt();
+    Map<String, String> varyHeaders = new LinkedHashMap<>(varyCount);
+    for (int i = 0; i < varyCount; i++) {
+      varyHeaders.put(readString(data), readString(data));
+    }
+    int bodyLength = data.readInt();
+    byte[] body = null;
+    if (bodyLength >= 0) {
+      body = new byte[bodyLength];
+      data.readFully(body);
+    }
+    return new CachedResponse(url, status, reason, headers, varyHeaders, body, requestTimeMillis,
+        responseTimeMillis);
+  }
+
+  private static void writeString(DataOutputStream data, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    data.writeInt(bytes.length);
+    data.write(bytes);
+  }
+
+  private static String readString(DataInputStream data) throws IOException {
+    byte[] bytes = new byte[data.readInt()];
+    data.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  /**
+   * Case-insensitive lookup, as request headers are not guaranteed to use a case-insensitive map.
+   */
+  static Collection<String> header(Map<String, Collection<String>> headers, String name) {
+    Collection<String> values = headers.get(name);
+    if (values != null) {
+      return values;
+    }
+    for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase(name)) {
+        return header.getValue();
+      }
+    }
+    return null;
+  }
+
+  static String joined(Collection<String> values) {
+    return values == null ? "" : String.join(",", values);
+  }
+
+  /**
+   * Parses an HTTP-date, returning -1 when it isn't one.
+   */
+  static long parseDate(String value) {
+    try {
+      return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME)
+          .toInstant()
+          .toEpochMilli();
+    } catch (DateTimeParseException e) {
+      return -1;
+    }
+  }
+}
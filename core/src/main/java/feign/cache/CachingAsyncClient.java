@@ -0,0 +1,87 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import feign.AsyncClient;
+import feign.Experimental;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+
+/**
+ * {@link AsyncClient} counterpart of {@link CachingClient}. Fresh and
+ * {@code stale-while-revalidate} hits complete immediately on the calling thread; revalidations use
+ * the delegate, so no additional threads are involved.
+ */
+@Experimental
+public final class CachingAsyncClient<C> implements AsyncClient<C> {
+
+  private final AsyncClient<C> delegate;
+  private final HttpCache cache;
+
+  public CachingAsyncClient(AsyncClient<C> delegate, ResponseCache responseCache) {
+    this(delegate, new HttpCache(responseCache, System::currentTimeMillis));
+  }
+
+  CachingAsyncClient(AsyncClient<C> delegate, HttpCache cache) {
+    this.delegate = checkNotNull(delegate, "delegate");
+    this.cache = cache;
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request,
+                                             Options options,
+                                             Optional<C> requestContext) {
+    HttpCache.Lookup lookup = cache.lookup(request);
+    switch (lookup.action) {
+      case FRESH:
+        return CompletableFuture.completedFuture(cache.hit(lookup));
+      case STALE:
+        if (cache.beginRevalidation(lookup)) {
+          try {
+            delegate.execute(lookup.networkRequest, options, requestContext)
+                .whenComplete((response, throwable) -> {
+                  try {
+                    if (response != null) {
+                      ensureClosed(cache.onResponse(lookup, response));
+                    }
+                  } catch (IOException | RuntimeException ignored) { // NOPMD
+                  } finally {
+                    cache.endRevalidation(lookup);
+                  }
+                });
+          } catch (RuntimeException e) {
+            // failed before returning a future, so whenComplete will never end it
+            cache.endRevalidation(lookup);
+          }
+        }
+        return CompletableFuture.completedFuture(cache.hit(lookup));
+      default:
+        return delegate.execute(lookup.networkRequest, options, requestContext)
+            .thenApply(response -> {
+              try {
+                return cache.onResponse(lookup, response);
+              } catch (IOException e) {
+                throw new CompletionException(e);
+              }
+            });
+    }
+  }
+}
@@ -0,0 +1,41 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import feign.Capability;
+import feign.Client;
+import static feign.Util.checkNotNull;
+
+/**
+ * Wraps the configured {@link Client} in a {@link CachingClient}.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .addCapability(new CachingCapability(new ResponseCache.InMemory(10 * 1024 * 1024)))
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public class CachingCapability implements Capability {
+
+  private final ResponseCache responseCache;
+
+  public CachingCapability(ResponseCache responseCache) {
+    this.responseCache = checkNotNull(responseCache, "responseCache");
+  }
+
+  @Override
+  public Client enrich(Client client) {
+    return new CachingClient(client, responseCache);
+  }
+}
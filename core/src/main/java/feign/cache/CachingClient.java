@@ -0,0 +1,124 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+
+/**
+ * Decorates a {@link Client} with a private HTTP cache following RFC 7234.
+ *
+ * <ul>
+ * <li>{@code GET} responses with {@code Cache-Control: max-age}, {@code Expires}, {@code ETag} or
+ * {@code Last-Modified} are stored in a {@link ResponseCache}, honoring {@code no-store} and
+ * {@code Vary}.</li>
+ * <li>Fresh entries are served without a network call.</li>
+ * <li>Stale entries are revalidated with {@code If-None-Match} / {@code If-Modified-Since}; a
+ * {@code 304} refreshes and serves the stored entry.</li>
+ * <li>Entries within {@code stale-while-revalidate} are served immediately while a single
+ * revalidation runs on the {@link Executor}.</li>
+ * </ul>
+ *
+ * <pre>
+ * GitHub github = Feign.builder()
+ *     .client(new CachingClient(new Client.Default(null, null),
+ *         new ResponseCache.InMemory(10 * 1024 * 1024)))
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ *
+ * @see CachingCapability
+ */
+public final class CachingClient implements Client {
+
+  private static class LazyInitializedExecutorService {
+
+    private static final ExecutorService instance = Executors.newCachedThreadPool(r -> {
+      final Thread result = new Thread(r, "feign-cache-revalidation");
+      result.setDaemon(true);
+      return result;
+    });
+  }
+
+  private final Client delegate;
+  private final HttpCache cache;
+  private final Executor revalidationExecutor;
+
+  /**
+   * Background revalidations run on a shared daemon thread pool.
+   */
+  public CachingClient(Client delegate, ResponseCache responseCache) {
+    this(delegate, responseCache, null);
+  }
+
+  /**
+   * @param revalidationExecutor runs {@code stale-while-revalidate} revalidations. When null, a
+   *        shared daemon thread pool is used.
+   */
+  public CachingClient(Client delegate, ResponseCache responseCache,
+      Executor revalidationExecutor) {
+    this(delegate, new HttpCache(responseCache, System::currentTimeMillis), revalidationExecutor);
+  }
+
+  CachingClient(Client delegate, HttpCache cache, Executor revalidationExecutor) {
+    this.delegate = checkNotNull(delegate, "delegate");
+    this.cache = cache;
+    this.revalidationExecutor = revalidationExecutor;
+  }
+
+  @Override
+  public Response execute(Request request, Options options) throws IOException {
+    HttpCache.Lookup lookup = cache.lookup(request);
+    switch (lookup.action) {
+      case FRESH:
+        return cache.hit(lookup);
+      case STALE:
+        if (cache.beginRevalidation(lookup)) {
+          try {
+            executor().execute(() -> revalidate(lookup, options));
+          } catch (RejectedExecutionException e) {
+            // revalidate will never run to end it
+            cache.endRevalidation(lookup);
+          }
+        }
+        return cache.hit(lookup);
+      default:
+        return cache.onResponse(lookup, delegate.execute(lookup.networkRequest, options));
+    }
+  }
+
+  private void revalidate(HttpCache.Lookup lookup, Options options) {
+    try {
+      ensureClosed(cache.onResponse(lookup, delegate.execute(lookup.networkRequest, options)));
+    } catch (IOException | RuntimeException ignored) { // NOPMD
+      // the stale entry remains until a foreground request revalidates it
+    } finally {
+      cache.endRevalidation(lookup);
+    }
+  }
+
+  private Executor executor() {
+    return revalidationExecutor != null
+        ? revalidationExecutor
+        : LazyInitializedExecutorService.instance;
+  }
+}
@@ -0,0 +1,300 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+import static feign.cache.CachedResponse.header;
+import static feign.cache.CachedResponse.joined;
+
+/**
+ * RFC 7234 caching decisions shared by {@link CachingClient} and {@link CachingAsyncClient}. Only
+ * {@code GET} responses are stored; successful unsafe requests invalidate the entry for their url.
+ */
+final class HttpCache {
+
+  /**
+   * Status codes that are cacheable by default, per RFC 7231 section 6.1.
+   */
+  private static final Set<Integer> CACHEABLE_STATUS =
+      new HashSet<>(Arrays.asList(200, 203, 204, 300, 301, 404, 405, 410, 414, 501));
+
+  enum Action {
+    /** Not a cache concern: send the request as-is. */
+    PASS,
+    /** Unsafe method: send the request and invalidate the url on success. */
+    INVALIDATE,
+    /** No usable entry: send the request and store the response if possible. */
+    MISS,
+    /** Entry is fresh: serve it without a network call. */
+    FRESH,
+    /** Entry is stale but within stale-while-revalidate: serve it and revalidate in background. */
+    STALE,
+    /** Entry must be revalidated: send the conditional request before serving. */
+    VALIDATE
+  }
+
+  static final class Lookup {
+
+    final Action action;
+    final Request request;
+    final Request networkRequest;
+    final CachedResponse cached;
+    final long requestTimeMillis;
+
+    Lookup(Action action, Request request, Request networkRequest, CachedResponse cached,
+        long requestTimeMillis) {
+      this.action = action;
+      this.request = request;
+      this.networkRequest = networkRequest;
+      this.cached = cached;
+      this.requestTimeMillis = requestTimeMillis;
+    }
+  }
+
+  private final ResponseCache store;
+  private final LongSupplier clock;
+  private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+
+  HttpCache(ResponseCache store, LongSupplier clock) {
+    this.store = checkNotNull(store, "store");
+    this.clock = checkNotNull(clock, "clock");
+  }
+
+  Lookup lookup(Request request) {
+    long now = clock.getAsLong();
+    HttpMethod method = request.httpMethod();
+    if (method == HttpMethod.POST || method == HttpMethod.PUT || method == HttpMethod.PATCH
+        || method == HttpMethod.DELETE) {
+      return new Lookup(Action.INVALIDATE, request, request, null, now);
+    }
+    Map<String, Collection<String>> headers = request.headers();
+    if (method != HttpMethod.GET
+        || header(headers, "If-None-Match") != null
+        || header(headers, "If-Modified-Since") != null) {
+      // the caller is managing validation itself
+      return new Lookup(Action.PASS, request, request, null, now);
+    }
+    CacheControl requestCacheControl = CacheControl.parse(header(headers, "Cache-Control"));
+    if (requestCacheControl.noStore) {
+      return new Lookup(Action.PASS, request, request, null, now);
+    }
+
+    CachedResponse cached = store.get(request.url());
+    if (cached == null || !cached.matchesVary(request)) {
+      return new Lookup(Action.MISS, request, request, null, now);
+    }
+
+    CacheControl responseCacheControl = cached.cacheControl();
+    boolean forceValidation = requestCacheControl.noCache || responseCacheControl.noCache
+        || joined(header(headers, "Pragma")).toLowerCase(Locale.ROOT).contains("no-cache");
+    long age = cached.ageMillis(now);
+    long lifetime = cached.freshnessLifetimeMillis();
+    if (requestCacheControl.maxAge >= 0) {
+      lifetime = Math.min(lifetime, requestCacheControl.maxAge * 1000L);
+    }
+
+    if (!forceValidation && age < lifetime) {
+      return new Lookup(Action.FRESH, request, request, cached, now);
+    }
+    if (!cached.hasValidators()) {
+      return new Lookup(Action.MISS, request, request, cached, now);
+    }
+    Request conditional = conditionalRequest(request, cached);
+    if (!forceValidation && !responseCacheControl.mustRevalidate
+        && responseCacheControl.staleWhileRevalidate > 0
+        && age < lifetime + responseCacheControl.staleWhileRevalidate * 1000L) {
+      return new Lookup(Action.STALE, request, conditional, cached, now);
+    }
+    return new Lookup(Action.VALIDATE, request, conditional, cached, now);
+  }
+
+  /**
+   * Serves a {@link Action#FRESH} or {@link Action#STALE} lookup from the cache.
+   */
+  Response hit(Lookup lookup) {
+    return lookup.cached.toResponse(lookup.request, clock.getAsLong());
+  }
+
+  /**
+   * Applies a network response to the cache, returning what the caller should see. This may be the
+   * cached entry, when the server replied {@code 304 Not Modified}.
+   */
+  Response onResponse(Lookup lookup, Response response) throws IOException {
+    String key = lookup.request.url();
+    switch (lookup.action) {
+      case PASS:
+        return response;
+      case INVALIDATE:
+        if (response.status() < 400) {
+          store.remove(key);
+        }
+        return response;
+      default:
+        break;
+    }
+
+    long now = clock.getAsLong();
+    if (lookup.cached != null && response.status() == 304) {
+      CachedResponse revalidated =
+          lookup.cached.revalidated(response.headers(), lookup.requestTimeMillis, now);
+      store.put(key, revalidated);
+      ensureClosed(response.body());
+      return revalidated.toResponse(lookup.request, now);
+    }
+
+    if (!isStorable(lookup.request, response)) {
+      if (lookup.cached != null && response.status() < 500) {
+        store.remove(key);
+      }
+      return response;
+    }
+
+    byte[] body = null;
+    if (response.body() != null) {
+      Integer length = response.body().length();
+      long maxEntrySize = store.maxEntrySize();
+      if (length != null && length > maxEntrySize) {
+        return response;
+      }
+      ByteArrayOutputStream buffer =
+          new ByteArrayOutputStream(length != null ? length : 4096);
+      InputStream in = null;
+      boolean fits;
+      try {
+        in = response.body().asInputStream();
+        fits = readAtMost(in, buffer, maxEntrySize);
+      } catch (IOException | RuntimeException e) {
+        // the caller never sees this response, so nothing else would release the connection
+        ensureClosed(in);
+        ensureClosed(response);
+        throw e;
+      }
+      if (!fits) {
+        // too large to cache: hand back what was read followed by the rest of the stream
+        InputStream replay = new SequenceInputStream(
+            new ByteArrayInputStream(buffer.toByteArray()), in);
+        return response.toBuilder().body(replay, length).build();
+      }
+      ensureClosed(in);
+      body = buffer.toByteArray();
+    }
+
+    CachedResponse cached = new CachedResponse(key, response.status(), response.reason(),
+        new LinkedHashMap<>(response.headers()), varyHeaders(lookup.request, response), body,
+        lookup.requestTimeMillis, now);
+    store.put(key, cached);
+    return response.toBuilder().body(body).build();
+  }
+
+  /**
+   * @return true if this call should start a background revalidation of {@code lookup}'s url, in
+   *         which case {@link #endRevalidation(Lookup)} must be called once it finishes.
+   */
+  boolean beginRevalidation(Lookup lookup) {
+    return revalidating.add(lookup.request.url());
+  }
+
+  void endRevalidation(Lookup lookup) {
+    revalidating.remove(lookup.request.url());
+  }
+
+  private boolean isStorable(Request request, Response response) {
+    if (!CACHEABLE_STATUS.contains(response.status())) {
+      return false;
+    }
+    Map<String, Collection<String>> headers = response.headers();
+    if (CacheControl.parse(header(request.headers(), "Cache-Control")).noStore) {
+      return false;
+    }
+    CacheControl cacheControl = CacheControl.parse(header(headers, "Cache-Control"));
+    if (cacheControl.noStore || joined(header(headers, "Vary")).contains("*")) {
+      return false;
+    }
+    // without explicit freshness or validators, the entry could never be reused
+    return cacheControl.maxAge >= 0
+        || header(headers, "Expires") != null
+        || header(headers, "ETag") != null
+        || header(headers, "Last-Modified") != null;
+  }
+
+  private static Map<String, String> varyHeaders(Request request, Response response) {
+    Collection<String> vary = header(response.headers(), "Vary");
+    if (vary == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, String> result = new LinkedHashMap<>();
+    for (String value : vary) {
+      for (String name : value.split(",")) {
+        name = name.trim();
+        if (!name.isEmpty()) {
+          result.put(name, joined(header(request.headers(), name)));
+        }
+      }
+    }
+    return result;
+  }
+
+  private static Request conditionalRequest(Request request, CachedResponse cached) {
+    Map<String, Collection<String>> headers = new LinkedHashMap<>(request.headers());
+    String etag = cached.firstHeader("ETag");
+    if (etag != null) {
+      headers.put("If-None-Match", Collections.singletonList(etag));
+    }
+    String lastModified = cached.firstHeader("Last-Modified");
+    if (lastModified != null) {
+      headers.put("If-Modified-Since", Collections.singletonList(lastModified));
+    }
+    return Request.create(request.httpMethod(), request.url(), headers, request.body(),
+        request.charset(), request.requestTemplate());
+  }
+
+  /**
+   * Copies {@code in} to {@code out} unless it is longer than {@code limit}.
+   *
+   * @return false if the limit was exceeded, leaving {@code in} unclosed and partially read.
+   */
+  private static boolean readAtMost(InputStream in, ByteArrayOutputStream out, long limit)
+      throws IOException {
+    byte[] buf = new byte[4096];
+    long total = 0;
+    int read;
+    while ((read = in.read(buf)) != -1) {
+      out.write(buf, 0, read);
+      total += read;
+      if (total > limit) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
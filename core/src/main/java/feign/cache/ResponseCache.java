@@ -0,0 +1,304 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import static feign.Util.UTF_8;
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+
+/**
+ * Storage for {@link CachedResponse cached responses}, keyed by request url. Implementations are
+ * expected to be thread-safe and to bound their own size.
+ *
+ * @see CachingClient
+ */
+public interface ResponseCache {
+
+  /**
+   * @return the entry stored under {@code key}, or null if absent.
+   */
+  CachedResponse get(String key);
+
+  /**
+   * Stores {@code response}, replacing any previous entry for {@code key}. Implementations may
+   * decline to store it, for example when it exceeds {@link #maxEntrySize()}.
+   */
+  void put(String key, CachedResponse response);
+
+  void remove(String key);
+
+  /**
+   * Responses whose bodies are larger than this are never buffered for caching and are streamed to
+   * the caller instead.
+   */
+  default long maxEntrySize() {
+    return Integer.MAX_VALUE;
+  }
+
+  /**
+   * Heap-backed cache which evicts least-recently used entries once the total
+   * {@link CachedResponse#size() size} exceeds a bound.
+   */
+  class InMemory implements ResponseCache {
+
+    private final long maxSize;
+    private final LinkedHashMap<String, CachedResponse> entries =
+        new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * @param maxSize upper bound, in bytes, of all retained entries.
+     */
+    public InMemory(long maxSize) {
+      checkArgument(maxSize > 0, "maxSize must be positive, was %s", maxSize);
+      this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CachedResponse get(String key) {
+      return entries.get(key);
+    }
+
+    @Override
+    public synchronized void put(String key, CachedResponse response) {
+      long entrySize = response.size();
+      if (entrySize > maxSize) {
+        remove(key);
+        return;
+      }
+      CachedResponse previous = entries.put(key, response);
+      if (previous != null) {
+        size -= previous.size();
+      }
+      size += entrySize;
+      Iterator<CachedResponse> eldest = entries.values().iterator();
+      while (size > maxSize && eldest.hasNext()) {
+        size -= eldest.next().size();
+        eldest.remove();
+      }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+      CachedResponse previous = entries.remove(key);
+      if (previous != null) {
+        size -= previous.size();
+      }
+    }
+
+    @Override
+    public long maxEntrySize() {
+      return maxSize;
+    }
+
+    /**
+     * Current total size, in bytes, of all retained entries.
+     */
+    public synchronized long size() {
+      return size;
+    }
+  }
+
+  /**
+   * Stores one file per entry under a directory, evicting least-recently used files once the total
+   * size on disk exceeds a bound. Entries already in the directory are picked up on construction,
+   * so the cache survives restarts.
+   */
+  class FileSystem implements ResponseCache {
+
+    private static final String SUFFIX = ".entry";
+
+    private final Path directory;
+    private final long maxSize;
+    // file name -> what was last written there, in access order
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    /**
+     * @param directory where entries are stored. Created if missing.
+     * @param maxSize upper bound, in bytes, of all entry files.
+     */
+    public FileSystem(Path directory, long maxSize) {
+      checkArgument(maxSize > 0, "maxSize must be positive, was %s", maxSize);
+      this.directory = checkNotNull(directory, "directory");
+      this.maxSize = maxSize;
+      try {
+        Files.createDirectories(directory);
+        List<Path> existing = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+          files.forEach(existing::add);
+        }
+        existing.sort((a, b) -> lastModified(a).compareTo(lastModified(b)));
+        for (Path file : existing) {
+          long fileSize = Files.size(file);
+          index.put(file.getFileName().toString(), new Entry(fileSize));
+          size += fileSize;
+        }
+        evict();
+      } catch (IOException e) {
+        throw new UncheckedIOException("Unable to open cache directory " + directory, e);
+      }
+    }
+
+    @Override
+    public CachedResponse get(String key) {
+      String fileName = fileName(key);
+      Entry entry;
+      synchronized (this) {
+        entry = index.get(fileName);
+        if (entry == null) {
+          return null;
+        }
+      }
+      try (InputStream in = Files.newInputStream(directory.resolve(fileName))) {
+        CachedResponse response = CachedResponse.readFrom(in);
+        // guard against digest collisions
+        return key.equals(response.url()) ? response : null;
+      } catch (IOException e) {
+        discard(fileName, entry);
+        return null;
+      }
+    }
+
+    @Override
+    public void put(String key, CachedResponse response) {
+      if (response.size() > maxSize) {
+        remove(key);
+        return;
+      }
+      String fileName = fileName(key);
+      Path target = directory.resolve(fileName);
+      Path temp = null;
+      try {
+        temp = Files.createTempFile(directory, "feign", ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+          response.writeTo(out);
+        }
+        long fileSize = Files.size(temp);
+        synchronized (this) {
+          move(temp, target);
+          Entry previous = index.put(fileName, new Entry(fileSize));
+          size += fileSize - (previous != null ? previous.size : 0L);
+          evict();
+        }
+      } catch (IOException e) {
+        // caching is best effort
+        deleteQuietly(temp);
+      }
+    }
+
+    @Override
+    public synchronized void remove(String key) {
+      String fileName = fileName(key);
+      Entry previous = index.remove(fileName);
+      if (previous != null) {
+        size -= previous.size;
+      }
+      deleteQuietly(directory.resolve(fileName));
+    }
+
+    /**
+     * Drops an unreadable entry, unless a concurrent {@link #put} has already replaced it.
+     */
+    private synchronized void discard(String fileName, Entry unreadable) {
+      if (index.get(fileName) == unreadable) {
+        index.remove(fileName);
+        size -= unreadable.size;
+        deleteQuietly(directory.resolve(fileName));
+      }
+    }
+
+    @Override
+    public long maxEntrySize() {
+      return maxSize;
+    }
+
+    private void evict() {
+      Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+      while (size > maxSize && eldest.hasNext()) {
+        Map.Entry<String, Entry> entry = eldest.next();
+        size -= entry.getValue().size;
+        eldest.remove();
+        deleteQuietly(directory.resolve(entry.getKey()));
+      }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+      try {
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    private static Long lastModified(Path file) {
+      try {
+        return Files.getLastModifiedTime(file).toMillis();
+      } catch (IOException e) {
+        return 0L;
+      }
+    }
+
+    private static void deleteQuietly(Path file) {
+      if (file == null) {
+        return;
+      }
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ignored) { // NOPMD
+      }
+    }
+
+    /** One write of an entry file; a later put of the same key is a different instance. */
+    private static final class Entry {
+
+      final long size;
+
+      Entry(long size) {
+        this.size = size;
+      }
+    }
+
+    static String fileName(String key) {
+      try {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(UTF_8));
+        StringBuilder result = new StringBuilder(digest.length * 2 + SUFFIX.length());
+        for (byte b : digest) {
+          result.append(Character.forDigit((b >> 4) & 0xf, 16))
+              .append(Character.forDigit(b & 0xf, 16));
+        }
+        return result.append(SUFFIX).toString();
+      } catch (NoSuchAlgorithmException e) {
+        throw new IllegalStateException(e); // SHA-256 is required of every JRE
+      }
+    }
+  }
+}
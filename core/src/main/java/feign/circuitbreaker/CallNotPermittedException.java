@@ -0,0 +1,38 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import feign.FeignException;
+import feign.Request;
+
+/**
+ * Thrown instead of executing a request while its {@link CircuitBreaker} is open. Unlike
+ * {@link feign.RetryableException}, this is not retried: failing fast is the point.
+ */
+public class CallNotPermittedException extends FeignException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final transient CircuitBreaker circuitBreaker;
+
+  public CallNotPermittedException(CircuitBreaker circuitBreaker, Request request) {
+    super(-1, String.format("%s does not permit %s %s", circuitBreaker,
+        request.httpMethod(), request.url()), request, (Throwable) null);
+    this.circuitBreaker = circuitBreaker;
+  }
+
+  public CircuitBreaker circuitBreaker() {
+    return circuitBreaker;
+  }
+}
@@ -0,0 +1,216 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import static feign.Util.checkNotNull;
+
+/**
+ * A lock-free circuit breaker over a count-based sliding window. Outcomes are kept in a ring buffer
+ * of the most recent calls, with running totals so that evaluating the failure and slow call rates
+ * is constant time. State changes are compare-and-set transitions, so callers never block.
+ *
+ * <ul>
+ * <li>{@link State#CLOSED}: calls pass; the circuit opens once the window holds enough calls and
+ * either rate reaches its threshold.</li>
+ * <li>{@link State#OPEN}: calls are rejected until the wait duration elapses.</li>
+ * <li>{@link State#HALF_OPEN}: a fixed number of probe calls pass; the circuit closes if they are
+ * healthy, or opens again otherwise.</li>
+ * </ul>
+ */
+public final class CircuitBreaker {
+
+  public enum State {
+    CLOSED, OPEN, HALF_OPEN
+  }
+
+  private final String name;
+  private final CircuitBreakerConfig config;
+  private final LongSupplier nanoClock;
+  private final AtomicReference<Phase> phase;
+
+  public CircuitBreaker(String name, CircuitBreakerConfig config) {
+    this(name, config, System::nanoTime);
+  }
+
+  CircuitBreaker(String name, CircuitBreakerConfig config, LongSupplier nanoClock) {
+    this.name = checkNotNull(name, "name");
+    this.config = checkNotNull(config, "config");
+    this.nanoClock = nanoClock;
+    this.phase = new AtomicReference<>(closed());
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public State state() {
+    return phase.get().state;
+  }
+
+  /**
+   * Failure rate of the current window in percent, or -1 until enough calls were recorded.
+   */
+  public float failureRate() {
+    Phase current = phase.get();
+    int calls = current.window.calls.get();
+    return calls < minimumCalls(current) ? -1 : current.window.failures.get() * 100f / calls;
+  }
+
+  /**
+   * @return true if a call may proceed, in which case its outcome must be reported through
+   *         {@link #onSuccess(long)} or {@link #onError(long)}.
+   */
+  public boolean tryAcquirePermission() {
+    while (true) {
+      Phase current = phase.get();
+      switch (current.state) {
+        case CLOSED:
+          return true;
+        case OPEN:
+          if (nanoClock.getAsLong() - current.openedAtNanos < config.waitDurationInOpenStateNanos) {
+            return false;
+          }
+          phase.compareAndSet(current, halfOpen());
+          break; // re-read: another caller may have won the transition
+        default:
+          return current.permits.getAndDecrement() > 0;
+      }
+    }
+  }
+
+  /**
+   * Records a call that completed normally after {@code durationNanos}.
+   */
+  public void onSuccess(long durationNanos) {
+    record(durationNanos, false);
+  }
+
+  /**
+   * Records a call that failed after {@code durationNanos}.
+   */
+  public void onError(long durationNanos) {
+    record(durationNanos, true);
+  }
+
+  private void record(long durationNanos, boolean failure) {
+    Phase current = phase.get();
+    if (current.state == State.OPEN) {
+      return; // a straggler from before the circuit opened
+    }
+    boolean slow = durationNanos >= config.slowCallDurationNanos;
+    current.window.record(failure, slow);
+
+    int calls = current.window.calls.get();
+    if (calls < minimumCalls(current)) {
+      return;
+    }
+    boolean unhealthy =
+        current.window.failures.get() * 100f / calls >= config.failureRateThreshold
+            || current.window.slowCalls.get() * 100f / calls >= config.slowCallRateThreshold;
+    if (unhealthy) {
+      phase.compareAndSet(current, open());
+    } else if (current.state == State.HALF_OPEN) {
+      phase.compareAndSet(current, closed());
+    }
+  }
+
+  private int minimumCalls(Phase current) {
+    return current.state == State.HALF_OPEN
+        ? config.permittedCallsInHalfOpenState
+        : config.minimumNumberOfCalls;
+  }
+
+  private Phase closed() {
+    return new Phase(State.CLOSED, new Window(config.slidingWindowSize), 0, 0);
+  }
+
+  private Phase open() {
+    return new Phase(State.OPEN, new Window(1), nanoClock.getAsLong(), 0);
+  }
+
+  private Phase halfOpen() {
+    return new Phase(State.HALF_OPEN, new Window(config.permittedCallsInHalfOpenState), 0,
+        config.permittedCallsInHalfOpenState);
+  }
+
+  @Override
+  public String toString() {
+    return "CircuitBreaker(" + name + ", " + state() + ")";
+  }
+
+  /**
+   * Immutable state plus the window recording outcomes while in it. Transitions replace the whole
+   * phase, so a fresh window never needs resetting under contention.
+   */
+  private static final class Phase {
+
+    final State state;
+    final Window window;
+    final long openedAtNanos;
+    final AtomicInteger permits;
+
+    Phase(State state, Window window, long openedAtNanos, int permits) {
+      this.state = state;
+      this.window = window;
+      this.openedAtNanos = openedAtNanos;
+      this.permits = new AtomicInteger(permits);
+    }
+  }
+
+  /**
+   * Ring buffer of the last {@code size} outcomes with running totals.
+   */
+  static final class Window {
+
+    private static final int EMPTY = 0;
+    private static final int RECORDED = 1;
+    private static final int FAILED = 2;
+    private static final int SLOW = 4;
+
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong cursor = new AtomicLong();
+    final AtomicInteger calls = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+    final AtomicInteger slowCalls = new AtomicInteger();
+
+    Window(int size) {
+      this.outcomes = new AtomicIntegerArray(size);
+    }
+
+    void record(boolean failure, boolean slow) {
+      int outcome = RECORDED | (failure ? FAILED : 0) | (slow ? SLOW : 0);
+      int index = (int) (cursor.getAndIncrement() % outcomes.length());
+      int evicted = outcomes.getAndSet(index, outcome);
+      adjust(outcome, 1);
+      if (evicted != EMPTY) {
+        adjust(evicted, -1);
+      }
+    }
+
+    private void adjust(int outcome, int delta) {
+      calls.addAndGet(delta);
+      if ((outcome & FAILED) != 0) {
+        failures.addAndGet(delta);
+      }
+      if ((outcome & SLOW) != 0) {
+        slowCalls.addAndGet(delta);
+      }
+    }
+  }
+}
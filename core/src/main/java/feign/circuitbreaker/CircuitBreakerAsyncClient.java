@@ -0,0 +1,71 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import feign.AsyncClient;
+import feign.Experimental;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import static feign.Util.checkNotNull;
+
+/**
+ * {@link AsyncClient} counterpart of {@link CircuitBreakerClient}. Rejected calls return an already
+ * failed future, and outcomes are recorded on whichever thread completes the delegate's future.
+ */
+@Experimental
+public final class CircuitBreakerAsyncClient<C> implements AsyncClient<C> {
+
+  private final AsyncClient<C> delegate;
+  private final CircuitBreakerRegistry registry;
+
+  public CircuitBreakerAsyncClient(AsyncClient<C> delegate, CircuitBreakerConfig config) {
+    this(delegate, new CircuitBreakerRegistry(checkNotNull(config, "config")));
+  }
+
+  CircuitBreakerAsyncClient(AsyncClient<C> delegate, CircuitBreakerRegistry registry) {
+    this.delegate = checkNotNull(delegate, "delegate");
+    this.registry = registry;
+  }
+
+  @Override
+  public CompletableFuture<Response> execute(Request request,
+                                             Options options,
+                                             Optional<C> requestContext) {
+    CircuitBreaker circuitBreaker = registry.circuitBreaker(request);
+    if (!circuitBreaker.tryAcquirePermission()) {
+      CompletableFuture<Response> rejected = new CompletableFuture<>();
+      rejected.completeExceptionally(new CallNotPermittedException(circuitBreaker, request));
+      return rejected;
+    }
+    long start = System.nanoTime();
+    CompletableFuture<Response> result;
+    try {
+      result = delegate.execute(request, options, requestContext);
+    } catch (RuntimeException | Error e) {
+      circuitBreaker.onError(System.nanoTime() - start);
+      throw e;
+    }
+    return result.whenComplete((response, throwable) -> {
+      boolean success = false;
+      try {
+        success = throwable == null && !registry.config.failureStatus.test(response.status());
+      } finally {
+        CircuitBreakerClient.record(circuitBreaker, success, System.nanoTime() - start);
+      }
+    });
+  }
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.util.Collection;
+import feign.AsyncClient;
+import feign.Capability;
+import feign.Client;
+import static feign.Util.checkNotNull;
+
+/**
+ * Adds circuit breaking to the {@link Client}, without Hystrix or extra threads.
+ *
+ * <pre>
+ * GitHub github = Feign.builder()
+ *     .addCapability(new CircuitBreakerCapability(CircuitBreakerConfig.builder()
+ *         .scope(Scope.METHOD)
+ *         .failureRateThreshold(25)
+ *         .build()))
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ *
+ * Open circuits make calls fail with {@link CallNotPermittedException}.
+ */
+public class CircuitBreakerCapability implements Capability {
+
+  private final CircuitBreakerRegistry registry;
+
+  public CircuitBreakerCapability() {
+    this(CircuitBreakerConfig.ofDefaults());
+  }
+
+  public CircuitBreakerCapability(CircuitBreakerConfig config) {
+    this.registry = new CircuitBreakerRegistry(checkNotNull(config, "config"));
+  }
+
+  @Override
+  public Client enrich(Client client) {
+    return new CircuitBreakerClient(client, registry);
+  }
+
+  /**
+   * Guards an {@link AsyncClient} with the same circuit breakers as clients enriched by this
+   * capability.
+   */
+  public <C> AsyncClient<C> wrap(AsyncClient<C> client) {
+    return new CircuitBreakerAsyncClient<>(client, registry);
+  }
+
+  /**
+   * Circuit breakers created so far, for monitoring.
+   */
+  public Collection<CircuitBreaker> circuitBreakers() {
+    return registry.circuitBreakers();
+  }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.io.IOException;
+import feign.Client;
+import feign.Request;
+import feign.Request.Options;
+import feign.Response;
+import static feign.Util.checkNotNull;
+
+/**
+ * Guards a {@link Client} with {@link CircuitBreaker circuit breakers}. Calls are executed on the
+ * caller's thread; when the circuit is open they fail immediately with
+ * {@link CallNotPermittedException}.
+ */
+public final class CircuitBreakerClient implements Client {
+
+  private final Client delegate;
+  private final CircuitBreakerRegistry registry;
+
+  public CircuitBreakerClient(Client delegate, CircuitBreakerConfig config) {
+    this(delegate, new CircuitBreakerRegistry(checkNotNull(config, "config")));
+  }
+
+  CircuitBreakerClient(Client delegate, CircuitBreakerRegistry registry) {
+    this.delegate = checkNotNull(delegate, "delegate");
+    this.registry = registry;
+  }
+
+  @Override
+  public Response execute(Request request, Options options) throws IOException {
+    CircuitBreaker circuitBreaker = registry.circuitBreaker(request);
+    if (!circuitBreaker.tryAcquirePermission()) {
+      throw new CallNotPermittedException(circuitBreaker, request);
+    }
+    long start = System.nanoTime();
+    boolean success = false;
+    try {
+      Response response = delegate.execute(request, options);
+      success = !registry.config.failureStatus.test(response.status());
+      return response;
+    } finally {
+      // every permitted call is recorded, even one ending in an Error, so a half-open probe
+      // always gives its slot back
+      record(circuitBreaker, success, System.nanoTime() - start);
+    }
+  }
+
+  static void record(CircuitBreaker circuitBreaker, boolean success, long durationNanos) {
+    if (success) {
+      circuitBreaker.onSuccess(durationNanos);
+    } else {
+      circuitBreaker.onError(durationNanos);
+    }
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntPredicate;
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+
+/**
+ * Immutable settings shared by every {@link CircuitBreaker} a {@link CircuitBreakerCapability}
+ * creates. Defaults mirror common practice: a 100 call window, opening at 50% failures once 20
+ * calls were seen, and probing again with 5 calls after 30 seconds.
+ */
+public final class CircuitBreakerConfig {
+
+  /**
+   * Which calls share a circuit breaker.
+   */
+  public enum Scope {
+    /** One breaker per {@link feign.Target#name() target}. */
+    TARGET,
+    /** One breaker per target and {@link feign.MethodMetadata#configKey() method}. */
+    METHOD
+  }
+
+  final Scope scope;
+  final int slidingWindowSize;
+  final int minimumNumberOfCalls;
+  final float failureRateThreshold;
+  final float slowCallRateThreshold;
+  final long slowCallDurationNanos;
+  final long waitDurationInOpenStateNanos;
+  final int permittedCallsInHalfOpenState;
+  final IntPredicate failureStatus;
+
+  private CircuitBreakerConfig(Builder builder) {
+    this.scope = builder.scope;
+    this.slidingWindowSize = builder.slidingWindowSize;
+    this.minimumNumberOfCalls = Math.min(builder.minimumNumberOfCalls, builder.slidingWindowSize);
+    this.failureRateThreshold = builder.failureRateThreshold;
+    this.slowCallRateThreshold = builder.slowCallRateThreshold;
+    this.slowCallDurationNanos = builder.slowCallDurationNanos;
+    this.waitDurationInOpenStateNanos = builder.waitDurationInOpenStateNanos;
+    this.permittedCallsInHalfOpenState = builder.permittedCallsInHalfOpenState;
+    this.failureStatus = builder.failureStatus;
+  }
+
+  public static CircuitBreakerConfig ofDefaults() {
+    return builder().build();
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public static final class Builder {
+
+    private Scope scope = Scope.TARGET;
+    private int slidingWindowSize = 100;
+    private int minimumNumberOfCalls = 20;
+    private float failureRateThreshold = 50;
+    private float slowCallRateThreshold = 100;
+    private long slowCallDurationNanos = TimeUnit.SECONDS.toNanos(60);
+    private long waitDurationInOpenStateNanos = TimeUnit.SECONDS.toNanos(30);
+    private int permittedCallsInHalfOpenState = 5;
+    private IntPredicate failureStatus = status -> status >= 500;
+
+    Builder() {}
+
+    public Builder scope(Scope scope) {
+      this.scope = checkNotNull(scope, "scope");
+      return this;
+    }
+
+    /**
+     * Number of most recent calls whose outcome decides whether the circuit opens.
+     */
+    public Builder slidingWindowSize(int slidingWindowSize) {
+      checkArgument(slidingWindowSize > 0, "slidingWindowSize must be positive");
+      this.slidingWindowSize = slidingWindowSize;
+      return this;
+    }
+
+    /**
+     * Calls required in the window before failure and slow call rates are evaluated.
+     */
+    public Builder minimumNumberOfCalls(int minimumNumberOfCalls) {
+      checkArgument(minimumNumberOfCalls > 0, "minimumNumberOfCalls must be positive");
+      this.minimumNumberOfCalls = minimumNumberOfCalls;
+      return this;
+    }
+
+    /**
+     * Percentage of failed calls at or above which the circuit opens.
+     */
+    public Builder failureRateThreshold(float failureRateThreshold) {
+      checkArgument(failureRateThreshold > 0 && failureRateThreshold <= 100,
+          "failureRateThreshold must be in (0, 100]");
+      this.failureRateThreshold = failureRateThreshold;
+      return this;
+    }
+
+    /**
+     * Percentage of calls slower than {@link #slowCallDuration(long, TimeUnit)} at or above which
+     * the circuit opens. The default of 100 only opens when every call is slow.
+     */
+    public Builder slowCallRateThreshold(float slowCallRateThreshold) {
+      checkArgument(slowCallRateThreshold > 0 && slowCallRateThreshold <= 100,
+          "slowCallRateThreshold must be in (0, 100]");
+      this.slowCallRateThreshold = slowCallRateThreshold;
+      return this;
+    }
+
+    public Builder slowCallDuration(long duration, TimeUnit unit) {
+      this.slowCallDurationNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /**
+     * How long an open circuit fails fast before letting probe calls through.
+     */
+    public Builder waitDurationInOpenState(long duration, TimeUnit unit) {
+      this.waitDurationInOpenStateNanos = unit.toNanos(duration);
+      return this;
+    }
+
+    /**
+     * Number of probe calls let through while half-open; their outcome closes or re-opens the
+     * circuit.
+     */
+    public Builder permittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+      checkArgument(permittedCallsInHalfOpenState > 0,
+          "permittedCallsInHalfOpenState must be positive");
+      this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+      return this;
+    }
+
+    /**
+     * Which response status codes count as failures. Defaults to 5xx. {@link java.io.IOException
+     * IOExceptions} always count as failures.
+     */
+    public Builder failureStatus(IntPredicate failureStatus) {
+      this.failureStatus = checkNotNull(failureStatus, "failureStatus");
+      return this;
+    }
+
+    public CircuitBreakerConfig build() {
+      return new CircuitBreakerConfig(this);
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import feign.MethodMetadata;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.circuitbreaker.CircuitBreakerConfig.Scope;
+
+/**
+ * Resolves the {@link CircuitBreaker} guarding a request, creating it on first use.
+ */
+final class CircuitBreakerRegistry {
+
+  final CircuitBreakerConfig config;
+  private final ConcurrentMap<String, CircuitBreaker> byName = new ConcurrentHashMap<>();
+  // MethodMetadata uses identity equality, so this avoids building a name on each call
+  private final ConcurrentMap<MethodMetadata, CircuitBreaker> byMethod =
+      new ConcurrentHashMap<>();
+
+  CircuitBreakerRegistry(CircuitBreakerConfig config) {
+    this.config = config;
+  }
+
+  CircuitBreaker circuitBreaker(Request request) {
+    RequestTemplate template = request.requestTemplate();
+    if (template == null || template.feignTarget() == null) {
+      return named(authority(request.url()));
+    }
+    String targetName = template.feignTarget().name();
+    MethodMetadata metadata = template.methodMetadata();
+    if (config.scope == Scope.TARGET || metadata == null) {
+      return named(targetName);
+    }
+    CircuitBreaker result = byMethod.get(metadata);
+    if (result == null) {
+      result = byMethod.computeIfAbsent(metadata,
+          m -> named(targetName + " " + m.configKey()));
+    }
+    return result;
+  }
+
+  Collection<CircuitBreaker> circuitBreakers() {
+    return Collections.unmodifiableCollection(byName.values());
+  }
+
+  private CircuitBreaker named(String name) {
+    CircuitBreaker result = byName.get(name);
+    if (result == null) {
+      result = byName.computeIfAbsent(name, n -> new CircuitBreaker(n, config));
+    }
+    return result;
+  }
+
+  /**
+   * Scheme, host and port of {@code url}, for requests not created from a Feign target.
+   */
+  private static String authority(String url) {
+    int start = url.indexOf("://");
+    start = start < 0 ? 0 : start + 3;
+    for (int i = start; i < url.length(); i++) {
+      char c = url.charAt(i);
+      if (c == '/' || c == '?' || c == '#') {
+        return url.substring(0, i);
+      }
+    }
+    return url;
+  }
+}
@@ -15,18 +15,19 @@ package feign.codec;
 
 import static feign.FeignException.errorStatus;
 import static feign.Util.RETRY_AFTER;
+import static feign.Util.checkArgument;
 import static feign.Util.checkNotNull;
-import static java.util.Locale.US;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import feign.FeignException;
 import feign.Response;
 import feign.RetryableException;
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Allows you to massage an exception into a application-specific one. Converting out to a throttle
@@ -83,13 +84,45 @@ public interface ErrorDecoder {
    */
   public Exception decode(String methodKey, Response response);
 
+  /**
+   * Raises a {@link FeignException} subtype for the status, holding the response body. When the
+   * response has a {@link feign.Util#RETRY_AFTER} header, that is wrapped in a
+   * {@link RetryableException}.
+   *
+   * <p/>
+   * Where errors are routine, such as 404 lookups, use {@link #builder()} to skip stack traces and
+   * bound how much of each error body is kept:
+   *
+   * <pre>
+   * Feign.builder()
+   *     .errorDecoder(ErrorDecoder.Default.builder()
+   *         .stackTraces(false)
+   *         .maxBodyBytes(1024)
+   *         .build())
+   * </pre>
+   */
   public static class Default implements ErrorDecoder {
 
     private final RetryAfterDecoder retryAfterDecoder = new RetryAfterDecoder();
+    private final int maxBodyBytes;
+    private final boolean stackTraces;
+
+    public Default() {
+      this(builder());
+    }
+
+    private Default(Builder builder) {
+      this.maxBodyBytes = builder.maxBodyBytes;
+      this.stackTraces = builder.stackTraces;
+    }
+
+    public static Builder builder() {
+      return new Builder();
+    }
 
     @Override
     public Exception decode(String methodKey, Response response) {
-      FeignException exception = errorStatus(methodKey, response);
+      FeignException exception = errorStatus(methodKey, response, maxBodyBytes, stackTraces);
       Date retryAfter = retryAfterDecoder.apply(firstOrNull(response.headers(), RETRY_AFTER));
       if (retryAfter != null) {
         return new RetryableException(
@@ -109,6 +142,37 @@ public interface ErrorDecoder {
       }
       return null;
     }
+
+    public static final class Builder {
+
+      private int maxBodyBytes = Integer.MAX_VALUE;
+      private boolean stackTraces = true;
+
+      Builder() {}
+
+      /**
+       * Upper bound of response body bytes read into each exception. The rest of the body is left
+       * unread. Defaults to unbounded.
+       */
+      public Builder maxBodyBytes(int maxBodyBytes) {
+        checkArgument(maxBodyBytes >= 0, "maxBodyBytes must not be negative");
+        this.maxBodyBytes = maxBodyBytes;
+        return this;
+      }
+
+      /**
+       * When false, exceptions are created without a stack trace, which is most of their cost. The
+       * message, status, request and body are unaffected. Defaults to true.
+       */
+      public Builder stackTraces(boolean stackTraces) {
+        this.stackTraces = stackTraces;
+        return this;
+      }
+
+      public Default build() {
+        return new Default(this);
+      }
+    }
   }
 
   /**
@@ -117,15 +181,16 @@ public interface ErrorDecoder {
    */
   static class RetryAfterDecoder {
 
-    static final DateFormat RFC822_FORMAT =
-        new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", US);
-    private final DateFormat rfc822Format;
+    /** Immutable, so unlike a {@code DateFormat} it is shared without locking. */
+    static final DateTimeFormatter RFC822_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
+    private static final Pattern DELTA_SECONDS = Pattern.compile("^[0-9]+\\.?0*$");
+    private final DateTimeFormatter rfc822Format;
 
     RetryAfterDecoder() {
       this(RFC822_FORMAT);
     }
 
-    RetryAfterDecoder(DateFormat rfc822Format) {
+    RetryAfterDecoder(DateTimeFormatter rfc822Format) {
       this.rfc822Format = checkNotNull(rfc822Format, "rfc822Format");
     }
 
@@ -143,17 +208,16 @@ public interface ErrorDecoder {
       if (retryAfter == null) {
         return null;
       }
-      if (retryAfter.matches("^[0-9]+\\.?0*$")) {
-        retryAfter = retryAfter.replaceAll("\\.0*$", "");
-        long deltaMillis = SECONDS.toMillis(Long.parseLong(retryAfter));
+      if (DELTA_SECONDS.matcher(retryAfter).matches()) {
+        int dot = retryAfter.indexOf('.');
+        String seconds = dot != -1 ? retryAfter.substring(0, dot) : retryAfter;
+        long deltaMillis = SECONDS.toMillis(Long.parseLong(seconds));
         return new Date(currentTimeMillis() + deltaMillis);
       }
-      synchronized (rfc822Format) {
-        try {
-          return rfc822Format.parse(retryAfter);
-        } catch (ParseException ignored) {
-          return null;
-        }
+      try {
+        return Date.from(ZonedDateTime.parse(retryAfter, rfc822Format).toInstant());
+      } catch (DateTimeParseException ignored) {
+        return null;
       }
     }
   }
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.collapser;
+
+import java.lang.annotation.Retention;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Collapses concurrent invocations of a single-key method into one call to a batch method on the
+ * same interface. Requires {@link CollapsingCapability}. <br>
+ * <br>
+ *
+ * <pre>
+ * interface Users {
+ *   &#64;Collapse(batchMethod = "getUsers", maxBatchSize = 50, windowMillis = 5)
+ *   &#64;RequestLine("GET /users/{id}")
+ *   User getUser(&#64;Param("id") long id);
+ *
+ *   &#64;RequestLine("GET /users?id={ids}")
+ *   List&lt;User&gt; getUsers(&#64;Param("ids") List&lt;Long&gt; ids);
+ * }
+ * </pre>
+ *
+ * The annotated method must take exactly one argument, the key. It may return the value directly,
+ * blocking until its batch completes, or a {@link java.util.concurrent.CompletableFuture} of it.
+ * <br>
+ * The batch method must take a single {@link java.util.Collection}, {@link java.util.List} or
+ * {@link java.util.Set} of distinct keys, and return either a {@link java.util.Map} from key to
+ * value, or a {@link java.util.Collection} whose elements are in the same order as the keys. Keys
+ * absent from a returned map resolve to null.
+ */
+@Retention(RUNTIME)
+@java.lang.annotation.Target(METHOD)
+public @interface Collapse {
+
+  /**
+   * Name of the batch method, which must be unique on the interface.
+   */
+  String batchMethod();
+
+  /**
+   * A batch is sent as soon as it holds this many distinct keys.
+   */
+  int maxBatchSize() default 100;
+
+  /**
+   * A batch is sent at most this long after its first key was added.
+   */
+  long windowMillis() default 10;
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.collapser;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import feign.InvocationHandlerFactory.MethodHandler;
+import static feign.Util.checkState;
+
+/**
+ * Replaces the {@link MethodHandler} of a {@link Collapse} method, queueing keys until the batch is
+ * full or its window elapses, then demultiplexing the batch result to each caller.
+ */
+final class Collapser implements MethodHandler {
+
+  private final String configKey;
+  private final MethodHandler batchHandler;
+  private final boolean keysAsSet;
+  private final boolean asyncReturn;
+  private final int maxBatchSize;
+  private final long windowMillis;
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+
+  // guarded by this
+  private Batch pending;
+
+  Collapser(String configKey, Method method, Method batchMethod, MethodHandler batchHandler,
+      Collapse collapse, ScheduledExecutorService scheduler, Executor executor) {
+    checkState(method.getParameterCount() == 1,
+        "%s must take exactly one key argument to be collapsed", configKey);
+    checkState(batchMethod.getParameterCount() == 1
+        && Collection.class.isAssignableFrom(batchMethod.getParameterTypes()[0]),
+        "%s must take a single Collection of keys", batchMethod);
+    checkState(collapse.maxBatchSize() > 0, "maxBatchSize of %s must be positive", configKey);
+    this.configKey = configKey;
+    this.batchHandler = batchHandler;
+    this.keysAsSet = Set.class.isAssignableFrom(batchMethod.getParameterTypes()[0]);
+    this.asyncReturn = CompletableFuture.class.isAssignableFrom(method.getReturnType());
+    this.maxBatchSize = collapse.maxBatchSize();
+    this.windowMillis = collapse.windowMillis();
+    this.scheduler = scheduler;
+    this.executor = executor;
+  }
+
+  @Override
+  public Object invoke(Object[] argv) throws Throwable {
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    Batch full = null;
+    synchronized (this) {
+      if (pending == null) {
+        Batch batch = new Batch();
+        batch.timer = scheduler.schedule(() -> flush(batch), windowMillis, TimeUnit.MILLISECONDS);
+        pending = batch;
+      }
+      pending.add(argv[0], result);
+      if (pending.size() >= maxBatchSize) {
+        full = pending;
+        pending = null;
+      }
+    }
+    if (full != null) {
+      full.timer.cancel(false);
+      if (asyncReturn) {
+        Batch batch = full;
+        executor.execute(() -> execute(batch));
+      } else {
+        // the caller would block anyway, so save a thread hop
+        execute(full);
+      }
+    }
+
+    if (asyncReturn) {
+      return result;
+    }
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
+  private void flush(Batch batch) {
+    synchronized (this) {
+      if (pending != batch) {
+        return; // already sent because it filled up
+      }
+      pending = null;
+    }
+    executor.execute(() -> execute(batch));
+  }
+
+  private void execute(Batch batch) {
+    Collection<Object> keys = keysAsSet
+        ? new LinkedHashSet<>(batch.callers.keySet())
+        : new ArrayList<>(batch.callers.keySet());
+    Object result;
+    try {
+      result = batchHandler.invoke(new Object[] {keys});
+    } catch (Throwable t) {
+      batch.fail(t);
+      return;
+    }
+    if (result instanceof CompletableFuture) {
+      ((CompletableFuture<?>) result).whenComplete((value, throwable) -> {
+        if (throwable != null) {
+          batch.fail(throwable);
+        } else {
+          demultiplex(batch, value);
+        }
+      });
+    } else {
+      demultiplex(batch, result);
+    }
+  }
+
+  private void demultiplex(Batch batch, Object result) {
+    if (result instanceof Map) {
+      Map<?, ?> values = (Map<?, ?>) result;
+      batch.callers.forEach((key, callers) -> batch.complete(callers, values.get(key)));
+    } else if (result instanceof Collection
+        && ((Collection<?>) result).size() == batch.callers.size()) {
+      Iterator<?> values = ((Collection<?>) result).iterator();
+      batch.callers.forEach((key, callers) -> batch.complete(callers, values.next()));
+    } else if (result instanceof Collection) {
+      batch.fail(new IllegalStateException(String.format(
+          "Batch for %s returned %s values for %s keys", configKey,
+          ((Collection<?>) result).size(), batch.callers.size())));
+    } else {
+      batch.fail(new IllegalStateException(
+          "Batch for " + configKey + " must return a Map or Collection, but returned " + result));
+    }
+  }
+
+  private static final class Batch {
+
+    // distinct key -> everyone waiting on it, in arrival order
+    final Map<Object, List<CompletableFuture<Object>>> callers = new LinkedHashMap<>();
+    ScheduledFuture<?> timer;
+
+    void add(Object key, CompletableFuture<Object> result) {
+      callers.computeIfAbsent(key, k -> new ArrayList<>(1)).add(result);
+    }
+
+    int size() {
+      return callers.size();
+    }
+
+    void complete(List<CompletableFuture<Object>> waiting, Object value) {
+      for (CompletableFuture<Object> caller : waiting) {
+        caller.complete(value);
+      }
+    }
+
+    void fail(Throwable cause) {
+      for (List<CompletableFuture<Object>> waiting : callers.values()) {
+        for (CompletableFuture<Object> caller : waiting) {
+          caller.completeExceptionally(cause);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.collapser;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import feign.Capability;
+import feign.Feign;
+import feign.InvocationHandlerFactory;
+import feign.InvocationHandlerFactory.MethodHandler;
+import feign.Target;
+import static feign.Util.checkNotNull;
+import static feign.Util.checkState;
+
+/**
+ * Enables {@link Collapse} on interfaces built with this capability.
+ *
+ * <pre>
+ * Users users = Feign.builder()
+ *     .addCapability(new CollapsingCapability())
+ *     .target(Users.class, "https://users.example.com");
+ * </pre>
+ *
+ * Batches are timed by a shared daemon scheduler, and window-triggered batches run on a shared
+ * daemon thread pool, unless executors are supplied.
+ */
+public class CollapsingCapability implements Capability {
+
+  private static class LazyInitializedExecutors {
+
+    private static final ScheduledExecutorService scheduler =
+        Executors.newSingleThreadScheduledExecutor(r -> {
+          final Thread result = new Thread(r, "feign-collapser-timer");
+          result.setDaemon(true);
+          return result;
+        });
+
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+      final Thread result = new Thread(r, "feign-collapser");
+      result.setDaemon(true);
+      return result;
+    });
+  }
+
+  private final ScheduledExecutorService scheduler;
+  private final Executor executor;
+
+  public CollapsingCapability() {
+    this(null, null);
+  }
+
+  /**
+   * @param scheduler times batch windows; only used to hand batches to {@code executor}.
+   * @param executor runs batch calls.
+   */
+  public CollapsingCapability(ScheduledExecutorService scheduler, Executor executor) {
+    this.scheduler = scheduler;
+    this.executor = executor;
+  }
+
+  @Override
+  public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+    return (target, dispatch) -> invocationHandlerFactory.create(target,
+        collapse(target, dispatch));
+  }
+
+  private Map<Method, MethodHandler> collapse(Target<?> target,
+                                              Map<Method, MethodHandler> dispatch) {
+    Map<Method, MethodHandler> result = null;
+    for (Map.Entry<Method, MethodHandler> entry : dispatch.entrySet()) {
+      Collapse collapse = entry.getKey().getAnnotation(Collapse.class);
+      if (collapse == null) {
+        continue;
+      }
+      if (result == null) {
+        result = new LinkedHashMap<>(dispatch);
+      }
+      Method method = entry.getKey();
+      Method batchMethod = batchMethod(target.type(), method, collapse.batchMethod());
+      MethodHandler batchHandler = checkNotNull(dispatch.get(batchMethod),
+          "no handler for batch method %s", batchMethod);
+      result.put(method, new Collapser(Feign.configKey(target.type(), method), method,
+          batchMethod, batchHandler, collapse, scheduler(), executor()));
+    }
+    return result != null ? result : dispatch;
+  }
+
+  private static Method batchMethod(Class<?> type, Method method, String name) {
+    Method found = null;
+    for (Method candidate : type.getMethods()) {
+      if (candidate.getName().equals(name)) {
+        checkState(found == null, "batch method %s of %s is overloaded", name, method);
+        found = candidate;
+      }
+    }
+    checkState(found != null, "batch method %s of %s not found on %s", name, method, type);
+    return found;
+  }
+
+  private ScheduledExecutorService scheduler() {
+    return scheduler != null ? scheduler : LazyInitializedExecutors.scheduler;
+  }
+
+  private Executor executor() {
+    return executor != null ? executor : LazyInitializedExecutors.executor;
+  }
+}
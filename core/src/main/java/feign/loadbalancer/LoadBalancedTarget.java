@@ -0,0 +1,340 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.loadbalancer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import feign.Request;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Target;
+import static feign.Util.checkArgument;
+import static feign.Util.checkNotNull;
+import static feign.Util.checkState;
+import static feign.Util.emptyToNull;
+
+/**
+ * A target which spreads requests over several servers, without Ribbon or background threads. <br>
+ * Ex.
+ *
+ * <pre>
+ * GitHub github = Feign.builder()
+ *     .target(LoadBalancedTarget.builder(GitHub.class, "github")
+ *         .servers("https://10.0.0.1:8443", "https://10.0.0.2:8443")
+ *         .build());
+ * </pre>
+ *
+ * <p>
+ * Each request goes to the cheaper of two randomly chosen servers ("power of two choices"), where
+ * cost is a moving average of response latency multiplied by the requests still in flight. Feign
+ * reports every outcome back through {@link Target.Feedback}, for both synchronous and async
+ * clients. Servers that fail {@link Builder#consecutiveFailures(int) repeatedly}, with a 5xx status
+ * or an exception such as a timeout, are ejected for a while.
+ *
+ * @param <T> corresponds to {@link feign.Target#type()}
+ */
+public final class LoadBalancedTarget<T> implements Target<T>, Target.Feedback {
+
+  private final Class<T> type;
+  private final String name;
+  private final Supplier<List<String>> serverList;
+  private final long refreshNanos;
+  private final long decayNanos;
+  private final int consecutiveFailures;
+  private final long baseEjectionNanos;
+  private final int maxEjectionPercent;
+  private final LongSupplier nanoClock;
+
+  private final AtomicLong nextRefreshNanos;
+  private volatile Server[] servers = new Server[0];
+
+  private LoadBalancedTarget(Builder<T> builder, LongSupplier nanoClock) {
+    this.type = builder.type;
+    this.name = builder.name;
+    this.serverList = checkNotNull(builder.serverList, "servers");
+    this.refreshNanos = builder.refreshNanos;
+    this.decayNanos = builder.decayNanos;
+    this.consecutiveFailures = builder.consecutiveFailures;
+    this.baseEjectionNanos = builder.baseEjectionNanos;
+    this.maxEjectionPercent = builder.maxEjectionPercent;
+    this.nanoClock = nanoClock;
+    this.nextRefreshNanos = new AtomicLong(nanoClock.getAsLong() + refreshNanos);
+    refresh();
+  }
+
+  public static <T> Builder<T> builder(Class<T> type, String name) {
+    return new Builder<>(type, name);
+  }
+
+  @Override
+  public Class<T> type() {
+    return type;
+  }
+
+  @Override
+  public String name() {
+    return name;
+  }
+
+  /**
+   * There is no single url: this is a placeholder naming the target.
+   */
+  @Override
+  public String url() {
+    return "lb://" + name;
+  }
+
+  /**
+   * Current servers, for monitoring.
+   */
+  public List<Server> servers() {
+    return Collections.unmodifiableList(Arrays.asList(servers));
+  }
+
+  @Override
+  public Request apply(RequestTemplate input) {
+    Server server = choose();
+    input.target(server.url());
+    Request request = input.request();
+    server.acquire();
+    return request;
+  }
+
+  @Override
+  public void onResponse(Request request, Response response, long elapsedNanos) {
+    if (response.status() >= 500) {
+      onError(request, null, elapsedNanos);
+      return;
+    }
+    Server server = serverFor(request);
+    if (server != null) {
+      server.onSuccess(elapsedNanos, nanoClock.getAsLong(), decayNanos);
+    }
+  }
+
+  @Override
+  public void onError(Request request, Throwable cause, long elapsedNanos) {
+    Server server = serverFor(request);
+    if (server == null) {
+      return;
+    }
+    long now = nanoClock.getAsLong();
+    if (server.onFailure(elapsedNanos, now, decayNanos, consecutiveFailures)
+        && mayEject(now)) {
+      server.eject(now, baseEjectionNanos, baseEjectionNanos * 10);
+    }
+  }
+
+  Server choose() {
+    long now = nanoClock.getAsLong();
+    if (refreshNanos > 0) {
+      long next = nextRefreshNanos.get();
+      if (now - next >= 0 && nextRefreshNanos.compareAndSet(next, now + refreshNanos)) {
+        refresh();
+      }
+    }
+    Server[] servers = this.servers;
+    checkState(servers.length > 0, "no servers available for %s", name);
+    if (servers.length == 1) {
+      return servers[0];
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    Server a = null;
+    Server b = null;
+    // ejected servers are skipped unless repeated draws find nothing else
+    for (int attempt = 0; attempt < 3; attempt++) {
+      int i = random.nextInt(servers.length);
+      int j = random.nextInt(servers.length - 1);
+      if (j >= i) {
+        j++;
+      }
+      a = servers[i];
+      b = servers[j];
+      boolean aEjected = a.isEjected(now);
+      boolean bEjected = b.isEjected(now);
+      if (aEjected != bEjected) {
+        return aEjected ? b : a;
+      }
+      if (!aEjected) {
+        break;
+      }
+    }
+    return a.cost(now, decayNanos) <= b.cost(now, decayNanos) ? a : b;
+  }
+
+  /**
+   * Replaces the server list, keeping the statistics of servers that remain in it. A failing or
+   * empty refresh leaves the previous list in place.
+   */
+  private void refresh() {
+    List<String> urls;
+    try {
+      urls = serverList.get();
+    } catch (RuntimeException e) {
+      if (servers.length == 0) {
+        throw e;
+      }
+      return;
+    }
+    if (urls == null || urls.isEmpty()) {
+      return;
+    }
+    Map<String, Server> existing = new HashMap<>();
+    for (Server server : servers) {
+      existing.put(server.url(), server);
+    }
+    List<Server> updated = new ArrayList<>(urls.size());
+    for (String url : urls) {
+      String normalized = normalize(url);
+      Server server = existing.remove(normalized);
+      updated.add(server != null ? server : new Server(normalized));
+    }
+    servers = updated.toArray(new Server[0]);
+  }
+
+  private Server serverFor(Request request) {
+    String url = request.url();
+    for (Server server : servers) {
+      String base = server.url();
+      if (url.startsWith(base)
+          && (url.length() == base.length() || isDelimiter(url.charAt(base.length())))) {
+        return server;
+      }
+    }
+    return null; // removed by a refresh since the request was sent
+  }
+
+  private boolean mayEject(long nowNanos) {
+    Server[] servers = this.servers;
+    int ejected = 0;
+    for (Server server : servers) {
+      if (server.isEjected(nowNanos)) {
+        ejected++;
+      }
+    }
+    return (ejected + 1) * 100 <= maxEjectionPercent * servers.length;
+  }
+
+  private static boolean isDelimiter(char c) {
+    return c == '/' || c == '?' || c == '#';
+  }
+
+  private static String normalize(String url) {
+    checkArgument(url.startsWith("http"), "server urls must be absolute, was %s", url);
+    return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+  }
+
+  @Override
+  public String toString() {
+    return "LoadBalancedTarget(type=" + type.getSimpleName() + ", name=" + name + ")";
+  }
+
+  public static final class Builder<T> {
+
+    private final Class<T> type;
+    private final String name;
+    private Supplier<List<String>> serverList;
+    private long refreshNanos;
+    private long decayNanos = TimeUnit.SECONDS.toNanos(10);
+    private int consecutiveFailures = 5;
+    private long baseEjectionNanos = TimeUnit.SECONDS.toNanos(30);
+    private int maxEjectionPercent = 50;
+
+    Builder(Class<T> type, String name) {
+      this.type = checkNotNull(type, "type");
+      this.name = checkNotNull(emptyToNull(name), "name");
+    }
+
+    /**
+     * A fixed list of base urls, such as {@code https://10.0.0.1:8443}.
+     */
+    public Builder<T> servers(String... urls) {
+      checkArgument(urls.length > 0, "at least one server is required");
+      List<String> list = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(urls)));
+      this.serverList = () -> list;
+      this.refreshNanos = 0;
+      return this;
+    }
+
+    /**
+     * Base urls looked up from {@code serverList}, for example service discovery. The list is
+     * refreshed by the first request after each {@code refreshInterval}, so no thread is needed.
+     */
+    public Builder<T> servers(Supplier<List<String>> serverList,
+                              long refreshInterval,
+                              TimeUnit unit) {
+      checkArgument(refreshInterval > 0, "refreshInterval must be positive");
+      this.serverList = checkNotNull(serverList, "serverList");
+      this.refreshNanos = unit.toNanos(refreshInterval);
+      return this;
+    }
+
+    /**
+     * How quickly latency samples lose weight. Shorter times adapt faster but are noisier. Defaults
+     * to 10 seconds.
+     */
+    public Builder<T> decayTime(long decayTime, TimeUnit unit) {
+      checkArgument(decayTime > 0, "decayTime must be positive");
+      this.decayNanos = unit.toNanos(decayTime);
+      return this;
+    }
+
+    /**
+     * Failures in a row after which a server is ejected. Defaults to 5.
+     */
+    public Builder<T> consecutiveFailures(int consecutiveFailures) {
+      checkArgument(consecutiveFailures > 0, "consecutiveFailures must be positive");
+      this.consecutiveFailures = consecutiveFailures;
+      return this;
+    }
+
+    /**
+     * How long a server is first ejected for. Servers ejected again without a success in between
+     * stay out proportionally longer, up to ten times this. Defaults to 30 seconds.
+     */
+    public Builder<T> baseEjectionTime(long ejectionTime, TimeUnit unit) {
+      checkArgument(ejectionTime > 0, "ejectionTime must be positive");
+      this.baseEjectionNanos = unit.toNanos(ejectionTime);
+      return this;
+    }
+
+    /**
+     * Upper bound on the share of servers ejected at once, so that a wide outage doesn't empty the
+     * pool. Defaults to 50.
+     */
+    public Builder<T> maxEjectionPercent(int maxEjectionPercent) {
+      checkArgument(maxEjectionPercent >= 0 && maxEjectionPercent <= 100,
+          "maxEjectionPercent must be between 0 and 100");
+      this.maxEjectionPercent = maxEjectionPercent;
+      return this;
+    }
+
+    public LoadBalancedTarget<T> build() {
+      return build(System::nanoTime);
+    }
+
+    LoadBalancedTarget<T> build(LongSupplier nanoClock) {
+      return new LoadBalancedTarget<>(this, nanoClock);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A server known to a {@link LoadBalancedTarget}, along with the statistics used to choose it.
+ * Exposed for monitoring; all state is maintained by the target.
+ */
+public final class Server {
+
+  private final String url;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+  // guarded by this for writes; volatile so that cost() can read without locking
+  private volatile double latencyNanos;
+  private volatile long lastSampleNanos;
+
+  private volatile long ejectedUntilNanos;
+  private int ejections; // guarded by this
+
+  Server(String url) {
+    this.url = url;
+  }
+
+  /**
+   * Base url requests are sent to, such as {@code https://10.0.0.1:8443/api}.
+   */
+  public String url() {
+    return url;
+  }
+
+  /**
+   * Requests sent to this server that have not completed yet.
+   */
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * Peak-sensitive moving average of response latency, or zero before the first response.
+   */
+  public long latencyNanos() {
+    return (long) latencyNanos;
+  }
+
+  boolean isEjected(long nowNanos) {
+    return ejectedUntilNanos - nowNanos > 0;
+  }
+
+  void acquire() {
+    inFlight.incrementAndGet();
+  }
+
+  /**
+   * Load estimate used by power-of-two-choices: latency decayed towards zero for the time since it
+   * was sampled, scaled by outstanding requests. A server without samples is only cheap while idle,
+   * so that a new server isn't flooded before its first response arrives.
+   */
+  double cost(long nowNanos, long decayNanos) {
+    int pending = inFlight.get();
+    double latency = latencyNanos;
+    if (latency == 0) {
+      return pending == 0 ? 0 : Double.MAX_VALUE / 2 + pending;
+    }
+    double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+    return latency * weight * (pending + 1);
+  }
+
+  void onSuccess(long elapsedNanos, long nowNanos, long decayNanos) {
+    inFlight.decrementAndGet();
+    consecutiveFailures.set(0);
+    synchronized (this) {
+      ejections = 0;
+      record(elapsedNanos, nowNanos, decayNanos);
+    }
+  }
+
+  /**
+   * @return true once {@code threshold} consecutive failures have been recorded, resetting the
+   *         count so that the caller can decide whether to eject.
+   */
+  boolean onFailure(long elapsedNanos, long nowNanos, long decayNanos, int threshold) {
+    inFlight.decrementAndGet();
+    synchronized (this) {
+      // a server that fails fast must not look faster for it
+      record(Math.max(elapsedNanos, (long) latencyNanos), nowNanos, decayNanos);
+    }
+    if (consecutiveFailures.incrementAndGet() < threshold) {
+      return false;
+    }
+    consecutiveFailures.set(0);
+    return true;
+  }
+
+  /**
+   * Ejects this server for {@code baseNanos} times the number of consecutive ejections, up to
+   * {@code maxNanos}.
+   */
+  synchronized void eject(long nowNanos, long baseNanos, long maxNanos) {
+    ejections++;
+    ejectedUntilNanos = nowNanos + Math.min(baseNanos * ejections, maxNanos);
+  }
+
+  private void record(long elapsedNanos, long nowNanos, long decayNanos) {
+    double latency = latencyNanos;
+    if (elapsedNanos > latency) {
+      // react to spikes immediately, recover gradually
+      latencyNanos = elapsedNanos;
+    } else {
+      double weight = Math.exp(-(double) (nowNanos - lastSampleNanos) / decayNanos);
+      latencyNanos = latency * weight + elapsedNanos * (1 - weight);
+    }
+    lastSampleNanos = nowNanos;
+  }
+
+  @Override
+  public String toString() {
+    return "Server(url=" + url + ", inFlight=" + inFlight.get() + ", latencyNanos="
+        + (long) latencyNanos + ")";
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.IntFunction;
+import feign.Experimental;
+import feign.MethodMetadata;
+import feign.Target;
+
+/**
+ * Metric handles resolved once per target and method, so that metering a call neither builds metric
+ * names nor looks them up in the registry. Handles stay valid as long as they are not removed from
+ * the registry.
+ *
+ * <p>
+ * Shared by the metrics capabilities (micrometer, dropwizard metrics), which only differ in what a
+ * handle is.
+ */
+@Experimental
+public final class MeterCache<M> {
+
+  private final ConcurrentMap<Target<?>, ConcurrentMap<Method, M>> byTarget =
+      new ConcurrentHashMap<>();
+  private final BiFunction<MethodMetadata, Target<?>, M> factory;
+
+  public MeterCache(BiFunction<MethodMetadata, Target<?>, M> factory) {
+    this.factory = factory;
+  }
+
+  public M get(MethodMetadata metadata, Target<?> target) {
+    ConcurrentMap<Method, M> byMethod = byTarget.get(target);
+    if (byMethod == null) {
+      byMethod = byTarget.computeIfAbsent(target, t -> new ConcurrentHashMap<>());
+    }
+    M meters = byMethod.get(metadata.method());
+    if (meters == null) {
+      meters = byMethod.computeIfAbsent(metadata.method(), m -> factory.apply(metadata, target));
+    }
+    return meters;
+  }
+
+  /**
+   * Handles keyed by http status. A method usually sees only a few distinct statuses, so they are
+   * kept in a small array that is scanned without locking.
+   */
+  public static final class ByStatus<M> {
+
+    private static final int MAX_SIZE = 16;
+
+    private final IntFunction<M> factory;
+    private volatile Entry<?>[] entries = new Entry<?>[0];
+
+    public ByStatus(IntFunction<M> factory) {
+      this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    public M get(int status) {
+      for (Entry<?> entry : entries) {
+        if (entry.status == status) {
+          return (M) entry.meter;
+        }
+      }
+      return add(status);
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized M add(int status) {
+      Entry<?>[] entries = this.entries;
+      for (Entry<?> entry : entries) {
+        if (entry.status == status) {
+          return (M) entry.meter;
+        }
+      }
+      M meter = factory.apply(status);
+      if (entries.length < MAX_SIZE) {
+        Entry<?>[] updated = Arrays.copyOf(entries, entries.length + 1);
+        updated[entries.length] = new Entry<>(status, meter);
+        this.entries = updated;
+      }
+      return meter;
+    }
+
+    private static final class Entry<M> {
+
+      final int status;
+      final M meter;
+
+      Entry(int status, M meter) {
+        this.status = status;
+        this.meter = meter;
+      }
+    }
+  }
+}
@@ -19,9 +19,13 @@ import feign.codec.EncodeException;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.jvnet.animal_sniffer.IgnoreJRERequirement;
 
 /**
  * the query map will be generated using java beans accessible getter property as query parameter
@@ -34,57 +38,73 @@ import java.util.*;
  */
 public class BeanQueryMapEncoder implements QueryMapEncoder {
   private final Map<Class<?>, ObjectParamMetadata> classToMetadata =
-      new HashMap<Class<?>, ObjectParamMetadata>();
+      new ConcurrentHashMap<Class<?>, ObjectParamMetadata>();
 
   @Override
   public Map<String, Object> encode(Object object) throws EncodeException {
-    try {
-      ObjectParamMetadata metadata = getMetadata(object.getClass());
-      Map<String, Object> propertyNameToValue = new HashMap<String, Object>();
-      for (PropertyDescriptor pd : metadata.objectProperties) {
-        Method method = pd.getReadMethod();
-        Object value = method.invoke(object);
-        if (value != null && value != object) {
-          Param alias = method.getAnnotation(Param.class);
-          String name = alias != null ? alias.value() : pd.getName();
-          propertyNameToValue.put(name, value);
-        }
-      }
-      return propertyNameToValue;
-    } catch (IllegalAccessException | IntrospectionException | InvocationTargetException e) {
-      throw new EncodeException("Failure encoding object into query map", e);
-    }
+    return getMetadata(object.getClass()).encode(object);
   }
 
-  private ObjectParamMetadata getMetadata(Class<?> objectType) throws IntrospectionException {
+  private ObjectParamMetadata getMetadata(Class<?> objectType) {
     ObjectParamMetadata metadata = classToMetadata.get(objectType);
     if (metadata == null) {
       metadata = ObjectParamMetadata.parseObjectType(objectType);
-      classToMetadata.put(objectType, metadata);
+      classToMetadata.putIfAbsent(objectType, metadata);
     }
     return metadata;
   }
 
   private static class ObjectParamMetadata {
 
-    private final List<PropertyDescriptor> objectProperties;
+    private static final MethodType GETTER_TYPE =
+        MethodType.methodType(Object.class, Object.class);
+
+    // parallel arrays: the query parameter name and the read method of each property
+    private final String[] names;
+    private final MethodHandle[] getters;
 
-    private ObjectParamMetadata(List<PropertyDescriptor> objectProperties) {
-      this.objectProperties = Collections.unmodifiableList(objectProperties);
+    private ObjectParamMetadata(String[] names, MethodHandle[] getters) {
+      this.names = names;
+      this.getters = getters;
     }
 
-    private static ObjectParamMetadata parseObjectType(Class<?> type)
-        throws IntrospectionException {
-      List<PropertyDescriptor> properties = new ArrayList<PropertyDescriptor>();
+    @IgnoreJRERequirement // animal-sniffer doesn't know invokeExact is signature polymorphic
+    private Map<String, Object> encode(Object object) {
+      Map<String, Object> propertyNameToValue =
+          new HashMap<String, Object>(names.length * 4 / 3 + 1);
+      for (int i = 0; i < names.length; i++) {
+        Object value;
+        try {
+          value = getters[i].invokeExact(object);
+        } catch (Throwable e) {
+          throw new EncodeException("Failure encoding object into query map", e);
+        }
+        if (value != null && value != object) {
+          propertyNameToValue.put(names[i], value);
+        }
+      }
+      return propertyNameToValue;
+    }
 
-      for (PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
-        boolean isGetterMethod = pd.getReadMethod() != null && !"class".equals(pd.getName());
-        if (isGetterMethod) {
-          properties.add(pd);
+    private static ObjectParamMetadata parseObjectType(Class<?> type) {
+      List<String> names = new ArrayList<String>();
+      List<MethodHandle> getters = new ArrayList<MethodHandle>();
+      try {
+        for (PropertyDescriptor pd : Introspector.getBeanInfo(type).getPropertyDescriptors()) {
+          Method method = pd.getReadMethod();
+          boolean isGetterMethod = method != null && !"class".equals(pd.getName());
+          if (isGetterMethod) {
+            Param alias = method.getAnnotation(Param.class);
+            names.add(alias != null ? alias.value() : pd.getName());
+            getters.add(MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE));
+          }
         }
+      } catch (IllegalAccessException | IntrospectionException e) {
+        throw new EncodeException("Failure encoding object into query map", e);
       }
 
-      return new ObjectParamMetadata(properties);
+      return new ObjectParamMetadata(names.toArray(new String[0]),
+          getters.toArray(new MethodHandle[0]));
     }
   }
 }
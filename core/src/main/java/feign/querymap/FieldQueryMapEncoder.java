@@ -13,14 +13,17 @@
  */
 package feign.querymap;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import org.jvnet.animal_sniffer.IgnoreJRERequirement;
 import feign.Param;
 import feign.QueryMapEncoder;
 import feign.codec.EncodeException;
@@ -42,64 +45,71 @@ public class FieldQueryMapEncoder implements QueryMapEncoder {
   public Map<String, Object> encode(Object object) throws EncodeException {
     ObjectParamMetadata metadata =
         classToMetadata.computeIfAbsent(object.getClass(), ObjectParamMetadata::parseObjectType);
-
-    return metadata.objectFields.stream()
-        .map(field -> this.FieldValuePair(object, field))
-        .filter(fieldObjectPair -> fieldObjectPair.right.isPresent())
-        .collect(Collectors.toMap(this::fieldName,
-            fieldObjectPair -> fieldObjectPair.right.get()));
-
+    return metadata.encode(object);
   }
 
-  private String fieldName(Pair<Field, Optional<Object>> pair) {
-    Param alias = pair.left.getAnnotation(Param.class);
-    return alias != null ? alias.value() : pair.left.getName();
-  }
+  private static class ObjectParamMetadata {
 
-  private Pair<Field, Optional<Object>> FieldValuePair(Object object, Field field) {
-    try {
-      return Pair.pair(field, Optional.ofNullable(field.get(object)));
-    } catch (IllegalAccessException e) {
-      throw new EncodeException("Failure encoding object into query map", e);
-    }
-  }
+    private static final MethodType GETTER_TYPE =
+        MethodType.methodType(Object.class, Object.class);
 
-  private static class ObjectParamMetadata {
+    // parallel arrays: the query parameter name and the getter of each field
+    private final String[] names;
+    private final MethodHandle[] getters;
 
-    private final List<Field> objectFields;
+    private ObjectParamMetadata(String[] names, MethodHandle[] getters) {
+      this.names = names;
+      this.getters = getters;
+    }
 
-    private ObjectParamMetadata(List<Field> objectFields) {
-      this.objectFields = Collections.unmodifiableList(objectFields);
+    @IgnoreJRERequirement // animal-sniffer doesn't know invokeExact is signature polymorphic
+    private Map<String, Object> encode(Object object) {
+      Map<String, Object> fieldNameToValue = new HashMap<>(names.length * 4 / 3 + 1);
+      for (int i = 0; i < names.length; i++) {
+        Object value;
+        try {
+          value = getters[i].invokeExact(object);
+        } catch (Throwable e) {
+          throw new EncodeException("Failure encoding object into query map", e);
+        }
+        if (value != null && fieldNameToValue.put(names[i], value) != null) {
+          throw new IllegalStateException("Duplicate key " + names[i]);
+        }
+      }
+      return fieldNameToValue;
     }
 
     private static ObjectParamMetadata parseObjectType(Class<?> type) {
-      List<Field> allFields = new ArrayList();
+      List<String> names = new ArrayList<>();
+      List<MethodHandle> getters = new ArrayList<>();
 
-      for (Class currentClass = type; currentClass != null; currentClass =
+      for (Class<?> currentClass = type; currentClass != null; currentClass =
           currentClass.getSuperclass()) {
-        Collections.addAll(allFields, currentClass.getDeclaredFields());
+        for (Field field : currentClass.getDeclaredFields()) {
+          if (field.isSynthetic()) {
+            continue;
+          }
+          Param alias = field.getAnnotation(Param.class);
+          names.add(alias != null ? alias.value() : field.getName());
+          getters.add(getter(field));
+        }
       }
 
-      return new ObjectParamMetadata(allFields.stream()
-          .filter(field -> !field.isSynthetic())
-          .peek(field -> field.setAccessible(true))
-          .collect(Collectors.toList()));
-    }
-  }
-
-  private static class Pair<T, U> {
-    private Pair(T left, U right) {
-      this.right = right;
-      this.left = left;
+      return new ObjectParamMetadata(names.toArray(new String[0]),
+          getters.toArray(new MethodHandle[0]));
     }
 
-    public final T left;
-    public final U right;
-
-    public static <T, U> Pair<T, U> pair(T left, U right) {
-      return new Pair<>(left, right);
+    private static MethodHandle getter(Field field) {
+      field.setAccessible(true);
+      try {
+        MethodHandle getter = MethodHandles.lookup().unreflectGetter(field);
+        if (Modifier.isStatic(field.getModifiers())) {
+          getter = MethodHandles.dropArguments(getter, 0, Object.class);
+        }
+        return getter.asType(GETTER_TYPE);
+      } catch (IllegalAccessException e) {
+        throw new EncodeException("Failure encoding object into query map", e);
+      }
     }
-
   }
-
 }
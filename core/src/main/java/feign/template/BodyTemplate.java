@@ -62,8 +62,8 @@ public final class BodyTemplate extends Template {
     String expanded = super.expand(variables);
     if (this.json) {
       /* restore all start and end tokens */
-      expanded = expanded.replaceAll(JSON_TOKEN_START_ENCODED, JSON_TOKEN_START);
-      expanded = expanded.replaceAll(JSON_TOKEN_END_ENCODED, JSON_TOKEN_END);
+      expanded = replace(expanded, JSON_TOKEN_START_ENCODED, JSON_TOKEN_START);
+      expanded = replace(expanded, JSON_TOKEN_END_ENCODED, JSON_TOKEN_END);
     }
     return expanded;
   }
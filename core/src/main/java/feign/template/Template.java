@@ -20,7 +20,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.logging.Logger;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +30,6 @@ import java.util.stream.Collectors;
 public class Template {
 
   private static final Logger logger = Logger.getLogger(Template.class.getName());
-  private static final Pattern QUERY_STRING_PATTERN = Pattern.compile("(?<!\\{)(\\?)");
   private final String template;
   private final boolean allowUnresolved;
   private final EncodingOptions encode;
@@ -131,7 +129,7 @@ public class Template {
       if (expanded != null) {
         if (!this.encodeSlash) {
           logger.fine("Explicit slash decoding specified, decoding all slashes in uri");
-          expanded = expanded.replaceAll("%2F", "/");
+          expanded = replace(expanded, "%2F", "/");
         }
         resolved = expanded;
       }
@@ -144,6 +142,29 @@ public class Template {
     return resolved;
   }
 
+  /**
+   * Replaces every occurrence of {@code target} with {@code replacement}. Unlike
+   * {@link String#replaceAll(String, String)}, no regular expression is compiled.
+   *
+   * @param value to search.
+   * @param target to replace.
+   * @param replacement for each occurrence.
+   * @return the value with all occurrences replaced.
+   */
+  static String replace(String value, String target, String replacement) {
+    int index = value.indexOf(target);
+    if (index == -1) {
+      return value;
+    }
+    StringBuilder replaced = new StringBuilder(value.length());
+    int start = 0;
+    do {
+      replaced.append(value, start, index).append(replacement);
+      start = index + target.length();
+    } while ((index = value.indexOf(target, start)) != -1);
+    return replaced.append(value, start, value.length()).toString();
+  }
+
   /**
    * Uri Encode the value.
    *
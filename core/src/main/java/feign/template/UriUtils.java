@@ -19,12 +19,10 @@ import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class UriUtils {
 
-  private static final Pattern PCT_ENCODED_PATTERN = Pattern.compile("%[0-9A-Fa-f][0-9A-Fa-f]");
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
 
   /**
    * Determines if the value is already pct-encoded.
@@ -39,7 +37,7 @@ public class UriUtils {
         return false;
       }
     }
-    return PCT_ENCODED_PATTERN.matcher(value).find();
+    return indexOfPctEncoded(value, 0) != -1;
   }
 
   /**
@@ -112,9 +110,9 @@ public class UriUtils {
                                       Charset charset,
                                       boolean allowReservedCharacters) {
     /* value is encoded, we need to split it up and skip the parts that are already encoded */
-    Matcher matcher = PCT_ENCODED_PATTERN.matcher(value);
+    int match = indexOfPctEncoded(value, 0);
 
-    if (!matcher.find()) {
+    if (match == -1) {
       return encodeChunk(value, charset, true);
     }
 
@@ -123,17 +121,17 @@ public class UriUtils {
     int index = 0;
     do {
       /* split out the value before the encoded value */
-      String before = value.substring(index, matcher.start());
+      String before = value.substring(index, match);
 
       /* encode it */
       encoded.append(encodeChunk(before, charset, allowReservedCharacters));
 
       /* append the encoded value */
-      encoded.append(matcher.group());
+      encoded.append(value, match, match + 3);
 
       /* update the string search index */
-      index = matcher.end();
-    } while (matcher.find());
+      index = match + 3;
+    } while ((match = indexOfPctEncoded(value, index)) != -1);
 
     /* append the rest of the string */
     String tail = value.substring(index, length);
@@ -141,6 +139,24 @@ public class UriUtils {
     return encoded.toString();
   }
 
+  /**
+   * Finds the next pct-encoded triplet, such as {@code %2F}.
+   *
+   * @param value to search.
+   * @param fromIndex to start searching from.
+   * @return the index of the {@code %}, or -1 if there is none.
+   */
+  private static int indexOfPctEncoded(String value, int fromIndex) {
+    int last = value.length() - 2;
+    for (int i = value.indexOf('%', fromIndex); i != -1 && i < last; i =
+        value.indexOf('%', i + 1)) {
+      if (isHexDigit(value.charAt(i + 1)) && isHexDigit(value.charAt(i + 2))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   /**
    * Encode a Uri Chunk, ensuring that all reserved characters are also encoded.
    *
@@ -149,7 +165,7 @@ public class UriUtils {
    * @return an encoded uri chunk.
    */
   private static String encodeChunk(String value, Charset charset, boolean allowReserved) {
-    if (isEncoded(value, charset)) {
+    if (!requiresEncoding(value, allowReserved) || isEncoded(value, charset)) {
       return value;
     }
 
@@ -171,6 +187,20 @@ public class UriUtils {
     }
   }
 
+  /**
+   * Checks if any character of the value would be pct-encoded. Most values are plain ASCII words,
+   * which can then be returned as is.
+   */
+  private static boolean requiresEncoding(String value, boolean allowReserved) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (!isUnreserved(c) && !(allowReserved && isReserved(c))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Percent Encode the provided byte.
    *
@@ -179,10 +209,8 @@ public class UriUtils {
    */
   private static void pctEncode(byte data, ByteArrayOutputStream bos) {
     bos.write('%');
-    char hex1 = Character.toUpperCase(Character.forDigit((data >> 4) & 0xF, 16));
-    char hex2 = Character.toUpperCase(Character.forDigit(data & 0xF, 16));
-    bos.write(hex1);
-    bos.write(hex2);
+    bos.write(HEX_DIGITS[(data >> 4) & 0xF]);
+    bos.write(HEX_DIGITS[data & 0xF]);
   }
 
 
@@ -195,6 +223,10 @@ public class UriUtils {
     return (c >= '0' && c <= '9');
   }
 
+  private static boolean isHexDigit(int c) {
+    return isDigit(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+  }
+
   private static boolean isGenericDelimiter(int c) {
     return (c == ':') || (c == '/') || (c == '?') || (c == '#') || (c == '[') || (c == ']')
         || (c == '@');
@@ -0,0 +1,147 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Rule;
+import org.junit.Test;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class InvocationListenerTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+  private final InvocationListener.Factory factory = (target, metadata) -> new Recorder();
+
+  public interface Api {
+
+    @RequestLine("GET /")
+    String get();
+  }
+
+  public interface AsyncApi {
+
+    @RequestLine("GET /")
+    CompletableFuture<String> get();
+  }
+
+  @Test
+  public void reportsPhasesInOrder() {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    Api api = Feign.builder()
+        .invocationListener(factory)
+        .target(Api.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.get()).isEqualTo("foo");
+    assertThat(events).containsExactly("invocationStart", "templateResolved GET",
+        "requestSent GET", "firstByte 200", "decodeStart 200", "decodeEnd",
+        "invocationEnd null");
+  }
+
+  @Test
+  public void reportsRetriesAndErrors() {
+    server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+    server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+
+    Api api = Feign.builder()
+        .invocationListener(factory)
+        .retryer(new Retryer.Default(1, 1, 2))
+        .target(Api.class, "http://localhost:" + server.getPort());
+
+    try {
+      api.get();
+      fail();
+    } catch (RetryableException expected) {
+    }
+    assertThat(events).containsExactly("invocationStart", "templateResolved GET",
+        "requestSent GET", "firstByte 503", "decodeStart 503", "decodeEnd",
+        "retryScheduled 503", "templateResolved GET", "requestSent GET", "firstByte 503",
+        "decodeStart 503", "decodeEnd", "invocationEnd RetryableException");
+  }
+
+  @Test
+  public void reportsAsyncPhases() throws Exception {
+    server.enqueue(new MockResponse().setBody("foo"));
+
+    AsyncApi api = AsyncFeign.<Void>asyncBuilder()
+        .invocationListener(factory)
+        .target(AsyncApi.class, "http://localhost:" + server.getPort());
+
+    assertThat(api.get().get()).isEqualTo("foo");
+    assertThat(events).containsExactly("invocationStart", "templateResolved GET",
+        "requestSent GET", "firstByte 200", "decodeStart 200", "decodeEnd",
+        "invocationEnd null");
+  }
+
+  class Recorder implements InvocationListener {
+
+    private long last;
+
+    private void record(String event, long nanoTime) {
+      assertThat(nanoTime).isGreaterThanOrEqualTo(last);
+      last = nanoTime;
+      events.add(event);
+    }
+
+    @Override
+    public void invocationStart(long nanoTime) {
+      record("invocationStart", nanoTime);
+    }
+
+    @Override
+    public void templateResolved(Request request, long nanoTime) {
+      record("templateResolved " + request.httpMethod(), nanoTime);
+    }
+
+    @Override
+    public void requestSent(Request request, long nanoTime) {
+      record("requestSent " + request.httpMethod(), nanoTime);
+    }
+
+    @Override
+    public void firstByte(Response response, long nanoTime) {
+      record("firstByte " + response.status(), nanoTime);
+    }
+
+    @Override
+    public void decodeStart(Response response, long nanoTime) {
+      record("decodeStart " + response.status(), nanoTime);
+    }
+
+    @Override
+    public void decodeEnd(long nanoTime) {
+      record("decodeEnd", nanoTime);
+    }
+
+    @Override
+    public void retryScheduled(RetryableException cause, long nanoTime) {
+      record("retryScheduled " + cause.status(), nanoTime);
+    }
+
+    @Override
+    public void invocationEnd(Throwable error, long nanoTime) {
+      record("invocationEnd " + (error != null ? error.getClass().getSimpleName() : null),
+          nanoTime);
+    }
+  }
+}
@@ -13,6 +13,7 @@
  */
 package feign;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.assertj.core.api.SoftAssertions;
@@ -24,15 +25,23 @@ import org.junit.rules.RuleChain;
 import org.junit.rules.TestRule;
 import org.junit.runner.Description;
 import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.model.Statement;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import feign.Logger.Level;
+import feign.Request.HttpMethod;
+import feign.codec.Decoder;
+import static org.assertj.core.api.Assertions.assertThat;
 
 @RunWith(Enclosed.class)
 public class LoggerTest {
@@ -381,6 +390,202 @@ public class LoggerTest {
     }
   }
 
+  @RunWith(JUnit4.class)
+  public static class ResponseBodyTest extends LoggerTest {
+
+    private static final String CONFIG_KEY = "SendsStuff#login()";
+
+    @Test
+    public void logsRepeatableBodyWithoutRebuffering() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] ",
+          "\\[SendsStuff#login\\] foo",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(3-byte body\\)"));
+
+      Response response = response().body("foo", Util.UTF_8).build();
+
+      assertThat(logger.logAndRebufferResponse(CONFIG_KEY, Level.FULL, response, 0))
+          .isSameAs(response);
+    }
+
+    @Test
+    public void headersLevelDoesNotReadBodyOfKnownLength() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(3-byte body\\)"));
+
+      Response response = response().body(stream("foo"), 3).build();
+
+      assertThat(logger.logAndRebufferResponse(CONFIG_KEY, Level.HEADERS, response, 0))
+          .isSameAs(response);
+    }
+
+    @Test
+    public void headersLevelCountsBodyOfUnknownLengthAsItIsRead() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(3-byte body\\)"));
+
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.HEADERS,
+          response().body(stream("foo"), null).build(), 0);
+      assertThat(logger.messages).hasSize(1);
+
+      assertThat(Util.toString(response.body().asReader(Util.UTF_8))).isEqualTo("foo");
+    }
+
+    @Test
+    public void fullLevelLogsBodyUpToLimitAsItIsRead() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] ",
+          "\\[SendsStuff#login\\] hell",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(11-byte body, first 4 bytes logged\\)"));
+      logger.maxBodyBytes(4);
+
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.FULL,
+          response().body(stream("hello world"), 11).build(), 0);
+
+      assertThat(response.body().isRepeatable()).isFalse();
+      assertThat(Util.toByteArray(response.body().asInputStream()))
+          .isEqualTo("hello world".getBytes(Util.UTF_8));
+    }
+
+    @Test
+    public void declaredLengthDoesNotPreallocateLogBuffer() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] ",
+          "\\[SendsStuff#login\\] foo",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(3-byte body\\)"));
+
+      // sized from the claimed length, this buffer could not even be allocated
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.FULL,
+          response().body(stream("foo"), Integer.MAX_VALUE - 1).build(), 0);
+
+      assertThat(Util.toByteArray(response.body().asInputStream()))
+          .isEqualTo("foo".getBytes(Util.UTF_8));
+    }
+
+    @Test
+    public void limitDoesNotSplitCharacters() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] ",
+          "\\[SendsStuff#login\\] a",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(3-byte body, first 2 bytes logged\\)"));
+      logger.maxBodyBytes(2);
+
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.FULL,
+          response().body(stream("a\u00e9"), null).build(), 0);
+
+      Util.toByteArray(response.body().asInputStream());
+    }
+
+    @Test
+    public void logsBodyClosedBeforeItsEnd() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] ",
+          "\\[SendsStuff#login\\] f",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(closed after 1 bytes\\)"));
+      logger.maxBodyBytes(1);
+
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.FULL,
+          response().body(stream("foo"), 3).build(), 0);
+
+      assertThat(response.body().asInputStream().read()).isEqualTo('f');
+      response.close();
+    }
+
+    @Test
+    public void logsUnreadBodyOnce() throws IOException {
+      logger.expectMessages(Arrays.asList(
+          "\\[SendsStuff#login\\] <--- HTTP/1.1 200 OK \\(0ms\\)",
+          "\\[SendsStuff#login\\] <--- END HTTP \\(closed unread\\)"));
+
+      Response response = logger.logAndRebufferResponse(CONFIG_KEY, Level.HEADERS,
+          response().body(stream("foo"), null).build(), 0);
+
+      response.close();
+      response.close();
+    }
+
+    private static Response.Builder response() {
+      return Response.builder()
+          .status(200)
+          .reason("OK")
+          .request(Request.create(HttpMethod.POST, "/", Collections.emptyMap(), null, Util.UTF_8))
+          .headers(Collections.emptyMap());
+    }
+
+    private static InputStream stream(String body) {
+      return new ByteArrayInputStream(body.getBytes(Util.UTF_8));
+    }
+  }
+
+  @RunWith(Parameterized.class)
+  public static class StreamedBodyTest extends LoggerTest {
+
+    interface StreamsStuff {
+
+      @RequestLine("GET /")
+      Map<String, String> get();
+
+      @RequestLine("GET /")
+      void discard();
+    }
+
+    // stops at the end of the value, like JacksonDecoder, so never reads to the end of the body
+    private static final Decoder JACKSON = (response, type) -> {
+      ObjectMapper mapper = new ObjectMapper();
+      return mapper.readValue(response.body().asReader(Util.UTF_8), mapper.constructType(type));
+    };
+
+    private final MockResponse mockResponse;
+
+    public StreamedBodyTest(String name, MockResponse mockResponse, String lengthHeader) {
+      this.mockResponse = mockResponse;
+      logger.expectMessages(Arrays.asList(
+          "\\[StreamsStuff#(get|discard)\\] ---> GET http://localhost:[0-9]+/ HTTP/1.1",
+          "\\[StreamsStuff#(get|discard)\\] ---> END HTTP \\(0-byte body\\)",
+          "\\[StreamsStuff#(get|discard)\\] <--- HTTP/1.1 200 OK \\([0-9]+ms\\)",
+          "\\[StreamsStuff#(get|discard)\\] " + lengthHeader,
+          "\\[StreamsStuff#(get|discard)\\] ",
+          "\\[StreamsStuff#(get|discard)\\] \\{\"a\": \"b\"\\} ",
+          "\\[StreamsStuff#(get|discard)\\] <--- END HTTP \\(11-byte body\\)"));
+    }
+
+    @Parameters(name = "{0}")
+    public static Iterable<Object[]> data() {
+      return Arrays.asList(new Object[][] {
+          {"known length", new MockResponse().setBody(BODY), "content-length: 11"},
+          {"chunked", new MockResponse().setChunkedBody(BODY, 4), "transfer-encoding: chunked"}
+      });
+    }
+
+    private static final String BODY = "{\"a\": \"b\"} ";
+
+    private StreamsStuff api() {
+      server.enqueue(mockResponse);
+      return Feign.builder()
+          .logger(logger)
+          .logLevel(Level.FULL)
+          .decoder(JACKSON)
+          .target(StreamsStuff.class, "http://localhost:" + server.getPort());
+    }
+
+    @Test
+    public void logsWholeBodyWhenDecoderStopsAtEndOfValue() {
+      assertThat(api().get()).containsEntry("a", "b");
+    }
+
+    @Test
+    public void logsBodyOfVoidMethod() {
+      api().discard();
+    }
+  }
+
   private static final class RecordingLogger extends Logger implements TestRule {
 
     private final List<String> messages = new ArrayList<>();
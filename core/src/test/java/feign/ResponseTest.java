@@ -14,6 +14,10 @@
 package feign;
 
 import feign.Request.HttpMethod;
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import org.assertj.core.util.Lists;
 import org.junit.Test;
@@ -24,6 +28,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import static feign.assertj.FeignAssertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 
 @SuppressWarnings("deprecation")
@@ -108,4 +113,49 @@ public class ResponseTest {
       assertThat(response.status()).isEqualTo(statusCode);
     });
   }
+
+  @Test
+  public void byteArrayBodyIsReadableAsReadOnlyBufferRepeatedly() throws Exception {
+    byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+    Response.Body body = response().body(data).build().body();
+
+    ByteBuffer buffer = body.asByteBuffer();
+    assertThat(buffer.isReadOnly()).isTrue();
+    assertThatThrownBy(() -> buffer.put(0, (byte) 'j'))
+        .isInstanceOf(ReadOnlyBufferException.class);
+    buffer.get(new byte[buffer.remaining()]);
+
+    assertThat(body.asByteBuffer()).isEqualTo(ByteBuffer.wrap(data));
+  }
+
+  @Test
+  public void streamBodyIsReadableAsBufferOnce() throws Exception {
+    byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+    Response.Body body = response().body(new ByteArrayInputStream(data), null).build().body();
+
+    assertThat(body.asByteBuffer()).isEqualTo(ByteBuffer.wrap(data));
+  }
+
+  @Test
+  public void bodyIsReadableAsChannel() throws Exception {
+    byte[] data = "hello".getBytes(StandardCharsets.UTF_8);
+    ByteBuffer read = ByteBuffer.allocate(16);
+
+    try (ReadableByteChannel channel =
+        response().body(data).build().body().asReadableByteChannel()) {
+      while (channel.read(read) != -1) {
+        // until the end
+      }
+    }
+
+    read.flip();
+    assertThat(read).isEqualTo(ByteBuffer.wrap(data));
+  }
+
+  private static Response.Builder response() {
+    return Response.builder()
+        .status(200)
+        .headers(Collections.<String, Collection<String>>emptyMap())
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8));
+  }
 }
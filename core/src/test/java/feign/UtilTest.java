@@ -17,6 +17,9 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.rules.ExpectedException;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.Collection;
@@ -238,6 +241,70 @@ public class UtilTest {
     Assert.assertEquals(true, retval);
   }
 
+  @Test
+  public void toByteArrayOfAnnouncedLength() throws Exception {
+    byte[] data = bytes(1000);
+    assertThat(Util.toByteArray(trickle(data), 1000)).isEqualTo(data);
+  }
+
+  @Test
+  public void toByteArrayShorterThanAnnounced() throws Exception {
+    byte[] data = bytes(1000);
+    assertThat(Util.toByteArray(trickle(data), 5000)).isEqualTo(data);
+  }
+
+  @Test
+  public void toByteArrayLongerThanAnnounced() throws Exception {
+    byte[] data = bytes(50000);
+    assertThat(Util.toByteArray(trickle(data), 10)).isEqualTo(data);
+    assertThat(Util.toByteArray(trickle(data), 0)).isEqualTo(data);
+  }
+
+  @Test
+  public void toByteArrayOfUnknownLength() throws Exception {
+    for (int size : new int[] {0, 1, 0x4000 - 1, 0x4000, 0x4000 + 1, 100000}) {
+      byte[] data = bytes(size);
+      assertThat(Util.toByteArray(trickle(data), null)).isEqualTo(data);
+      assertThat(Util.toByteArray(new ByteArrayInputStream(data))).isEqualTo(data);
+    }
+  }
+
+  @Test
+  public void toByteArrayCalledWhileReading() throws Exception {
+    byte[] inner = bytes(300);
+    InputStream outer = new ByteArrayInputStream(bytes(200)) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        try {
+          assertThat(Util.toByteArray(new ByteArrayInputStream(inner))).isEqualTo(inner);
+        } catch (IOException e) {
+          throw new AssertionError(e);
+        }
+        return super.read(b, off, len);
+      }
+    };
+
+    assertThat(Util.toByteArray(outer)).isEqualTo(bytes(200));
+  }
+
+  private static byte[] bytes(int size) {
+    byte[] data = new byte[size];
+    for (int i = 0; i < size; i++) {
+      data[i] = (byte) i;
+    }
+    return data;
+  }
+
+  /** Returns at most 1000 bytes per read, like a socket might. */
+  private static InputStream trickle(byte[] data) {
+    return new ByteArrayInputStream(data) {
+      @Override
+      public synchronized int read(byte[] b, int off, int len) {
+        return super.read(b, off, Math.min(len, 1000));
+      }
+    };
+  }
+
   interface LastTypeParameter {
     final List<String> LIST_STRING = null;
     final Parameterized<List<String>> PARAMETERIZED_LIST_STRING = null;
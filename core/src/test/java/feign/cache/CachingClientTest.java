@@ -0,0 +1,321 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.cache;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import feign.AsyncClient;
+import feign.Client;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+
+public class CachingClientTest {
+
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  private final AtomicLong clock = new AtomicLong(1_000_000L);
+  private final Deque<Response.Builder> responses = new ArrayDeque<>();
+  private final List<Request> sent = new ArrayList<>();
+  private final Client network = (request, options) -> {
+    sent.add(request);
+    return responses.remove().request(request).build();
+  };
+  private final ResponseCache store = new ResponseCache.InMemory(1024 * 1024);
+  private final CachingClient client =
+      new CachingClient(network, new HttpCache(store, clock::get), Runnable::run);
+
+  @Test
+  public void servesFreshResponsesWithoutNetwork() throws IOException {
+    responses.add(ok("hello", "Cache-Control", "max-age=60"));
+
+    assertThat(body(client.execute(get("/a"), new Request.Options()))).isEqualTo("hello");
+    clock.addAndGet(30_000);
+    Response cached = client.execute(get("/a"), new Request.Options());
+
+    assertThat(body(cached)).isEqualTo("hello");
+    assertThat(cached.headers().get("Age")).containsExactly("30");
+    assertThat(sent).hasSize(1);
+  }
+
+  @Test
+  public void revalidatesStaleResponsesWithEtag() throws IOException {
+    responses.add(ok("hello", "Cache-Control", "max-age=60", "ETag", "\"v1\""));
+    responses.add(Response.builder().status(304).headers(headers("Cache-Control", "max-age=60")));
+
+    client.execute(get("/a"), new Request.Options()).close();
+    clock.addAndGet(61_000);
+    Response revalidated = client.execute(get("/a"), new Request.Options());
+
+    assertThat(revalidated.status()).isEqualTo(200);
+    assertThat(body(revalidated)).isEqualTo("hello");
+    assertThat(sent.get(1).headers().get("If-None-Match")).containsExactly("\"v1\"");
+
+    // the 304 refreshed the entry
+    client.execute(get("/a"), new Request.Options()).close();
+    assertThat(sent).hasSize(2);
+  }
+
+  @Test
+  public void replacesEntryWhenValidationFails() throws IOException {
+    responses.add(ok("v1", "Last-Modified", "Mon, 07 Jun 2021 10:00:00 GMT"));
+    responses.add(ok("v2", "Last-Modified", "Tue, 08 Jun 2021 10:00:00 GMT"));
+
+    client.execute(get("/a"), new Request.Options()).close();
+    Response updated = client.execute(get("/a"), new Request.Options());
+
+    assertThat(sent.get(1).headers().get("If-Modified-Since"))
+        .containsExactly("Mon, 07 Jun 2021 10:00:00 GMT");
+    assertThat(body(updated)).isEqualTo("v2");
+    assertThat(store.get(url("/a")).body()).isEqualTo("v2".getBytes(UTF_8));
+  }
+
+  @Test
+  public void doesNotStoreNoStore() throws IOException {
+    responses.add(ok("one", "Cache-Control", "no-store, max-age=60"));
+    responses.add(ok("two", "Cache-Control", "max-age=60"));
+
+    client.execute(get("/a"), new Request.Options()).close();
+    assertThat(body(client.execute(get("/a"), new Request.Options()))).isEqualTo("two");
+    assertThat(sent).hasSize(2);
+  }
+
+  @Test
+  public void staleWhileRevalidateServesStaleAndRefreshes() throws IOException {
+    responses.add(
+        ok("v1", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v1\""));
+    responses.add(
+        ok("v2", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v2\""));
+
+    client.execute(get("/a"), new Request.Options()).close();
+    clock.addAndGet(20_000);
+
+    assertThat(body(client.execute(get("/a"), new Request.Options()))).isEqualTo("v1");
+    assertThat(sent).hasSize(2);
+    assertThat(body(client.execute(get("/a"), new Request.Options()))).isEqualTo("v2");
+    assertThat(sent).hasSize(2);
+  }
+
+  @Test
+  public void unsafeMethodsInvalidate() throws IOException {
+    responses.add(ok("hello", "Cache-Control", "max-age=60"));
+    responses.add(ok("created"));
+    responses.add(ok("again", "Cache-Control", "max-age=60"));
+
+    client.execute(get("/a"), new Request.Options()).close();
+    client.execute(request(HttpMethod.POST, "/a", "body".getBytes(UTF_8)),
+        new Request.Options()).close();
+
+    assertThat(body(client.execute(get("/a"), new Request.Options()))).isEqualTo("again");
+    assertThat(sent).hasSize(3);
+  }
+
+  @Test
+  public void varyMismatchIsAMiss() throws IOException {
+    responses.add(ok("json", "Cache-Control", "max-age=60", "Vary", "Accept"));
+    responses.add(ok("xml", "Cache-Control", "max-age=60", "Vary", "Accept"));
+
+    client.execute(get("/a", "Accept", "application/json"), new Request.Options()).close();
+    Response response =
+        client.execute(get("/a", "Accept", "application/xml"), new Request.Options());
+
+    assertThat(body(response)).isEqualTo("xml");
+    assertThat(sent).hasSize(2);
+  }
+
+  @Test
+  public void streamsBodiesLargerThanMaxEntrySize() throws IOException {
+    CachingClient small = new CachingClient(network,
+        new HttpCache(new ResponseCache.InMemory(16), clock::get), Runnable::run);
+    String large = String.join("", Collections.nCopies(100, "x"));
+    responses.add(Response.builder().status(200)
+        .headers(headers("Cache-Control", "max-age=60"))
+        .body(new java.io.ByteArrayInputStream(large.getBytes(UTF_8)), null));
+
+    assertThat(body(small.execute(get("/a"), new Request.Options()))).isEqualTo(large);
+  }
+
+  @Test
+  public void closesResponseWhenBufferingFails() {
+    AtomicBoolean closed = new AtomicBoolean();
+    InputStream failing = new InputStream() {
+      private int remaining = 10;
+
+      @Override
+      public int read() throws IOException {
+        if (remaining == 0) {
+          throw new IOException("connection reset");
+        }
+        remaining--;
+        return 'x';
+      }
+
+      @Override
+      public void close() {
+        closed.set(true);
+      }
+    };
+    responses.add(Response.builder().status(200)
+        .headers(headers("Cache-Control", "max-age=60"))
+        .body(failing, 100));
+
+    assertThatThrownBy(() -> client.execute(get("/a"), new Request.Options()))
+        .isInstanceOf(IOException.class)
+        .hasMessage("connection reset");
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void inMemoryEvictsLeastRecentlyUsed() {
+    ResponseCache.InMemory memory = new ResponseCache.InMemory(1024);
+    CachedResponse first = entry("/1", new byte[400]);
+    CachedResponse second = entry("/2", new byte[400]);
+
+    memory.put("/1", first);
+    memory.put("/2", second);
+    memory.get("/1");
+    memory.put("/3", entry("/3", new byte[400]));
+
+    assertThat(memory.get("/1")).isNotNull();
+    assertThat(memory.get("/2")).isNull();
+    assertThat(memory.size()).isLessThanOrEqualTo(1024);
+  }
+
+  @Test
+  public void fileSystemCacheSurvivesReopen() throws IOException {
+    ResponseCache.FileSystem disk = new ResponseCache.FileSystem(folder.getRoot().toPath(), 4096);
+    disk.put("/1", entry("/1", "hello".getBytes(UTF_8)));
+
+    CachedResponse reopened =
+        new ResponseCache.FileSystem(folder.getRoot().toPath(), 4096).get("/1");
+
+    assertThat(reopened.url()).isEqualTo("/1");
+    assertThat(reopened.body()).isEqualTo("hello".getBytes(UTF_8));
+    assertThat(reopened.headers()).containsKey("ETag");
+  }
+
+  @Test
+  public void asyncServesFreshResponsesWithoutNetwork() throws Exception {
+    responses.add(ok("hello", "Cache-Control", "max-age=60"));
+    AsyncClient<Void> async = new CachingAsyncClient<>(new AsyncClient.Pseudo<>(network),
+        new HttpCache(store, clock::get));
+
+    async.execute(get("/a"), new Request.Options(), Optional.empty()).get().close();
+    Response cached = async.execute(get("/a"), new Request.Options(), Optional.empty()).get();
+
+    assertThat(body(cached)).isEqualTo("hello");
+    assertThat(sent).hasSize(1);
+  }
+
+  @Test
+  public void fileSystemDiscardsUnreadableEntries() throws IOException {
+    ResponseCache.FileSystem disk = new ResponseCache.FileSystem(folder.getRoot().toPath(), 4096);
+    disk.put("/1", entry("/1", "hello".getBytes(UTF_8)));
+    Path file = folder.getRoot().toPath().resolve(ResponseCache.FileSystem.fileName("/1"));
+    Files.write(file, new byte[] {1, 2, 3});
+
+    assertThat(disk.get("/1")).isNull();
+    assertThat(file).doesNotExist();
+
+    disk.put("/1", entry("/1", "again".getBytes(UTF_8)));
+    assertThat(disk.get("/1").body()).isEqualTo("again".getBytes(UTF_8));
+  }
+
+  @Test
+  public void asyncRevalidationEndsWhenDelegateThrows() throws Exception {
+    responses.add(
+        ok("v1", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v1\""));
+    responses.add(
+        ok("v2", "Cache-Control", "max-age=10, stale-while-revalidate=60", "ETag", "\"v2\""));
+    AtomicInteger calls = new AtomicInteger();
+    AsyncClient<Void> pseudo = new AsyncClient.Pseudo<>(network);
+    AsyncClient<Void> async = new CachingAsyncClient<>((request, options, context) -> {
+      if (calls.incrementAndGet() == 2) {
+        throw new IllegalStateException("rejected");
+      }
+      return pseudo.execute(request, options, context);
+    }, new HttpCache(store, clock::get));
+
+    async.execute(get("/a"), new Request.Options(), Optional.empty()).get().close();
+    clock.addAndGet(20_000);
+
+    Response stale = async.execute(get("/a"), new Request.Options(), Optional.empty()).get();
+    assertThat(body(stale)).isEqualTo("v1");
+    // the failed attempt must not leave the entry marked as revalidating
+    async.execute(get("/a"), new Request.Options(), Optional.empty()).get().close();
+    assertThat(calls).hasValue(3);
+    assertThat(body(async.execute(get("/a"), new Request.Options(), Optional.empty()).get()))
+        .isEqualTo("v2");
+  }
+
+  private static CachedResponse entry(String url, byte[] body) {
+    return new CachedResponse(url, 200, "OK", headers("ETag", "\"x\""), Collections.emptyMap(),
+        body, 0, 0);
+  }
+
+  private static Response.Builder ok(String body, String... headers) {
+    return Response.builder().status(200).reason("OK").headers(headers(headers))
+        .body(body, UTF_8);
+  }
+
+  private static Map<String, Collection<String>> headers(String... namesAndValues) {
+    Map<String, Collection<String>> headers = new LinkedHashMap<>();
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      headers.put(namesAndValues[i], Collections.singletonList(namesAndValues[i + 1]));
+    }
+    return headers;
+  }
+
+  private static Request get(String path, String... headers) {
+    return Request.create(HttpMethod.GET, url(path), headers(headers), null, UTF_8, null);
+  }
+
+  private static Request request(HttpMethod method, String path, byte[] body) {
+    return Request.create(method, url(path), headers(), body, UTF_8, null);
+  }
+
+  private static String url(String path) {
+    return "http://localhost" + path;
+  }
+
+  private static String body(Response response) throws IOException {
+    try {
+      return Util.toString(response.body().asReader(UTF_8));
+    } finally {
+      response.close();
+    }
+  }
+}
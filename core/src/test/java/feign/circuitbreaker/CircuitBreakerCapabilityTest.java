@@ -0,0 +1,115 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.util.Collections;
+import java.util.Optional;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.AsyncClient;
+import feign.Feign;
+import feign.FeignException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.Retryer;
+import feign.Util;
+import feign.circuitbreaker.CircuitBreakerConfig.Scope;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class CircuitBreakerCapabilityTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  interface TestInterface {
+
+    @RequestLine("GET /a")
+    String a();
+
+    @RequestLine("GET /b")
+    String b();
+  }
+
+  @Test
+  public void failsFastOnceOpen() {
+    TestInterface api = api(Scope.TARGET);
+    server.enqueue(new MockResponse().setResponseCode(500));
+    server.enqueue(new MockResponse().setResponseCode(500));
+
+    assertThatThrownBy(api::a).isInstanceOf(FeignException.InternalServerError.class);
+    assertThatThrownBy(api::a).isInstanceOf(FeignException.InternalServerError.class);
+    assertThatThrownBy(api::b).isInstanceOf(CallNotPermittedException.class);
+
+    assertThat(server.getRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void methodScopeIsolatesMethods() {
+    TestInterface api = api(Scope.METHOD);
+    server.enqueue(new MockResponse().setResponseCode(500));
+    server.enqueue(new MockResponse().setResponseCode(500));
+    server.enqueue(new MockResponse().setBody("ok"));
+
+    assertThatThrownBy(api::a).isInstanceOf(FeignException.InternalServerError.class);
+    assertThatThrownBy(api::a).isInstanceOf(FeignException.InternalServerError.class);
+    assertThatThrownBy(api::a).isInstanceOf(CallNotPermittedException.class);
+
+    assertThat(api.b()).isEqualTo("ok");
+  }
+
+  @Test
+  public void errorsAreRecorded() {
+    TestInterface api = api(Scope.TARGET, Feign.builder().client((request, options) -> {
+      throw new StackOverflowError();
+    }));
+
+    assertThatThrownBy(api::a).isInstanceOf(StackOverflowError.class);
+    assertThatThrownBy(api::a).isInstanceOf(StackOverflowError.class);
+    assertThatThrownBy(api::a).isInstanceOf(CallNotPermittedException.class);
+  }
+
+  @Test
+  public void asyncErrorsAreRecorded() {
+    AsyncClient<Object> client = new CircuitBreakerAsyncClient<>((request, options, context) -> {
+      throw new StackOverflowError();
+    }, CircuitBreakerConfig.builder().minimumNumberOfCalls(2).build());
+    Request request = Request.create(HttpMethod.GET, "http://localhost/a",
+        Collections.emptyMap(), null, Util.UTF_8, null);
+
+    for (int i = 0; i < 2; i++) {
+      assertThatThrownBy(() -> client.execute(request, new Request.Options(), Optional.empty()))
+          .isInstanceOf(StackOverflowError.class);
+    }
+    assertThat(client.execute(request, new Request.Options(), Optional.empty()))
+        .hasFailedWithThrowableThat().isInstanceOf(CallNotPermittedException.class);
+  }
+
+  private TestInterface api(Scope scope) {
+    return api(scope, Feign.builder());
+  }
+
+  private TestInterface api(Scope scope, Feign.Builder builder) {
+    return builder
+        .retryer(Retryer.NEVER_RETRY)
+        .addCapability(new CircuitBreakerCapability(CircuitBreakerConfig.builder()
+            .scope(scope)
+            .minimumNumberOfCalls(2)
+            .build()))
+        .target(TestInterface.class, "http://localhost:" + server.getPort());
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+import feign.circuitbreaker.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+
+  private final AtomicLong nanos = new AtomicLong();
+  private final CircuitBreaker circuitBreaker = new CircuitBreaker("test",
+      CircuitBreakerConfig.builder()
+          .slidingWindowSize(10)
+          .minimumNumberOfCalls(4)
+          .failureRateThreshold(50)
+          .slowCallDuration(1, TimeUnit.SECONDS)
+          .slowCallRateThreshold(75)
+          .waitDurationInOpenState(10, TimeUnit.SECONDS)
+          .permittedCallsInHalfOpenState(2)
+          .build(),
+      nanos::get);
+
+  @Test
+  public void staysClosedBelowMinimumNumberOfCalls() {
+    circuitBreaker.onError(0);
+    circuitBreaker.onError(0);
+    circuitBreaker.onError(0);
+
+    assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    assertThat(circuitBreaker.failureRate()).isEqualTo(-1);
+  }
+
+  @Test
+  public void opensAtFailureRateThreshold() {
+    circuitBreaker.onSuccess(0);
+    circuitBreaker.onSuccess(0);
+    circuitBreaker.onError(0);
+    assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+
+    circuitBreaker.onError(0);
+
+    assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  @Test
+  public void opensAtSlowCallRateThreshold() {
+    long slow = TimeUnit.SECONDS.toNanos(2);
+    circuitBreaker.onSuccess(slow);
+    circuitBreaker.onSuccess(slow);
+    circuitBreaker.onSuccess(slow);
+    circuitBreaker.onSuccess(0);
+
+    assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+  }
+
+  @Test
+  public void windowForgetsOldOutcomes() {
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.onSuccess(0);
+    }
+    circuitBreaker.onError(0);
+    for (int i = 0; i < 10; i++) {
+      circuitBreaker.onSuccess(0);
+    }
+
+    assertThat(circuitBreaker.failureRate()).isEqualTo(0);
+  }
+
+  @Test
+  public void halfOpenProbesCloseTheCircuit() {
+    open();
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+
+    circuitBreaker.onSuccess(0);
+    circuitBreaker.onSuccess(0);
+
+    assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+  }
+
+  @Test
+  public void halfOpenFailuresReopenTheCircuit() {
+    open();
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+    circuitBreaker.tryAcquirePermission();
+    circuitBreaker.tryAcquirePermission();
+
+    circuitBreaker.onSuccess(0);
+    circuitBreaker.onError(0);
+
+    assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+  }
+
+  private void open() {
+    for (int i = 0; i < 4; i++) {
+      circuitBreaker.onError(0);
+    }
+    assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+  }
+}
@@ -135,4 +135,40 @@ public class DefaultErrorDecoderTest {
 
     throw errorDecoder.decode("Service#foo()", response);
   }
+
+  @Test
+  public void stacklessExceptionsKeepStatusAndMessage() {
+    ErrorDecoder stackless = ErrorDecoder.Default.builder().stackTraces(false).build();
+    Response response = Response.builder()
+        .status(404)
+        .reason("Not Found")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(headers)
+        .body("missing", UTF_8)
+        .build();
+
+    Exception exception = stackless.decode("Service#foo()", response);
+
+    assertThat(exception).isInstanceOf(FeignException.NotFound.class)
+        .hasMessage("[404 Not Found] during [GET] to [/api] [Service#foo()]: [missing]");
+    assertThat(exception.getStackTrace()).isEmpty();
+    assertThat(((FeignException) exception).contentUTF8()).isEqualTo("missing");
+  }
+
+  @Test
+  public void maxBodyBytesBoundsCapturedBody() {
+    ErrorDecoder bounded = ErrorDecoder.Default.builder().maxBodyBytes(5).build();
+    Response response = Response.builder()
+        .status(409)
+        .reason("Conflict")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(headers)
+        .body("hello world", UTF_8)
+        .build();
+
+    FeignException exception = (FeignException) bounded.decode("Service#foo()", response);
+
+    assertThat(exception.contentUTF8()).isEqualTo("hello");
+    assertThat(exception.getStackTrace()).isNotEmpty();
+  }
 }
@@ -0,0 +1,208 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.collapser;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.lang.reflect.ParameterizedType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.Feign;
+import feign.FeignException;
+import feign.Param;
+import feign.RequestLine;
+import feign.Util;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+public class CollapsingCapabilityTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+
+  private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+  interface Users {
+
+    @Collapse(batchMethod = "getUsers", maxBatchSize = 4, windowMillis = 60_000)
+    @RequestLine("GET /users/{id}")
+    String getUser(@Param("id") String id);
+
+    @Collapse(batchMethod = "getUsers", maxBatchSize = 2, windowMillis = 60_000)
+    @RequestLine("GET /users/{id}")
+    CompletableFuture<String> getUserAsync(@Param("id") String id);
+
+    @Collapse(batchMethod = "getUsers", maxBatchSize = 100, windowMillis = 5)
+    @RequestLine("GET /users/{id}")
+    CompletableFuture<String> getUserSoon(@Param("id") String id);
+
+    @Collapse(batchMethod = "getUsersById", windowMillis = 5)
+    @RequestLine("GET /users/{id}")
+    String getUserFromMap(@Param("id") String id);
+
+    @RequestLine("GET /users?id={ids}")
+    List<String> getUsers(@Param("ids") List<String> ids);
+
+    @RequestLine("GET /users?id={ids}")
+    Map<String, String> getUsersById(@Param("ids") Set<String> ids);
+  }
+
+  interface Broken {
+
+    @Collapse(batchMethod = "missing")
+    @RequestLine("GET /users/{id}")
+    String getUser(@Param("id") String id);
+  }
+
+  @After
+  public void shutdown() {
+    callers.shutdownNow();
+  }
+
+  @Test
+  public void concurrentCallsShareOneBatch() throws Exception {
+    server.setDispatcher(echoUsers());
+    Users users = users();
+
+    List<Future<String>> results = new ArrayList<>();
+    for (String id : Arrays.asList("a", "b", "c", "d")) {
+      results.add(callers.submit(() -> users.getUser(id)));
+    }
+
+    for (int i = 0; i < results.size(); i++) {
+      assertThat(results.get(i).get()).isEqualTo("user-" + "abcd".charAt(i));
+    }
+    assertThat(server.getRequestCount()).isEqualTo(1);
+    RecordedRequest request = server.takeRequest();
+    assertThat(request.getRequestUrl().queryParameterValues("id"))
+        .containsExactlyInAnyOrder("a", "b", "c", "d");
+  }
+
+  @Test
+  public void duplicateKeysShareOneSlot() throws Exception {
+    server.setDispatcher(echoUsers());
+    Users users = users();
+
+    // the batch holds two distinct keys, so it is only sent once "b" arrives
+    CompletableFuture<String> first = users.getUserAsync("a");
+    CompletableFuture<String> duplicate = users.getUserAsync("a");
+    CompletableFuture<String> second = users.getUserAsync("b");
+
+    assertThat(first.get()).isEqualTo("user-a");
+    assertThat(duplicate.get()).isEqualTo("user-a");
+    assertThat(second.get()).isEqualTo("user-b");
+    assertThat(server.getRequestCount()).isEqualTo(1);
+    assertThat(server.takeRequest().getRequestUrl().queryParameterValues("id"))
+        .containsExactly("a", "b");
+  }
+
+  @Test
+  public void windowFlushesPartialBatches() throws Exception {
+    server.setDispatcher(echoUsers());
+    Users users = users();
+
+    // far below maxBatchSize, so only the window can send these; how the calls split across
+    // windows depends on timing, but every caller gets its own value either way
+    CompletableFuture<String> first = users.getUserSoon("a");
+    CompletableFuture<String> second = users.getUserSoon("b");
+
+    assertThat(first.get()).isEqualTo("user-a");
+    assertThat(second.get()).isEqualTo("user-b");
+  }
+
+  @Test
+  public void demultiplexesMaps() throws Exception {
+    server.enqueue(new MockResponse().setBody("a=user-a\n"));
+    Users users = users();
+
+    assertThat(users.getUserFromMap("a")).isEqualTo("user-a");
+  }
+
+  @Test
+  public void failuresReachEveryCaller() {
+    server.setDispatcher(new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        return new MockResponse().setResponseCode(503);
+      }
+    });
+    Users users = users();
+
+    CompletableFuture<String> first = users.getUserAsync("a");
+    CompletableFuture<String> second = users.getUserAsync("b");
+
+    assertThatThrownBy(first::join).hasCauseInstanceOf(FeignException.ServiceUnavailable.class);
+    assertThatThrownBy(second::join).hasCauseInstanceOf(FeignException.ServiceUnavailable.class);
+  }
+
+  @Test
+  public void rejectsUnknownBatchMethod() {
+    assertThatThrownBy(() -> Feign.builder()
+        .addCapability(new CollapsingCapability())
+        .target(Broken.class, "http://localhost"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("batch method missing");
+  }
+
+  private Users users() {
+    return Feign.builder()
+        .addCapability(new CollapsingCapability())
+        // one user per line, either "value" or "key=value"
+        .decoder((response, type) -> {
+          List<String> lines = new ArrayList<>();
+          for (String line : Util.toString(response.body().asReader(UTF_8)).split("\n")) {
+            if (!line.isEmpty()) {
+              lines.add(line);
+            }
+          }
+          if (((ParameterizedType) type).getRawType() == List.class) {
+            return lines;
+          }
+          Map<String, String> values = new LinkedHashMap<>();
+          for (String line : lines) {
+            String[] keyAndValue = line.split("=", 2);
+            values.put(keyAndValue[0], keyAndValue[1]);
+          }
+          return values;
+        })
+        .target(Users.class, "http://localhost:" + server.getPort());
+  }
+
+  private static Dispatcher echoUsers() {
+    return new Dispatcher() {
+      @Override
+      public MockResponse dispatch(RecordedRequest request) {
+        StringBuilder body = new StringBuilder();
+        for (String id : request.getRequestUrl().queryParameterValues("id")) {
+          body.append("user-").append(id).append('\n');
+        }
+        return new MockResponse().setBody(body.toString());
+      }
+    };
+  }
+}
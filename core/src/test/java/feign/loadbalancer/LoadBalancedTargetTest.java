@@ -0,0 +1,187 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.loadbalancer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.net.SocketTimeoutException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Rule;
+import org.junit.Test;
+import feign.AsyncFeign;
+import feign.Feign;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Retryer;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class LoadBalancedTargetTest {
+
+  @Rule
+  public final MockWebServer server1 = new MockWebServer();
+
+  @Rule
+  public final MockWebServer server2 = new MockWebServer();
+
+  private final AtomicLong nanos = new AtomicLong();
+
+  public interface TestInterface {
+
+    @RequestLine("GET /")
+    String get();
+
+    @RequestLine("GET /")
+    CompletableFuture<String> getAsync();
+  }
+
+  @Test
+  public void prefersLowerLatency() {
+    LoadBalancedTarget<TestInterface> target = target("http://a", "http://b");
+    Request first = target.apply(template());
+    Request second = target.apply(template());
+    respond(target, first, first.url().startsWith("http://a") ? 100 : 10);
+    respond(target, second, second.url().startsWith("http://a") ? 100 : 10);
+
+    for (int i = 0; i < 10; i++) {
+      Request request = target.apply(template());
+      assertThat(request.url()).startsWith("http://b");
+      respond(target, request, 10);
+    }
+  }
+
+  @Test
+  public void prefersFewerRequestsInFlight() {
+    LoadBalancedTarget<TestInterface> target = target("http://a", "http://b");
+    Request first = target.apply(template());
+    Request second = target.apply(template());
+
+    // the first request is still in flight, so the second went elsewhere
+    assertThat(first.url()).isNotEqualTo(second.url());
+  }
+
+  @Test
+  public void ejectsServersAfterConsecutiveFailures() {
+    LoadBalancedTarget<TestInterface> target = target("http://a", "http://b");
+    Server a = target.servers().get(0);
+    for (int i = 0; i < 50; i++) {
+      Request request = target.apply(template());
+      if (request.url().startsWith("http://a")) {
+        target.onError(request, new SocketTimeoutException(), 1);
+      } else {
+        respond(target, request, 100);
+      }
+    }
+
+    assertThat(a.isEjected(nanos.get())).isTrue();
+    for (int i = 0; i < 10; i++) {
+      Request request = target.apply(template());
+      assertThat(request.url()).startsWith("http://b");
+      respond(target, request, 100);
+    }
+
+    nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+    assertThat(a.isEjected(nanos.get())).isFalse();
+  }
+
+  @Test
+  public void refreshesServerList() {
+    AtomicReference<List<String>> urls =
+        new AtomicReference<>(Collections.singletonList("http://a"));
+    LoadBalancedTarget<TestInterface> target =
+        LoadBalancedTarget.builder(TestInterface.class, "test")
+            .servers(urls::get, 1, TimeUnit.MINUTES)
+            .build(nanos::get);
+
+    urls.set(Collections.singletonList("http://b/"));
+    assertThat(target.apply(template()).url()).startsWith("http://a");
+
+    nanos.addAndGet(TimeUnit.MINUTES.toNanos(1));
+    assertThat(target.apply(template()).url()).isEqualTo("http://b/");
+  }
+
+  @Test
+  public void feignReportsOutcomes() {
+    for (int i = 0; i < 3; i++) {
+      server1.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+    }
+    for (int i = 0; i < 10; i++) {
+      server2.enqueue(new MockResponse().setBody("ok"));
+    }
+    LoadBalancedTarget<TestInterface> target = LoadBalancedTarget
+        .builder(TestInterface.class, "test")
+        .servers(server1.url("/").toString(), server2.url("/").toString())
+        .consecutiveFailures(3)
+        .build();
+    TestInterface api = Feign.builder()
+        .retryer(new Retryer.Default(1, 1, 10))
+        .target(target);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(api.get()).isEqualTo("ok");
+    }
+
+    assertThat(server2.getRequestCount()).isEqualTo(5);
+    assertThat(target.servers()).extracting(Server::inFlight).containsOnly(0);
+  }
+
+  @Test
+  public void asyncFeignReportsOutcomes() throws Exception {
+    server1.enqueue(new MockResponse().setBody("ok"));
+    server2.enqueue(new MockResponse().setBody("ok"));
+    LoadBalancedTarget<TestInterface> target = LoadBalancedTarget
+        .builder(TestInterface.class, "test")
+        .servers(server1.url("/").toString(), server2.url("/").toString())
+        .build();
+    TestInterface api = AsyncFeign.asyncBuilder().target(target);
+
+    assertThat(api.getAsync().get()).isEqualTo("ok");
+    assertThat(api.getAsync().get()).isEqualTo("ok");
+
+    // feedback may complete just after the caller's future
+    for (int i = 0; i < 100 && target.servers().stream().anyMatch(s -> s.inFlight() > 0); i++) {
+      Thread.sleep(10);
+    }
+    assertThat(target.servers()).extracting(Server::inFlight).containsOnly(0);
+    assertThat(target.servers()).extracting(Server::latencyNanos).doesNotContain(0L);
+  }
+
+  private LoadBalancedTarget<TestInterface> target(String... urls) {
+    return LoadBalancedTarget.builder(TestInterface.class, "test")
+        .servers(urls)
+        .consecutiveFailures(3)
+        .build(nanos::get);
+  }
+
+  private static void respond(LoadBalancedTarget<?> target, Request request, long millis) {
+    target.onResponse(request, ok(request), TimeUnit.MILLISECONDS.toNanos(millis));
+  }
+
+  private static RequestTemplate template() {
+    return new RequestTemplate().method(HttpMethod.GET).uri("/")
+        .resolve(Collections.emptyMap());
+  }
+
+  private static Response ok(Request request) {
+    return Response.builder().status(200).request(request).headers(Collections.emptyMap())
+        .build();
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import feign.Contract;
+import feign.MethodMetadata;
+import feign.RequestLine;
+import feign.Target;
+
+public class MeterCacheTest {
+
+  interface Api {
+
+    @RequestLine("GET /a")
+    void a();
+
+    @RequestLine("GET /b")
+    void b();
+  }
+
+  private final List<MethodMetadata> methods =
+      new Contract.Default().parseAndValidateMetadata(Api.class);
+  private final AtomicInteger created = new AtomicInteger();
+
+  @Test
+  public void resolvesOncePerTargetAndMethod() {
+    MeterCache<Integer> cache = new MeterCache<>((metadata, target) -> created.incrementAndGet());
+    Target<Api> first = new Target.HardCodedTarget<>(Api.class, "http://a");
+    Target<Api> second = new Target.HardCodedTarget<>(Api.class, "http://b");
+
+    Integer handle = cache.get(methods.get(0), first);
+
+    assertThat(cache.get(methods.get(0), first)).isSameAs(handle);
+    assertThat(cache.get(methods.get(1), first)).isNotEqualTo(handle);
+    assertThat(cache.get(methods.get(0), second)).isNotEqualTo(handle);
+    assertThat(created).hasValue(3);
+  }
+
+  @Test
+  public void resolvesOncePerStatus() {
+    MeterCache.ByStatus<String> byStatus =
+        new MeterCache.ByStatus<>(status -> status + "#" + created.incrementAndGet());
+
+    assertThat(byStatus.get(200)).isEqualTo("200#1");
+    assertThat(byStatus.get(404)).isEqualTo("404#2");
+    assertThat(byStatus.get(200)).isEqualTo("200#1");
+    assertThat(created).hasValue(2);
+  }
+
+  @Test
+  public void keepsResolvingStatusesPastTheCap() {
+    MeterCache.ByStatus<Integer> byStatus = new MeterCache.ByStatus<>(status -> status);
+
+    for (int status = 100; status < 200; status++) {
+      assertThat(byStatus.get(status)).isEqualTo(status);
+    }
+  }
+}
@@ -18,9 +18,16 @@ import feign.QueryMapEncoder;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -72,6 +79,38 @@ public class BeanQueryMapEncoderTest {
     assertEquals("Unexpected encoded query map", expected, encodedMap);
   }
 
+  @Test
+  public void testDefaultEncoder_concurrentFirstUse() throws Exception {
+    Map<String, Object> expected = new HashMap<>();
+    expected.put("page", 1);
+    expected.put("size", 10);
+    expected.put("query", "queryString");
+    SubClass subClass = new SubClass();
+    subClass.setPage(1);
+    subClass.setSize(10);
+    subClass.setQuery("queryString");
+
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<Map<String, Object>>> results = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        results.add(executor.submit((Callable<Map<String, Object>>) () -> {
+          start.await();
+          return encoder.encode(subClass);
+        }));
+      }
+      start.countDown();
+
+      for (Future<Map<String, Object>> result : results) {
+        assertEquals("Unexpected encoded query map", expected, result.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   @Test
   public void testDefaultEncoder_withOverriddenParamName() {
     HashSet<Object> expectedNames = new HashSet<>();
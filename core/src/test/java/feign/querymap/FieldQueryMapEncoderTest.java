@@ -67,6 +67,18 @@ public class FieldQueryMapEncoderTest {
     assertEquals("@Param ignored", expectedNames, encodedMap.keySet());
   }
 
+  @Test
+  public void testDefaultEncoder_haveSuperClass() {
+    final Map<String, Object> expected = new HashMap<>();
+    expected.put("page", 1);
+    expected.put("size", 10);
+    expected.put("query", "queryString");
+
+    final Map<String, Object> encodedMap = encoder.encode(new SubClass(1, 10, "queryString"));
+
+    assertEquals("Unexpected encoded query map", expected, encodedMap);
+  }
+
   class NormalObject {
 
     private NormalObject(String foo, String bar) {
@@ -90,4 +102,24 @@ public class FieldQueryMapEncoderTest {
     private final String bar;
   }
 
+  class SuperClass {
+
+    private SuperClass(int page, int size) {
+      this.page = page;
+      this.size = size;
+    }
+
+    private final int page;
+    private final int size;
+  }
+
+  class SubClass extends SuperClass {
+
+    private SubClass(int page, int size, String query) {
+      super(page, size);
+      this.query = query;
+    }
+
+    private final String query;
+  }
 }
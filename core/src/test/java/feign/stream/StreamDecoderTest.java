@@ -101,6 +101,23 @@ public class StreamDecoderTest {
     }
   }
 
+  @Test
+  public void delegatesOtherTypes() throws IOException {
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .headers(Collections.emptyMap())
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .body("feign", UTF_8)
+        .build();
+
+    StreamDecoder decoder = StreamDecoder.create((r, t) -> {
+      throw new AssertionError("iterator decoder used for " + t);
+    }, (r, t) -> Util.toString(r.body().asReader(UTF_8)));
+
+    assertThat(decoder.decode(response, String.class)).isEqualTo("feign");
+  }
+
   static class TestCloseableIterator implements Iterator<String>, Closeable {
     boolean called;
     boolean closed;
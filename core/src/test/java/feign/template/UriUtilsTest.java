@@ -41,4 +41,29 @@ public class UriUtilsTest {
     String encoded = UriUtils.encode(withReserved, UTF_8, true);
     assertThat(encoded).isEqualTo("/api/user@host:port#section[a-z]/data");
   }
+
+  /**
+   * already pct-encoded triplets are kept, everything around them is encoded.
+   */
+  @Test
+  public void pctEncodeSkipsEncodedTriplets() {
+    assertThat(UriUtils.encode("a b%2Fc%2fd e", UTF_8, false))
+        .isEqualTo("a%20b%2Fc%2fd%20e");
+    assertThat(UriUtils.encode("100%", UTF_8, false)).isEqualTo("100%25");
+    assertThat(UriUtils.encode("%2", UTF_8, false)).isEqualTo("%252");
+    assertThat(UriUtils.encode("%zz%41", UTF_8, false)).isEqualTo("%25zz%41");
+  }
+
+  @Test
+  public void isEncoded() {
+    assertThat(UriUtils.isEncoded("a%2Fb", UTF_8)).isTrue();
+    assertThat(UriUtils.isEncoded("ab", UTF_8)).isFalse();
+    assertThat(UriUtils.isEncoded("a%2", UTF_8)).isFalse();
+    assertThat(UriUtils.isEncoded("a/%2F", UTF_8)).isFalse();
+  }
+
+  @Test
+  public void pctEncodeNonAscii() {
+    assertThat(UriUtils.encode("caf\u00e9", UTF_8)).isEqualTo("caf%C3%A9");
+  }
 }
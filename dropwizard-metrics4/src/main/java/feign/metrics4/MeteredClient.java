@@ -15,10 +15,12 @@ package feign.metrics4;
 
 
 import java.io.IOException;
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import feign.*;
 import feign.Request.Options;
+import feign.metrics.MeterCache;
 
 /**
  * Warp feign {@link Client} with metrics.
@@ -29,6 +31,7 @@ public class MeteredClient implements Client {
   private final MetricRegistry metricRegistry;
   private final FeignMetricName metricName;
   private final MetricSuppliers metricSuppliers;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredClient(Client client, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -41,26 +44,13 @@ public class MeteredClient implements Client {
   @Override
   public Response execute(Request request, Options options) throws IOException {
     final RequestTemplate template = request.requestTemplate();
-    try (final Timer.Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
+    try (final Timer.Context classTimer = meters.timer.time()) {
       Response response = client.execute(request, options);
-      metricRegistry.meter(
-          MetricRegistry.name(
-              metricName.metricName(template.methodMetadata(), template.feignTarget(),
-                  "http_response_code"),
-              "status_group", response.status() / 100 + "xx", "http_status",
-              String.valueOf(response.status())),
-          metricSuppliers.meters()).mark();
+      meters.responseCodes.get(response.status()).mark();
       return response;
     } catch (FeignException e) {
-      metricRegistry.meter(
-          MetricRegistry.name(
-              metricName.metricName(template.methodMetadata(), template.feignTarget(),
-                  "http_response_code"),
-              "status_group", e.status() / 100 + "xx", "http_status", String.valueOf(e.status())),
-          metricSuppliers.meters()).mark();
+      meters.responseCodes.get(e.status()).mark();
       throw e;
     } catch (IOException | RuntimeException e) {
       throw e;
@@ -69,4 +59,20 @@ public class MeteredClient implements Client {
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final MeterCache.ByStatus<Meter> responseCodes;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      final String responseCode =
+          metricName.metricName(methodMetadata, target, "http_response_code");
+      this.responseCodes = new MeterCache.ByStatus<>(status -> metricRegistry.meter(
+          MetricRegistry.name(responseCode,
+              "status_group", status / 100 + "xx", "http_status", String.valueOf(status)),
+          metricSuppliers.meters()));
+    }
+  }
 }
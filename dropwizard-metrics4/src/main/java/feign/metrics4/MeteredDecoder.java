@@ -16,13 +16,17 @@ package feign.metrics4;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import feign.FeignException;
+import feign.MethodMetadata;
 import feign.RequestTemplate;
 import feign.Response;
+import feign.Target;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import feign.metrics.MeterCache;
 
 /**
  * Warp feign {@link Decoder} with metrics.
@@ -33,6 +37,7 @@ public class MeteredDecoder implements Decoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredDecoder(Decoder decoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -46,6 +51,7 @@ public class MeteredDecoder implements Decoder {
   public Object decode(Response response, Type type)
       throws IOException, DecodeException, FeignException {
     final RequestTemplate template = response.request().requestTemplate();
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
     final MeteredBody body = response.body() == null
         ? null
         : new MeteredBody(response.body());
@@ -53,22 +59,28 @@ public class MeteredDecoder implements Decoder {
     response = response.toBuilder().body(body).build();
 
     final Object decoded;
-    try (final Timer.Context classTimer =
-        metricRegistry
-            .timer(metricName.metricName(template.methodMetadata(), template.feignTarget()),
-                metricSuppliers.timers())
-            .time()) {
+    try (final Timer.Context classTimer = meters.timer.time()) {
       decoded = decoder.decode(response, type);
     }
 
     if (body != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(),
-              "response_size"),
-          metricSuppliers.histograms()).update(body.count());
+      meters.responseSize.update(body.count());
     }
 
     return decoded;
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final Histogram responseSize;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      this.responseSize = metricRegistry.histogram(
+          metricName.metricName(methodMetadata, target, "response_size"),
+          metricSuppliers.histograms());
+    }
+  }
 }
@@ -15,11 +15,15 @@ package feign.metrics4;
 
 
 import java.lang.reflect.Type;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
+import feign.MethodMetadata;
 import feign.RequestTemplate;
+import feign.Target;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import feign.metrics.MeterCache;
 
 /**
  * Warp feign {@link Encoder} with metrics.
@@ -30,6 +34,7 @@ public class MeteredEncoder implements Encoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredEncoder(Encoder encoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -42,18 +47,27 @@ public class MeteredEncoder implements Encoder {
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template)
       throws EncodeException {
-    try (final Timer.Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
+    try (final Timer.Context classTimer = meters.timer.time()) {
       encoder.encode(object, bodyType, template);
     }
 
     if (template.body() != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(), "request_size"),
-          metricSuppliers.histograms()).update(template.body().length);
+      meters.requestSize.update(template.body().length);
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final Histogram requestSize;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      this.requestSize = metricRegistry.histogram(
+          metricName.metricName(methodMetadata, target, "request_size"),
+          metricSuppliers.histograms());
+    }
+  }
 }
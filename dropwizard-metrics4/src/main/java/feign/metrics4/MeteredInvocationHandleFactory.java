@@ -14,6 +14,7 @@
 package feign.metrics4;
 
 
+import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
@@ -21,9 +22,13 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.*;
+import feign.metrics.MeterCache;
 
 /**
  * Warp feign {@link InvocationHandler} with metrics.
@@ -60,37 +65,53 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
     final Class clientClass = target.type();
 
     final InvocationHandler invocationHandle = invocationHandler.create(target, dispatch);
+    final Map<Method, Meters> meters = new HashMap<>();
+    for (Method method : dispatch.keySet()) {
+      if (!JAVA_OBJECT_METHODS.contains(method.getName()) && !Util.isDefault(method)) {
+        meters.put(method, new Meters(clientClass, method, target.url()));
+      }
+    }
     return (proxy, method, args) -> {
-
-      if (JAVA_OBJECT_METHODS.contains(method.getName())
-          || Util.isDefault(method)) {
+      final Meters methodMeters = meters.get(method);
+      if (methodMeters == null) {
         LOG.trace("Skipping metrics for method={}", method);
         return invocationHandle.invoke(proxy, method, args);
       }
 
-      try (final Timer.Context classTimer =
-          metricRegistry.timer(metricName.metricName(clientClass, method, target.url()),
-              metricSuppliers.timers()).time()) {
+      try (final Timer.Context classTimer = methodMeters.timer.time()) {
 
         return invocationHandle.invoke(proxy, method, args);
       } catch (final FeignException e) {
-        metricRegistry.meter(
-            MetricRegistry.name(metricName.metricName(clientClass, method, target.url()),
-                "http_error", e.status() / 100 + "xx", String.valueOf(e.status())),
-            metricSuppliers.meters()).mark();
+        methodMeters.httpErrors.get(e.status()).mark();
 
         throw e;
       } catch (final Throwable e) {
-        metricRegistry.meter(
-            MetricRegistry.name(metricName.metricName(clientClass, method, target.url()),
-                "exception", e.getClass().getSimpleName()),
-            metricSuppliers.meters())
-            .mark();
+        methodMeters.exception(e).mark();
 
         throw e;
       }
     };
   }
 
-
+  private final class Meters {
+
+    final String name;
+    final Timer timer;
+    final MeterCache.ByStatus<Meter> httpErrors;
+    final ConcurrentMap<Class<?>, Meter> exceptions = new ConcurrentHashMap<>();
+
+    Meters(Class<?> clientClass, Method method, String url) {
+      this.name = metricName.metricName(clientClass, method, url);
+      this.timer = metricRegistry.timer(name, metricSuppliers.timers());
+      this.httpErrors = new MeterCache.ByStatus<>(status -> metricRegistry.meter(
+          MetricRegistry.name(name, "http_error", status / 100 + "xx", String.valueOf(status)),
+          metricSuppliers.meters()));
+    }
+
+    Meter exception(Throwable e) {
+      return exceptions.computeIfAbsent(e.getClass(), type -> metricRegistry.meter(
+          MetricRegistry.name(name, "exception", type.getSimpleName()),
+          metricSuppliers.meters()));
+    }
+  }
 }
@@ -16,6 +16,7 @@ package feign.metrics4;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Map.Entry;
+import com.codahale.metrics.Counting;
 import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricRegistry;
 import feign.Capability;
@@ -83,5 +84,8 @@ public class Metrics4CapabilityTest
         .orElse(null);
   }
 
-
+  @Override
+  protected long getMetricCount(Metric metric) {
+    return ((Counting) metric).getCount();
+  }
 }
@@ -17,7 +17,11 @@ package feign.metrics5;
 import java.io.IOException;
 import feign.*;
 import feign.Request.Options;
+import feign.metrics.MeterCache;
+import io.dropwizard.metrics5.Counter;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -29,6 +33,7 @@ public class MeteredClient implements Client {
   private final MetricRegistry metricRegistry;
   private final FeignMetricName metricName;
   private final MetricSuppliers metricSuppliers;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredClient(Client client, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -41,25 +46,13 @@ public class MeteredClient implements Client {
   @Override
   public Response execute(Request request, Options options) throws IOException {
     final RequestTemplate template = request.requestTemplate();
-    try (final Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
+    try (final Context classTimer = meters.timer.time()) {
       Response response = client.execute(request, options);
-      metricRegistry.counter(
-          metricName
-              .metricName(template.methodMetadata(), template.feignTarget(), "http_response_code")
-              .tagged("http_status", String.valueOf(response.status()))
-              .tagged("status_group", response.status() / 100 + "xx"))
-          .inc();
+      meters.responseCodes.get(response.status()).inc();
       return response;
     } catch (FeignException e) {
-      metricRegistry.counter(
-          metricName
-              .metricName(template.methodMetadata(), template.feignTarget(), "http_response_code")
-              .tagged("http_status", String.valueOf(e.status()))
-              .tagged("status_group", e.status() / 100 + "xx"))
-          .inc();
+      meters.responseCodes.get(e.status()).inc();
       throw e;
     } catch (IOException | RuntimeException e) {
       throw e;
@@ -68,4 +61,20 @@ public class MeteredClient implements Client {
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final MeterCache.ByStatus<Counter> responseCodes;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      final MetricName responseCode =
+          metricName.metricName(methodMetadata, target, "http_response_code");
+      this.responseCodes = new MeterCache.ByStatus<>(status -> metricRegistry.counter(
+          responseCode
+              .tagged("http_status", String.valueOf(status))
+              .tagged("status_group", status / 100 + "xx")));
+    }
+  }
 }
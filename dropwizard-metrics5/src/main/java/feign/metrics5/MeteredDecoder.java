@@ -16,12 +16,21 @@ package feign.metrics5;
 
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.FeignException;
+import feign.MethodMetadata;
 import feign.RequestTemplate;
 import feign.Response;
+import feign.Target;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import feign.metrics.MeterCache;
+import io.dropwizard.metrics5.Histogram;
+import io.dropwizard.metrics5.Meter;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -33,6 +42,7 @@ public class MeteredDecoder implements Decoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredDecoder(Decoder decoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -46,6 +56,7 @@ public class MeteredDecoder implements Decoder {
   public Object decode(Response response, Type type)
       throws IOException, DecodeException, FeignException {
     final RequestTemplate template = response.request().requestTemplate();
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
     final MeteredBody body = response.body() == null
         ? null
         : new MeteredBody(response.body());
@@ -53,34 +64,43 @@ public class MeteredDecoder implements Decoder {
     response = response.toBuilder().body(body).build();
 
     final Object decoded;
-    try (final Context classTimer =
-        metricRegistry
-            .timer(metricName.metricName(template.methodMetadata(), template.feignTarget()),
-                metricSuppliers.timers())
-            .time()) {
+    try (final Context classTimer = meters.timer.time()) {
       decoded = decoder.decode(response, type);
     } catch (IOException | RuntimeException e) {
-      metricRegistry.meter(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(), "error_count")
-              .tagged("exception_name", e.getClass().getSimpleName()),
-          metricSuppliers.meters()).mark();
+      meters.errorCount(e).mark();
       throw e;
     } catch (Exception e) {
-      metricRegistry.meter(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(), "error_count")
-              .tagged("exception_name", e.getClass().getSimpleName()),
-          metricSuppliers.meters()).mark();
+      meters.errorCount(e).mark();
       throw new IOException(e);
     }
 
     if (body != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(),
-              "response_size"),
-          metricSuppliers.histograms()).update(body.count());
+      meters.responseSize.update(body.count());
     }
 
     return decoded;
   }
 
+  private final class Meters {
+
+    final MetricName errorCount;
+    final Timer timer;
+    final Histogram responseSize;
+    final ConcurrentMap<Class<?>, Meter> errorCounts = new ConcurrentHashMap<>();
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.errorCount = metricName.metricName(methodMetadata, target, "error_count");
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      this.responseSize = metricRegistry.histogram(
+          metricName.metricName(methodMetadata, target, "response_size"),
+          metricSuppliers.histograms());
+    }
+
+    Meter errorCount(Exception e) {
+      return errorCounts.computeIfAbsent(e.getClass(), type -> metricRegistry.meter(
+          errorCount.tagged("exception_name", type.getSimpleName()),
+          metricSuppliers.meters()));
+    }
+  }
 }
@@ -15,10 +15,15 @@ package feign.metrics5;
 
 
 import java.lang.reflect.Type;
+import feign.MethodMetadata;
 import feign.RequestTemplate;
+import feign.Target;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import feign.metrics.MeterCache;
+import io.dropwizard.metrics5.Histogram;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -30,6 +35,7 @@ public class MeteredEncoder implements Encoder {
   private final MetricRegistry metricRegistry;
   private final MetricSuppliers metricSuppliers;
   private final FeignMetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredEncoder(Encoder encoder, MetricRegistry metricRegistry,
       MetricSuppliers metricSuppliers) {
@@ -42,18 +48,27 @@ public class MeteredEncoder implements Encoder {
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template)
       throws EncodeException {
-    try (final Context classTimer =
-        metricRegistry.timer(
-            metricName.metricName(template.methodMetadata(), template.feignTarget()),
-            metricSuppliers.timers()).time()) {
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
+    try (final Context classTimer = meters.timer.time()) {
       encoder.encode(object, bodyType, template);
     }
 
     if (template.body() != null) {
-      metricRegistry.histogram(
-          metricName.metricName(template.methodMetadata(), template.feignTarget(), "request_size"),
-          metricSuppliers.histograms()).update(template.body().length);
+      meters.requestSize.update(template.body().length);
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final Histogram requestSize;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = metricRegistry.timer(metricName.metricName(methodMetadata, target),
+          metricSuppliers.timers());
+      this.requestSize = metricRegistry.histogram(
+          metricName.metricName(methodMetadata, target, "request_size"),
+          metricSuppliers.histograms());
+    }
+  }
 }
@@ -19,10 +19,17 @@ import org.slf4j.LoggerFactory;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.*;
+import feign.metrics.MeterCache;
+import io.dropwizard.metrics5.Meter;
+import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
+import io.dropwizard.metrics5.Timer;
 import io.dropwizard.metrics5.Timer.Context;
 
 /**
@@ -60,40 +67,55 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
     final Class clientClass = target.type();
 
     final InvocationHandler invocationHandle = invocationHandler.create(target, dispatch);
+    final Map<Method, Meters> meters = new HashMap<>();
+    for (Method method : dispatch.keySet()) {
+      if (!JAVA_OBJECT_METHODS.contains(method.getName()) && !Util.isDefault(method)) {
+        meters.put(method, new Meters(clientClass, method, target.url()));
+      }
+    }
     return (proxy, method, args) -> {
-
-      if (JAVA_OBJECT_METHODS.contains(method.getName())
-          || Util.isDefault(method)) {
+      final Meters methodMeters = meters.get(method);
+      if (methodMeters == null) {
         LOG.trace("Skipping metrics for method={}", method);
         return invocationHandle.invoke(proxy, method, args);
       }
 
-      try (final Context classTimer =
-          metricRegistry.timer(metricName.metricName(clientClass, method, target.url()),
-              metricSuppliers.timers()).time()) {
+      try (final Context classTimer = methodMeters.timer.time()) {
 
         return invocationHandle.invoke(proxy, method, args);
       } catch (final FeignException e) {
-        metricRegistry.meter(
-            metricName.metricName(clientClass, method, target.url())
-                .resolve("http_error")
-                .tagged("http_status", String.valueOf(e.status()))
-                .tagged("error_group", e.status() / 100 + "xx"),
-            metricSuppliers.meters()).mark();
+        methodMeters.httpErrors.get(e.status()).mark();
 
         throw e;
       } catch (final Throwable e) {
-        metricRegistry
-            .meter(metricName.metricName(clientClass, method, target.url())
-                .resolve("exception")
-                .tagged("exception_name", e.getClass().getSimpleName()),
-                metricSuppliers.meters())
-            .mark();
+        methodMeters.exception(e).mark();
 
         throw e;
       }
     };
   }
 
-
+  private final class Meters {
+
+    final MetricName name;
+    final Timer timer;
+    final MeterCache.ByStatus<Meter> httpErrors;
+    final ConcurrentMap<Class<?>, Meter> exceptions = new ConcurrentHashMap<>();
+
+    Meters(Class<?> clientClass, Method method, String url) {
+      this.name = metricName.metricName(clientClass, method, url);
+      this.timer = metricRegistry.timer(name, metricSuppliers.timers());
+      this.httpErrors = new MeterCache.ByStatus<>(status -> metricRegistry.meter(
+          name.resolve("http_error")
+              .tagged("http_status", String.valueOf(status))
+              .tagged("error_group", status / 100 + "xx"),
+          metricSuppliers.meters()));
+    }
+
+    Meter exception(Throwable e) {
+      return exceptions.computeIfAbsent(e.getClass(), type -> metricRegistry.meter(
+          name.resolve("exception").tagged("exception_name", type.getSimpleName()),
+          metricSuppliers.meters()));
+    }
+  }
 }
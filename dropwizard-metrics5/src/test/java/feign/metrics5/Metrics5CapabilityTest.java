@@ -20,6 +20,7 @@ import java.util.Map.Entry;
 import feign.Capability;
 import feign.Util;
 import feign.micrometer.AbstractMetricsTestBase;
+import io.dropwizard.metrics5.Counting;
 import io.dropwizard.metrics5.Metric;
 import io.dropwizard.metrics5.MetricName;
 import io.dropwizard.metrics5.MetricRegistry;
@@ -88,4 +89,8 @@ public class Metrics5CapabilityTest
         .orElse(null);
   }
 
+  @Override
+  protected long getMetricCount(Metric metric) {
+    return ((Counting) metric).getCount();
+  }
 }
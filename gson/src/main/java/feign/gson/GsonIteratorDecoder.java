@@ -0,0 +1,208 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import static feign.Util.UTF_8;
+import static feign.Util.ensureClosed;
+
+/**
+ * Gson decoder which returns a closeable iterator over a JSON array, or over a sequence of
+ * top-level JSON values. Elements are read as they are consumed, so large responses needn't be held
+ * in memory. JSON {@code null} elements are returned as {@code null}. The iterator closes the
+ * {@code Response} once it reaches the end or fails to parse. If it is not read to the end, it must
+ * be cast to {@code Closeable} and closed.
+ * <p>
+ * Each value is parsed with the {@code Gson} instance's leniency. Only the first token of each
+ * top-level value after the first is read leniently, because a strict reader rejects a second
+ * top-level value; a bare word such as {@code abc} in that position is accepted as a string.
+ * <p>
+ * Example: <br>
+ *
+ * <pre>
+ * <code>
+ * Feign.builder()
+ *   .decoder(StreamDecoder.create(GsonIteratorDecoder.create()))
+ *   .doNotCloseAfterDecode() // Required to fetch the iterator after the response is processed, need to be close
+ *   .target(GitHub.class, "https://api.github.com");
+ * interface GitHub {
+ *  {@literal @}RequestLine("GET /repos/{owner}/{repo}/contributors")
+ *   Stream<Contributor> contributors(@Param("owner") String owner, @Param("repo") String repo);
+ * }</code>
+ * </pre>
+ */
+public final class GsonIteratorDecoder implements Decoder {
+
+  private final Gson gson;
+
+  GsonIteratorDecoder(Gson gson) {
+    this.gson = gson;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    Type elementType = actualIteratorTypeArgument(type);
+    Reader reader = response.body().asReader(UTF_8);
+    if (!reader.markSupported()) {
+      reader = new BufferedReader(reader, 1);
+    }
+    // Read the first byte to see if we have any data
+    reader.mark(1);
+    if (reader.read() == -1) {
+      ensureClosed(reader);
+      return null;
+    }
+    reader.reset();
+    return new GsonIterator<>(gson.getAdapter(TypeToken.get(elementType)), gson, response,
+        reader);
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  public static GsonIteratorDecoder create() {
+    return create(Collections.<TypeAdapter<?>>emptyList());
+  }
+
+  public static GsonIteratorDecoder create(Iterable<TypeAdapter<?>> adapters) {
+    return new GsonIteratorDecoder(GsonFactory.create(adapters));
+  }
+
+  public static GsonIteratorDecoder create(Gson gson) {
+    return new GsonIteratorDecoder(gson);
+  }
+
+  static final class GsonIterator<T> implements Iterator<T>, Closeable {
+    private final TypeAdapter<T> adapter;
+    private final Response response;
+    private final JsonReader jsonReader;
+
+    private boolean started;
+    private boolean inArray;
+    private boolean done;
+    // separate from current, which is null for a JSON null element
+    private boolean hasCurrent;
+    private T current;
+
+    GsonIterator(TypeAdapter<T> adapter, Gson gson, Response response, Reader reader) {
+      this.adapter = adapter;
+      this.response = response;
+      this.jsonReader = gson.newJsonReader(reader);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (!hasCurrent) {
+        hasCurrent = readNext();
+      }
+      return hasCurrent;
+    }
+
+    private boolean readNext() {
+      if (done) {
+        return false;
+      }
+      try {
+        boolean first = !started;
+        if (first) {
+          started = true;
+          if (jsonReader.peek() == JsonToken.BEGIN_ARRAY) {
+            jsonReader.beginArray();
+            inArray = true;
+          }
+        }
+
+        if (inArray ? !jsonReader.hasNext() : !hasNextTopLevelValue(first)) {
+          ensureClosed(this);
+          return false;
+        }
+
+        current = adapter.read(jsonReader);
+        return true;
+      } catch (IOException | JsonParseException e) {
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+      }
+    }
+
+    /**
+     * A strict reader rejects anything after the first top-level value, so only the step onto the
+     * next value is lenient. The value itself is read with the configured leniency.
+     */
+    private boolean hasNextTopLevelValue(boolean first) throws IOException {
+      if (first) {
+        return jsonReader.peek() != JsonToken.END_DOCUMENT;
+      }
+      boolean lenient = jsonReader.isLenient();
+      jsonReader.setLenient(true);
+      try {
+        return jsonReader.peek() != JsonToken.END_DOCUMENT;
+      } finally {
+        jsonReader.setLenient(lenient);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      T next = current;
+      current = null;
+      hasCurrent = false;
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      done = true;
+      hasCurrent = false;
+      current = null;
+      ensureClosed(this.response);
+    }
+  }
+}
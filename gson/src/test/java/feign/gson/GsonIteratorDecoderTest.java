@@ -0,0 +1,172 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.gson;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.stream.StreamDecoder;
+
+public class GsonIteratorDecoderTest {
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  @Test
+  public void decodesArrayElements() throws IOException {
+    Iterator<Zone> zones = iterator(new TypeToken<Iterator<Zone>>() {}.getType(),
+        "[{\"name\":\"denominator.io.\"},{\"name\":\"denominator.io.\",\"id\":\"ABCD\"}]");
+
+    assertThat(zones.next()).isEqualTo(new Zone("denominator.io."));
+    assertThat(closed).isFalse();
+    assertThat(zones).containsExactly(new Zone("denominator.io.", "ABCD"));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void decodesTopLevelSequence() throws IOException {
+    Iterator<Integer> numbers =
+        iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "1\n2\n3\n");
+
+    assertThat(numbers).containsExactly(1, 2, 3);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void nullElementsAreElements() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "[1, null, 2]"))
+        .containsExactly(1, null, 2);
+    assertThat(closed).isTrue();
+
+    closed.set(false);
+    assertThat(iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "1 null 2"))
+        .containsExactly(1, null, 2);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void topLevelValuesAreParsedStrictly() throws IOException {
+    Iterator<Zone> zones = iterator(new TypeToken<Iterator<Zone>>() {}.getType(),
+        "{\"name\":\"denominator.io.\"}\n{name:'unquoted'}");
+
+    assertThat(zones.next()).isEqualTo(new Zone("denominator.io."));
+    assertThatThrownBy(zones::next).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyArray() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "[ ]")).isEmpty();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws IOException {
+    assertThat(iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "")).isNull();
+  }
+
+  @Test
+  public void malformedElementThrowsDecodeExceptionAndCloses() throws IOException {
+    Iterator<Zone> zones = iterator(new TypeToken<Iterator<Zone>>() {}.getType(),
+        "[{\"name\":\"denominator.io.\"},{\"name\":");
+
+    assertThat(zones.next()).isEqualTo(new Zone("denominator.io."));
+    assertThatThrownBy(zones::next).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void closeStopsIteration() throws IOException {
+    Iterator<Integer> numbers = iterator(new TypeToken<Iterator<Integer>>() {}.getType(), "[1,2]");
+
+    assertThat(numbers.next()).isEqualTo(1);
+    ((Closeable) numbers).close();
+
+    assertThat(closed).isTrue();
+    assertThat(numbers.hasNext()).isFalse();
+  }
+
+  @Test
+  public void streamsWithStreamDecoder() throws IOException {
+    Type type = new TypeToken<Stream<Integer>>() {}.getType();
+
+    @SuppressWarnings("unchecked")
+    Stream<Integer> numbers = (Stream<Integer>) StreamDecoder.create(GsonIteratorDecoder.create())
+        .decode(response("[1,2,3]"), type);
+
+    try (Stream<Integer> stream = numbers) {
+      assertThat(stream.limit(2).collect(Collectors.toList())).isEqualTo(Arrays.asList(1, 2));
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Iterator<T> iterator(Type type, String json) throws IOException {
+    return (Iterator<T>) GsonIteratorDecoder.create().decode(response(json), type);
+  }
+
+  private Response response(String json) {
+    byte[] bytes = json.getBytes(UTF_8);
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(bytes) {
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+            super.close();
+          }
+        }, bytes.length)
+        .build();
+  }
+
+  static class Zone extends LinkedHashMap<String, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    Zone() {
+      // for reflective instantiation.
+    }
+
+    Zone(String name) {
+      this(name, null);
+    }
+
+    Zone(String name, String id) {
+      put("name", name);
+      if (id != null) {
+        put("id", id);
+      }
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.RequestInterceptor;
+import static feign.Util.checkNotNull;
+
+/**
+ * The binary JSON data formats supported by this module. Both carry the same data model as JSON, so
+ * types that Jackson maps to JSON map to either format unchanged.
+ */
+public enum BinaryFormat {
+
+  SMILE("application/x-jackson-smile", SmileFactory.FORMAT_NAME_SMILE) {
+    @Override
+    JsonFactory factory() {
+      return new SmileFactory();
+    }
+  },
+  CBOR("application/cbor", CBORFactory.FORMAT_NAME) {
+    @Override
+    JsonFactory factory() {
+      return new CBORFactory();
+    }
+  };
+
+  private final String mediaType;
+  private final String formatName;
+
+  BinaryFormat(String mediaType, String formatName) {
+    this.mediaType = mediaType;
+    this.formatName = formatName;
+  }
+
+  /**
+   * The value used for {@code Content-Type} and {@code Accept} headers.
+   */
+  public String mediaType() {
+    return mediaType;
+  }
+
+  /**
+   * Adds {@code Accept: }{@link #mediaType()} to requests that don't already specify what they
+   * accept. Register this alongside a decoder for this format, so servers that negotiate content
+   * reply in it.
+   */
+  public RequestInterceptor accept() {
+    return template -> {
+      if (!template.headers().containsKey("Accept")) {
+        template.header("Accept", mediaType);
+      }
+    };
+  }
+
+  abstract JsonFactory factory();
+
+  ObjectMapper checkMapper(ObjectMapper mapper) {
+    checkNotNull(mapper, "mapper");
+    if (!formatName.equals(mapper.getFactory().getFormatName())) {
+      throw new IllegalArgumentException(String.format("%s mapper required, but was %s",
+          formatName, mapper.getFactory().getFormatName()));
+    }
+    return mapper;
+  }
+}
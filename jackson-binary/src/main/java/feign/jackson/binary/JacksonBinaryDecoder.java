@@ -0,0 +1,85 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import feign.Response;
+import feign.codec.Decoder;
+import static feign.Util.checkNotNull;
+
+/**
+ * Decodes Smile or CBOR response bodies. Empty bodies decode to null.
+ *
+ * @see JacksonBinaryEncoder
+ * @see JacksonBinaryIteratorDecoder
+ */
+public class JacksonBinaryDecoder implements Decoder {
+
+  private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+  public JacksonBinaryDecoder(BinaryFormat format) {
+    this(format, Collections.<Module>emptyList());
+  }
+
+  public JacksonBinaryDecoder(BinaryFormat format, Iterable<Module> modules) {
+    this(format, new ObjectMapper(checkNotNull(format, "format").factory())
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModules(modules));
+  }
+
+  /**
+   * @param mapper must be created with the {@code format}'s factory, for example
+   *        {@code new ObjectMapper(new SmileFactory())}.
+   */
+  public JacksonBinaryDecoder(BinaryFormat format, ObjectMapper mapper) {
+    this.mapper = checkNotNull(format, "format").checkMapper(mapper);
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    ObjectReader reader = reader(type);
+    try (JsonParser parser = reader.getFactory().createParser(response.body().asInputStream())) {
+      if (parser.nextToken() == null) {
+        return null;
+      }
+      return reader.readValue(parser);
+    } catch (RuntimeJsonMappingException e) {
+      if (e.getCause() != null && e.getCause() instanceof IOException) {
+        throw IOException.class.cast(e.getCause());
+      }
+      throw e;
+    }
+  }
+
+  private ObjectReader reader(Type type) {
+    ObjectReader reader = readers.get(type);
+    if (reader == null) {
+      reader = readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)));
+    }
+    return reader;
+  }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import static feign.Util.checkNotNull;
+
+/**
+ * Encodes request bodies as Smile or CBOR. Unless the request already has one, a
+ * {@code Content-Type} of the format's {@link BinaryFormat#mediaType() media type} is added.
+ *
+ * <pre>
+ * GitHub github = Feign.builder()
+ *     .encoder(new JacksonBinaryEncoder(BinaryFormat.SMILE))
+ *     .decoder(new JacksonBinaryDecoder(BinaryFormat.SMILE))
+ *     .requestInterceptor(BinaryFormat.SMILE.accept())
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public class JacksonBinaryEncoder implements Encoder {
+
+  private final BinaryFormat format;
+  private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+  public JacksonBinaryEncoder(BinaryFormat format) {
+    this(format, Collections.<Module>emptyList());
+  }
+
+  public JacksonBinaryEncoder(BinaryFormat format, Iterable<Module> modules) {
+    this(format, new ObjectMapper(checkNotNull(format, "format").factory())
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .registerModules(modules));
+  }
+
+  /**
+   * @param mapper must be created with the {@code format}'s factory, for example
+   *        {@code new ObjectMapper(new SmileFactory())}.
+   */
+  public JacksonBinaryEncoder(BinaryFormat format, ObjectMapper mapper) {
+    this.format = checkNotNull(format, "format");
+    this.mapper = format.checkMapper(mapper);
+  }
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    try {
+      template.body(writer(bodyType).writeValueAsBytes(object), null);
+    } catch (JsonProcessingException e) {
+      throw new EncodeException(e.getMessage(), e);
+    }
+    if (!template.headers().containsKey("Content-Type")) {
+      template.header("Content-Type", format.mediaType());
+    }
+  }
+
+  private ObjectWriter writer(Type type) {
+    ObjectWriter writer = writers.get(type);
+    if (writer == null) {
+      writer = writers.computeIfAbsent(type, t -> mapper.writerFor(mapper.constructType(t)));
+    }
+    return writer;
+  }
+}
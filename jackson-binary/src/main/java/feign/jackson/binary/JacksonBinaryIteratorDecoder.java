@@ -0,0 +1,169 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+
+/**
+ * Decodes a Smile or CBOR array into an {@code Iterator} that reads elements as they are consumed,
+ * so large responses needn't be held in memory. As with {@code JacksonIteratorDecoder}, the
+ * response is closed once the array ends or parsing fails; an iterator abandoned early must be cast
+ * to {@code Closeable} and closed.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .decoder(JacksonBinaryIteratorDecoder.create(BinaryFormat.CBOR))
+ *     .doNotCloseAfterDecode() // Required to fetch the iterator after the response is processed,
+ *                              // need to be close
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public final class JacksonBinaryIteratorDecoder implements Decoder {
+
+  private final ObjectMapper mapper;
+
+  JacksonBinaryIteratorDecoder(ObjectMapper mapper) {
+    this.mapper = mapper;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    JsonParser parser = mapper.getFactory().createParser(response.body().asInputStream());
+    if (parser.nextToken() == null) {
+      ensureClosed(parser);
+      return null;
+    }
+    return new BinaryIterator<Object>(actualIteratorTypeArgument(type), mapper, response, parser);
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  public static JacksonBinaryIteratorDecoder create(BinaryFormat format) {
+    return create(format, Collections.<Module>emptyList());
+  }
+
+  public static JacksonBinaryIteratorDecoder create(BinaryFormat format,
+                                                    Iterable<Module> modules) {
+    return new JacksonBinaryIteratorDecoder(
+        new ObjectMapper(checkNotNull(format, "format").factory())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .registerModules(modules));
+  }
+
+  public static JacksonBinaryIteratorDecoder create(BinaryFormat format, ObjectMapper mapper) {
+    return new JacksonBinaryIteratorDecoder(checkNotNull(format, "format").checkMapper(mapper));
+  }
+
+  static final class BinaryIterator<T> implements Iterator<T>, Closeable {
+    private final Response response;
+    private final JsonParser parser;
+    private final ObjectReader objectReader;
+    private boolean started;
+
+    private T current;
+
+    BinaryIterator(Type type, ObjectMapper mapper, Response response, JsonParser parser) {
+      this.response = response;
+      this.parser = parser;
+      this.objectReader = mapper.readerFor(mapper.constructType(type));
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null) {
+        current = readNext();
+      }
+      return current != null;
+    }
+
+    private T readNext() {
+      try {
+        // the decoder already advanced to the first token
+        JsonToken jsonToken = started ? parser.nextToken() : parser.currentToken();
+        started = true;
+        if (jsonToken == null) {
+          return null;
+        }
+
+        if (jsonToken == JsonToken.START_ARRAY) {
+          jsonToken = parser.nextToken();
+        }
+
+        if (jsonToken == JsonToken.END_ARRAY) {
+          ensureClosed(this);
+          return null;
+        }
+
+        return objectReader.readValue(parser);
+      } catch (IOException e) {
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (current != null) {
+        T tmp = current;
+        current = null;
+        return tmp;
+      }
+      T next = readNext();
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ensureClosed(parser);
+      ensureClosed(response);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.binary;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+
+public class JacksonBinaryCodecTest {
+
+  private static final Type ZONES = new TypeReference<List<Map<String, Object>>>() {}.getType();
+
+  @Test
+  public void roundTrips() throws IOException {
+    for (BinaryFormat format : BinaryFormat.values()) {
+      List<Map<String, Object>> zones = Arrays.asList(zone("denominator.io.", 1),
+          zone("feign.io.", 2));
+
+      RequestTemplate template = new RequestTemplate();
+      new JacksonBinaryEncoder(format).encode(zones, ZONES, template);
+
+      assertThat(template.headers().get("Content-Type")).containsExactly(format.mediaType());
+      assertThat(new JacksonBinaryDecoder(format).decode(response(template.body()), ZONES))
+          .isEqualTo(zones);
+    }
+  }
+
+  @Test
+  public void keepsExplicitContentType() {
+    RequestTemplate template = new RequestTemplate().header("Content-Type", "application/cbor");
+    new JacksonBinaryEncoder(BinaryFormat.CBOR).encode(zone("feign.io.", 1), Map.class, template);
+
+    assertThat(template.headers().get("Content-Type")).containsExactly("application/cbor");
+  }
+
+  @Test
+  public void encodingIsSmallerThanJson() throws IOException {
+    Map<String, Object> zone = zone("denominator.io.", 123456789);
+    byte[] json = new ObjectMapper().writeValueAsBytes(zone);
+
+    for (BinaryFormat format : BinaryFormat.values()) {
+      RequestTemplate template = new RequestTemplate();
+      new JacksonBinaryEncoder(format).encode(zone, Map.class, template);
+      assertThat(template.body().length).isLessThan(json.length);
+    }
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws IOException {
+    for (BinaryFormat format : BinaryFormat.values()) {
+      assertThat(new JacksonBinaryDecoder(format).decode(response(new byte[0]), String.class))
+          .isNull();
+      assertThat(JacksonBinaryIteratorDecoder.create(format).decode(response(new byte[0]),
+          new TypeReference<Iterator<String>>() {}.getType())).isNull();
+    }
+  }
+
+  @Test
+  public void iteratesArrays() throws IOException {
+    for (BinaryFormat format : BinaryFormat.values()) {
+      byte[] body = new ObjectMapper(format.factory()).writeValueAsBytes(
+          Arrays.asList(zone("a.", 1), zone("b.", 2), zone("c.", 3)));
+      AtomicBoolean closed = new AtomicBoolean();
+      Response response = Response.builder()
+          .status(200)
+          .reason("OK")
+          .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+          .headers(Collections.emptyMap())
+          .body(new ByteArrayInputStream(body) {
+            @Override
+            public void close() throws IOException {
+              closed.set(true);
+              super.close();
+            }
+          }, body.length)
+          .build();
+
+      @SuppressWarnings("unchecked")
+      Iterator<Object> zones = (Iterator<Object>) JacksonBinaryIteratorDecoder.create(format)
+          .decode(response, new TypeReference<Iterator<Map<String, Object>>>() {}.getType());
+
+      assertThat(zones.next()).isEqualTo(zone("a.", 1));
+      assertThat(closed).isFalse();
+      assertThat(zones).containsExactly(zone("b.", 2), zone("c.", 3));
+      assertThat(closed).isTrue();
+    }
+  }
+
+  @Test
+  public void iteratorCanBeClosedEarly() throws IOException {
+    byte[] body = new ObjectMapper(new CBORFactory()).writeValueAsBytes(Arrays.asList(1, 2, 3));
+    Iterator<?> numbers = (Iterator<?>) JacksonBinaryIteratorDecoder.create(BinaryFormat.CBOR)
+        .decode(response(body), new TypeReference<Iterator<Integer>>() {}.getType());
+
+    assertThat(numbers.next()).isEqualTo(1);
+    ((Closeable) numbers).close();
+  }
+
+  @Test
+  public void acceptAddsHeaderUnlessPresent() {
+    RequestTemplate template = new RequestTemplate();
+    BinaryFormat.SMILE.accept().apply(template);
+    assertThat(template.headers().get("Accept")).containsExactly("application/x-jackson-smile");
+
+    RequestTemplate json = new RequestTemplate().header("accept", "application/json");
+    BinaryFormat.SMILE.accept().apply(json);
+    assertThat(json.headers().get("Accept")).containsExactly("application/json");
+  }
+
+  @Test
+  public void rejectsMapperOfOtherFormat() {
+    assertThatThrownBy(() -> new JacksonBinaryDecoder(BinaryFormat.SMILE, new ObjectMapper()))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Smile mapper required, but was JSON");
+    assertThatThrownBy(
+        () -> new JacksonBinaryEncoder(BinaryFormat.SMILE, new ObjectMapper(new CBORFactory())))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static Map<String, Object> zone(String name, int id) {
+    Map<String, Object> zone = new LinkedHashMap<>();
+    zone.put("name", name);
+    zone.put("id", id);
+    return zone;
+  }
+
+  private static Response response(byte[] body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(body)
+        .build();
+  }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.jr;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.jr.ob.JSON;
+import com.fasterxml.jackson.jr.ob.JacksonJrExtension;
+import com.fasterxml.jackson.jr.ob.ValueIterator;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import static feign.Util.ensureClosed;
+
+/**
+ * A {@link Decoder} that uses Jackson Jr's {@link JSON#beanSequenceFrom(Class, Object)} to return a
+ * closeable iterator over a JSON array, or over a sequence of top-level JSON values. Elements are
+ * read as they are consumed, and the {@code Response} is closed once the iterator reaches the end
+ * or fails to parse. If it is not read to the end, it must be cast to {@code Closeable} and closed.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .decoder(StreamDecoder.create(new JacksonJrIteratorDecoder()))
+ *     .doNotCloseAfterDecode() // Required to fetch the iterator after the response is processed
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public class JacksonJrIteratorDecoder extends JacksonJrMapper implements Decoder {
+
+  public JacksonJrIteratorDecoder() {
+    super();
+  }
+
+  /**
+   * Construct with a custom {@link JSON} to use for decoding
+   *
+   * @param mapper the mapper to use
+   */
+  public JacksonJrIteratorDecoder(JSON mapper) {
+    super(mapper);
+  }
+
+  /**
+   * Construct with a series of {@link JacksonJrExtension} objects that are registered into the
+   * {@link JSON}
+   *
+   * @param iterable the source of the extensions
+   */
+  public JacksonJrIteratorDecoder(Iterable<JacksonJrExtension> iterable) {
+    super(iterable);
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    Class<?> elementType = elementType(response, type);
+    if (response.body() == null) {
+      return null;
+    }
+    JsonParser parser =
+        mapper.getStreamingFactory().createParser(response.body().asReader(response.charset()));
+    JsonToken first = parser.nextToken();
+    if (first == null) {
+      ensureClosed(parser);
+      return null;
+    }
+    if (first == JsonToken.START_ARRAY) {
+      // iterate the array's elements; the sequence ends at the matching END_ARRAY
+      if (parser.nextToken() == JsonToken.END_ARRAY) {
+        // there are none, and beanSequenceFrom would read END_ARRAY as one
+        return new JacksonJrIterator<>(null, parser, response);
+      }
+    }
+    return new JacksonJrIterator<>(mapper.beanSequenceFrom(elementType, parser), parser,
+        response);
+  }
+
+  private static Class<?> elementType(Response response, Type type) {
+    if (type instanceof ParameterizedType
+        && Iterator.class.equals(((ParameterizedType) type).getRawType())) {
+      Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+      if (elementType instanceof Class) {
+        return (Class<?>) elementType;
+      }
+    }
+    throw new DecodeException(500, "Cannot decode type: " + type.getTypeName(), response.request());
+  }
+
+  static final class JacksonJrIterator<T> implements Iterator<T>, Closeable {
+    // null for an empty array
+    private final ValueIterator<T> values;
+    private final JsonParser parser;
+    private final Response response;
+
+    JacksonJrIterator(ValueIterator<T> values, JsonParser parser, Response response) {
+      this.values = values;
+      this.parser = parser;
+      this.response = response;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        if (values != null && values.hasNextValue()) {
+          return true;
+        }
+      } catch (IOException e) {
+        throw decodeException(e);
+      }
+      ensureClosed(this);
+      return false;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        return values.nextValue();
+      } catch (IOException e) {
+        throw decodeException(e);
+      }
+    }
+
+    private DecodeException decodeException(IOException e) {
+      ensureClosed(this);
+      return new DecodeException(response.status(), e.getMessage(), response.request(), e);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      ensureClosed(values);
+      ensureClosed(parser);
+      ensureClosed(response);
+    }
+  }
+}
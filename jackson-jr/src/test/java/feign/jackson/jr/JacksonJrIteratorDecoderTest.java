@@ -0,0 +1,146 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jackson.jr;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.fasterxml.jackson.core.type.TypeReference;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.stream.StreamDecoder;
+
+public class JacksonJrIteratorDecoderTest {
+
+  private static final Type CARS = new TypeReference<Iterator<Car>>() {}.getType();
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  @Test
+  public void decodesArrayElements() throws IOException {
+    Iterator<Car> cars = iterator(CARS, "[{\"name\":\"Megane\"},{\"name\":\"C4\"}]");
+
+    assertThat(cars.next().name).isEqualTo("Megane");
+    assertThat(closed).isFalse();
+    assertThat(cars.next().name).isEqualTo("C4");
+    assertThat(cars.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void decodesTopLevelSequence() throws IOException {
+    Iterator<Car> cars = iterator(CARS, "{\"name\":\"Megane\"}\n{\"name\":\"C4\"}\n");
+
+    assertThat(cars.next().name).isEqualTo("Megane");
+    assertThat(cars.next().name).isEqualTo("C4");
+    assertThat(cars.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyArray() throws IOException {
+    assertThat(iterator(CARS, "[]")).isEmpty();
+    assertThat(closed).isTrue();
+
+    closed.set(false);
+    assertThat(iterator(CARS, "[ ]")).isEmpty();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws IOException {
+    assertThat(iterator(CARS, " ")).isNull();
+  }
+
+  @Test
+  public void malformedElementThrowsDecodeExceptionAndCloses() throws IOException {
+    Iterator<Car> cars = iterator(CARS, "[{\"name\":\"Megane\"},{\"name\":");
+
+    assertThat(cars.next().name).isEqualTo("Megane");
+    assertThatThrownBy(cars::next).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void closeStopsIteration() throws IOException {
+    Iterator<Car> cars = iterator(CARS, "[{\"name\":\"Megane\"},{\"name\":\"C4\"}]");
+
+    assertThat(cars.next().name).isEqualTo("Megane");
+    ((Closeable) cars).close();
+
+    assertThat(closed).isTrue();
+    assertThat(cars.hasNext()).isFalse();
+  }
+
+  @Test
+  public void rejectsUnsupportedTypes() {
+    assertThatThrownBy(() -> iterator(new TypeReference<List<Car>>() {}.getType(), "[]"))
+        .isInstanceOf(DecodeException.class)
+        .hasMessageContaining("Cannot decode type");
+  }
+
+  @Test
+  public void streamsWithStreamDecoder() throws IOException {
+    @SuppressWarnings("unchecked")
+    Stream<Car> cars = (Stream<Car>) StreamDecoder.create(new JacksonJrIteratorDecoder())
+        .decode(response("[{\"name\":\"Megane\"},{\"name\":\"C4\"}]"),
+            new TypeReference<Stream<Car>>() {}.getType());
+
+    try (Stream<Car> stream = cars) {
+      assertThat(stream.map(car -> car.name).collect(Collectors.toList()))
+          .containsExactly("Megane", "C4");
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Iterator<T> iterator(Type type, String json) throws IOException {
+    return (Iterator<T>) new JacksonJrIteratorDecoder().decode(response(json), type);
+  }
+
+  private Response response(String json) {
+    byte[] bytes = json.getBytes(UTF_8);
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(bytes) {
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+            super.close();
+          }
+        }, bytes.length)
+        .build();
+  }
+
+  public static class Car {
+    public String name;
+  }
+}
@@ -13,24 +13,34 @@
  */
 package feign.jackson;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.Reader;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
-import java.util.Collection;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
 import feign.Response;
-import feign.Util;
 import feign.codec.Decoder;
 
+/**
+ * Decodes JSON with Jackson. UTF-8 bodies, the default for JSON, are parsed from bytes, which is
+ * considerably faster than decoding them to characters first. Other charsets are read as text.
+ *
+ * <p>
+ * An {@link ObjectReader} is created once for each type. Configure the {@link ObjectMapper} before
+ * passing it here; later changes aren't seen by types already decoded.
+ */
 public class JacksonDecoder implements Decoder {
 
   private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
 
   public JacksonDecoder() {
     this(Collections.<Module>emptyList());
@@ -49,18 +59,15 @@ public class JacksonDecoder implements Decoder {
   public Object decode(Response response, Type type) throws IOException {
     if (response.body() == null)
       return null;
-    Reader reader = response.body().asReader(response.charset());
-    if (!reader.markSupported()) {
-      reader = new BufferedReader(reader, 1);
-    }
-    try {
-      // Read the first byte to see if we have any data
-      reader.mark(1);
-      if (reader.read() == -1) {
+    ObjectReader reader = reader(type);
+    Charset charset = response.charset();
+    try (JsonParser parser = isUtf8(charset)
+        ? reader.getFactory().createParser(response.body().asInputStream())
+        : reader.getFactory().createParser(response.body().asReader(charset))) {
+      if (parser.nextToken() == null) {
         return null; // Eagerly returning null avoids "No content to map due to end-of-input"
       }
-      reader.reset();
-      return mapper.readValue(reader, mapper.constructType(type));
+      return reader.readValue(parser);
     } catch (RuntimeJsonMappingException e) {
       if (e.getCause() != null && e.getCause() instanceof IOException) {
         throw IOException.class.cast(e.getCause());
@@ -69,4 +76,16 @@ public class JacksonDecoder implements Decoder {
     }
   }
 
+  private ObjectReader reader(Type type) {
+    ObjectReader reader = readers.get(type);
+    if (reader == null) {
+      reader = readers.computeIfAbsent(type, t -> mapper.readerFor(mapper.constructType(t)));
+    }
+    return reader;
+  }
+
+  private static boolean isUtf8(Charset charset) {
+    // ASCII is a subset of UTF-8
+    return StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset);
+  }
 }
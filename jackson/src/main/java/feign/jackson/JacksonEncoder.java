@@ -15,43 +15,79 @@ package feign.jackson;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import java.lang.reflect.Type;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.RequestTemplate;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
 import feign.Util;
 
+/**
+ * Encodes request bodies as UTF-8 JSON with Jackson. The default constructors pretty-print; use
+ * {@link #compact()} when payload size matters more than readability on the wire.
+ *
+ * <p>
+ * An {@link ObjectWriter} is created once for each body type, and serialization goes through the
+ * mapper's recycled buffers. Configure the {@link ObjectMapper} before passing it here; later
+ * changes aren't seen by types already encoded.
+ */
 public class JacksonEncoder implements Encoder {
 
   private final ObjectMapper mapper;
+  private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
 
   public JacksonEncoder() {
     this(Collections.<Module>emptyList());
   }
 
   public JacksonEncoder(Iterable<Module> modules) {
-    this(new ObjectMapper()
-        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
-        .configure(SerializationFeature.INDENT_OUTPUT, true)
-        .registerModules(modules));
+    this(defaultMapper(modules).configure(SerializationFeature.INDENT_OUTPUT, true));
   }
 
   public JacksonEncoder(ObjectMapper mapper) {
     this.mapper = mapper;
   }
 
+  /**
+   * Like {@link #JacksonEncoder()}, except output isn't indented.
+   */
+  public static JacksonEncoder compact() {
+    return compact(Collections.<Module>emptyList());
+  }
+
+  /**
+   * Like {@link #JacksonEncoder(Iterable)}, except output isn't indented.
+   */
+  public static JacksonEncoder compact(Iterable<Module> modules) {
+    return new JacksonEncoder(defaultMapper(modules));
+  }
+
+  private static ObjectMapper defaultMapper(Iterable<Module> modules) {
+    return new ObjectMapper()
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+        .registerModules(modules);
+  }
+
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template) {
     try {
-      JavaType javaType = mapper.getTypeFactory().constructType(bodyType);
-      template.body(mapper.writerFor(javaType).writeValueAsBytes(object), Util.UTF_8);
+      template.body(writer(bodyType).writeValueAsBytes(object), Util.UTF_8);
     } catch (JsonProcessingException e) {
       throw new EncodeException(e.getMessage(), e);
     }
   }
+
+  private ObjectWriter writer(Type type) {
+    ObjectWriter writer = writers.get(type);
+    if (writer == null) {
+      writer = writers.computeIfAbsent(type, t -> mapper.writerFor(mapper.constructType(t)));
+    }
+    return writer;
+  }
 }
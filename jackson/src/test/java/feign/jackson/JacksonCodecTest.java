@@ -26,6 +26,7 @@ import feign.Request;
 import feign.Request.HttpMethod;
 import feign.Util;
 import org.junit.Test;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -91,6 +92,22 @@ public class JacksonCodecTest {
         + "}");
   }
 
+  @Test
+  public void compactEncoderDoesNotIndent() {
+    Map<String, Object> form = new LinkedHashMap<String, Object>();
+    form.put("foo", 1);
+    form.put("bar", Arrays.asList(2, 3));
+    form.put("baz", null);
+
+    JacksonEncoder encoder = JacksonEncoder.compact();
+    for (int i = 0; i < 2; i++) { // the second encode uses the cached writer
+      RequestTemplate template = new RequestTemplate();
+      encoder.encode(form, new TypeReference<Map<String, ?>>() {}.getType(), template);
+
+      assertThat(template).hasBody("{\"foo\":1,\"bar\":[2,3]}");
+    }
+  }
+
   @Test
   public void decodes() throws Exception {
     List<Zone> zones = new LinkedList<>();
@@ -131,6 +148,36 @@ public class JacksonCodecTest {
     assertNull(new JacksonDecoder().decode(response, String.class));
   }
 
+  @Test
+  public void whitespaceBodyDecodesToNull() throws Exception {
+    Response response = Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(" \n", UTF_8)
+        .build();
+    assertNull(new JacksonDecoder().decode(response, String.class));
+  }
+
+  @Test
+  public void decodesUtf8Stream() throws Exception {
+    JacksonDecoder decoder = new JacksonDecoder();
+    for (int i = 0; i < 2; i++) { // the second decode uses the cached reader
+      Response response = Response.builder()
+          .status(200)
+          .reason("OK")
+          .request(
+              Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+          .headers(Collections.emptyMap())
+          .body(new ByteArrayInputStream("{\"name\":\"Zoë\",\"id\":\"Ω\"}".getBytes(UTF_8)),
+              null)
+          .build();
+      assertEquals(new Zone("Zoë", "Ω"),
+          decoder.decode(response, new TypeReference<Zone>() {}.getType()));
+    }
+  }
+
   @Test
   public void customDecoder() throws Exception {
     JacksonDecoder decoder = new JacksonDecoder(
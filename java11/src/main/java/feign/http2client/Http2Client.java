@@ -18,7 +18,6 @@ import feign.Request;
 import feign.Request.Options;
 import feign.Response;
 import feign.Util;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -70,11 +69,8 @@ public class Http2Client implements Client {
       throw new IOException("Invalid uri " + request.url(), e);
     }
 
-    final OptionalLong length = httpResponse.headers().firstValueAsLong("Content-Length");
-
     final Response response = Response.builder()
-        .body(new ByteArrayInputStream(httpResponse.body()),
-            length.isPresent() ? (int) length.getAsLong() : null)
+        .body(httpResponse.body())
         .reason(httpResponse.headers().firstValue("Reason-Phrase").orElse("OK"))
         .request(request)
         .status(httpResponse.statusCode())
@@ -17,6 +17,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
@@ -28,15 +30,26 @@ import javax.xml.bind.Unmarshaller;
  * Creates and caches JAXB contexts as well as creates Marshallers and Unmarshallers for each
  * context. Since JAXB contexts creation can be an expensive task, JAXB context can be preloaded on
  * factory creation otherwise they will be created and cached dynamically when needed.
+ *
+ * <p>
+ * Marshallers and Unmarshallers aren't thread-safe, but are expensive enough to create that codecs
+ * reuse them: {@link #acquireMarshaller(Class)} hands out a pooled instance, which the caller
+ * returns with {@link #releaseMarshaller(Class, Marshaller)} once done.
  */
 public final class JAXBContextFactory {
 
   private final ConcurrentHashMap<Class<?>, JAXBContext> jaxbContexts =
       new ConcurrentHashMap<>(64);
+  private final ConcurrentHashMap<Class<?>, BlockingQueue<Marshaller>> marshallers =
+      new ConcurrentHashMap<>(64);
+  private final ConcurrentHashMap<Class<?>, BlockingQueue<Unmarshaller>> unmarshallers =
+      new ConcurrentHashMap<>(64);
   private final Map<String, Object> properties;
+  private final int poolSize;
 
-  private JAXBContextFactory(Map<String, Object> properties) {
+  private JAXBContextFactory(Map<String, Object> properties, int poolSize) {
     this.properties = properties;
+    this.poolSize = poolSize;
   }
 
   /**
@@ -55,6 +68,55 @@ public final class JAXBContextFactory {
     return marshaller;
   }
 
+  /**
+   * Returns an idle {@link javax.xml.bind.Marshaller} for the supplied class, or creates one. The
+   * caller has exclusive use of it until passing it to
+   * {@link #releaseMarshaller(Class, Marshaller)}.
+   */
+  public Marshaller acquireMarshaller(Class<?> clazz) throws JAXBException {
+    Marshaller marshaller = poolSize > 0 ? pool(marshallers, clazz).poll() : null;
+    return marshaller != null ? marshaller : createMarshaller(clazz);
+  }
+
+  /**
+   * Makes a marshaller from {@link #acquireMarshaller(Class)} available for reuse. Don't release
+   * one whose last use failed; just drop it.
+   */
+  public void releaseMarshaller(Class<?> clazz, Marshaller marshaller) {
+    if (poolSize > 0) {
+      pool(marshallers, clazz).offer(marshaller);
+    }
+  }
+
+  /**
+   * Returns an idle {@link javax.xml.bind.Unmarshaller} for the supplied class, or creates one. The
+   * caller has exclusive use of it until passing it to
+   * {@link #releaseUnmarshaller(Class, Unmarshaller)}.
+   */
+  public Unmarshaller acquireUnmarshaller(Class<?> clazz) throws JAXBException {
+    Unmarshaller unmarshaller = poolSize > 0 ? pool(unmarshallers, clazz).poll() : null;
+    return unmarshaller != null ? unmarshaller : createUnmarshaller(clazz);
+  }
+
+  /**
+   * Makes an unmarshaller from {@link #acquireUnmarshaller(Class)} available for reuse. Don't
+   * release one whose last use failed; just drop it.
+   */
+  public void releaseUnmarshaller(Class<?> clazz, Unmarshaller unmarshaller) {
+    if (poolSize > 0) {
+      pool(unmarshallers, clazz).offer(unmarshaller);
+    }
+  }
+
+  private <T> BlockingQueue<T> pool(ConcurrentHashMap<Class<?>, BlockingQueue<T>> pools,
+                                    Class<?> clazz) {
+    BlockingQueue<T> pool = pools.get(clazz);
+    if (pool == null) {
+      pool = pools.computeIfAbsent(clazz, c -> new ArrayBlockingQueue<>(poolSize));
+    }
+    return pool;
+  }
+
   private void setMarshallerProperties(Marshaller marshaller) throws PropertyException {
     for (Entry<String, Object> en : properties.entrySet()) {
       marshaller.setProperty(en.getKey(), en.getValue());
@@ -90,6 +152,7 @@ public final class JAXBContextFactory {
   public static class Builder {
 
     private final Map<String, Object> properties = new HashMap<>(10);
+    private int poolSize = 16;
 
     /**
      * Sets the jaxb.encoding property of any Marshaller created by this factory.
@@ -149,12 +212,25 @@ public final class JAXBContextFactory {
       return this;
     }
 
+    /**
+     * Sets how many idle Marshallers, and separately Unmarshallers, are kept per class for reuse.
+     * Default is 16. Extra instances needed under higher concurrency are created and discarded.
+     * Zero disables pooling.
+     */
+    public Builder withPoolSize(int poolSize) {
+      if (poolSize < 0) {
+        throw new IllegalArgumentException("poolSize must not be negative, was " + poolSize);
+      }
+      this.poolSize = poolSize;
+      return this;
+    }
+
     /**
      * Creates a new {@link feign.jaxb.JAXBContextFactory} instance with a lazy loading cached
      * context
      */
     public JAXBContextFactory build() {
-      return new JAXBContextFactory(properties);
+      return new JAXBContextFactory(properties, poolSize);
     }
 
     /**
@@ -167,7 +243,7 @@ public final class JAXBContextFactory {
      *         likely due to missing JAXB annotations
      */
     public JAXBContextFactory build(List<Class<?>> classes) throws JAXBException {
-      JAXBContextFactory factory = new JAXBContextFactory(properties);
+      JAXBContextFactory factory = new JAXBContextFactory(properties, poolSize);
       factory.preloadContextCache(classes);
       return factory;
     }
@@ -16,7 +16,10 @@ package feign.jaxb;
 import java.io.IOException;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.sax.SAXSource;
@@ -26,6 +29,7 @@ import feign.codec.DecodeException;
 import feign.codec.Decoder;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
 /**
  * Decodes responses using JAXB. <br>
@@ -49,8 +53,13 @@ import org.xml.sax.SAXException;
  */
 public class JAXBDecoder implements Decoder {
 
+  private static final int XML_READER_POOL_SIZE = 16;
+
   private final JAXBContextFactory jaxbContextFactory;
   private final boolean namespaceAware;
+  private final BlockingQueue<XMLReader> xmlReaders =
+      new ArrayBlockingQueue<>(XML_READER_POOL_SIZE);
+  private SAXParserFactory saxParserFactory; // guarded by this
 
   public JAXBDecoder(JAXBContextFactory jaxbContextFactory) {
     this.jaxbContextFactory = jaxbContextFactory;
@@ -79,18 +88,15 @@ public class JAXBDecoder implements Decoder {
 
 
     try {
-      SAXParserFactory saxParserFactory = SAXParserFactory.newInstance();
-      /* Explicitly control sax configuration to prevent XXE attacks */
-      saxParserFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-      saxParserFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-      saxParserFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-      saxParserFactory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd",
-          false);
-      saxParserFactory.setNamespaceAware(namespaceAware);
-
-      return jaxbContextFactory.createUnmarshaller((Class<?>) type).unmarshal(new SAXSource(
-          saxParserFactory.newSAXParser().getXMLReader(),
-          new InputSource(response.body().asInputStream())));
+      Class<?> clazz = (Class<?>) type;
+      Unmarshaller unmarshaller = jaxbContextFactory.acquireUnmarshaller(clazz);
+      XMLReader xmlReader = acquireXMLReader();
+      Object result = unmarshaller.unmarshal(
+          new SAXSource(xmlReader, new InputSource(response.body().asInputStream())));
+      // only reuse parsers which completed normally
+      xmlReaders.offer(xmlReader);
+      jaxbContextFactory.releaseUnmarshaller(clazz, unmarshaller);
+      return result;
     } catch (JAXBException | ParserConfigurationException | SAXException e) {
       throw new DecodeException(response.status(), e.toString(), response.request(), e);
     } finally {
@@ -100,6 +106,27 @@ public class JAXBDecoder implements Decoder {
     }
   }
 
+  private XMLReader acquireXMLReader() throws ParserConfigurationException, SAXException {
+    XMLReader xmlReader = xmlReaders.poll();
+    if (xmlReader != null) {
+      return xmlReader;
+    }
+    synchronized (this) { // SAXParserFactory isn't thread-safe
+      if (saxParserFactory == null) {
+        SAXParserFactory factory = SAXParserFactory.newInstance();
+        /* Explicitly control sax configuration to prevent XXE attacks */
+        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd",
+            false);
+        factory.setNamespaceAware(namespaceAware);
+        saxParserFactory = factory;
+      }
+      return saxParserFactory.newSAXParser().getXMLReader();
+    }
+  }
+
   public static class Builder {
     private boolean namespaceAware = true;
     private JAXBContextFactory jaxbContextFactory;
@@ -56,9 +56,11 @@ public class JAXBEncoder implements Encoder {
           "JAXB only supports encoding raw types. Found " + bodyType);
     }
     try {
-      Marshaller marshaller = jaxbContextFactory.createMarshaller((Class<?>) bodyType);
+      Class<?> clazz = (Class<?>) bodyType;
+      Marshaller marshaller = jaxbContextFactory.acquireMarshaller(clazz);
       StringWriter stringWriter = new StringWriter();
       marshaller.marshal(object, stringWriter);
+      jaxbContextFactory.releaseMarshaller(clazz, marshaller);
       template.body(stringWriter.toString());
     } catch (JAXBException e) {
       throw new EncodeException(e.toString(), e);
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxb;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import static feign.Util.checkNotNull;
+import static feign.Util.ensureClosed;
+
+/**
+ * JAXB decoder which returns a closeable iterator over repeated elements of an XML document, such
+ * as the {@code <item>} children of {@code <items>}. The document is read with StAX and each
+ * element is unmarshalled as it is consumed, so memory use doesn't grow with the size of the feed.
+ * The iterator closes the {@code Response} once it reaches the end or fails to parse. If it is not
+ * read to the end, it must be cast to {@code Closeable} and closed.
+ * <p>
+ * By default, the children of the root element are iterated. Pass an element name to
+ * {@link #create(JAXBContextFactory, String)} to iterate every element of that name instead,
+ * however deeply nested.
+ * <p>
+ * Example: <br>
+ *
+ * <pre>
+ * <code>
+ * Feign.builder()
+ *   .decoder(StreamDecoder.create(JAXBIteratorDecoder.create(jaxbFactory)))
+ *   .doNotCloseAfterDecode() // Required to fetch the iterator after the response is processed, need to be close
+ *   .target(Export.class, "https://api.example.com");
+ * interface Export {
+ *  {@literal @}RequestLine("GET /items")
+ *   Stream&lt;Item&gt; items();
+ * }</code>
+ * </pre>
+ */
+public final class JAXBIteratorDecoder implements Decoder {
+
+  private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+
+  static {
+    // mirror the XXE protection of JAXBDecoder
+    INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  private final JAXBContextFactory jaxbContextFactory;
+  private final String elementName;
+
+  JAXBIteratorDecoder(JAXBContextFactory jaxbContextFactory, String elementName) {
+    this.jaxbContextFactory = checkNotNull(jaxbContextFactory, "jaxbContextFactory");
+    this.elementName = elementName;
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    Class<?> elementClass = actualIteratorTypeArgument(type);
+    InputStream input = new BufferedInputStream(response.body().asInputStream());
+    // Read the first byte to see if we have any data
+    input.mark(1);
+    if (input.read() == -1) {
+      ensureClosed(input);
+      return null;
+    }
+    input.reset();
+    try {
+      return new JAXBIterator<>(elementClass, jaxbContextFactory, elementName, response,
+          INPUT_FACTORY.createXMLStreamReader(input));
+    } catch (XMLStreamException | JAXBException e) {
+      ensureClosed(response);
+      throw new DecodeException(response.status(), e.toString(), response.request(), e);
+    }
+  }
+
+  private static Class<?> actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    Type elementType = parameterizedType.getActualTypeArguments()[0];
+    while (elementType instanceof ParameterizedType) {
+      elementType = ((ParameterizedType) elementType).getRawType();
+    }
+    if (!(elementType instanceof Class)) {
+      throw new UnsupportedOperationException(
+          "JAXB only supports decoding raw types. Found " + elementType);
+    }
+    return (Class<?>) elementType;
+  }
+
+  /**
+   * Iterates the children of the root element.
+   */
+  public static JAXBIteratorDecoder create(JAXBContextFactory jaxbContextFactory) {
+    return new JAXBIteratorDecoder(jaxbContextFactory, null);
+  }
+
+  /**
+   * Iterates every element with the local name {@code elementName}, at any depth.
+   */
+  public static JAXBIteratorDecoder create(JAXBContextFactory jaxbContextFactory,
+                                           String elementName) {
+    return new JAXBIteratorDecoder(jaxbContextFactory,
+        checkNotNull(elementName, "elementName"));
+  }
+
+  static final class JAXBIterator<T> implements Iterator<T>, Closeable {
+    private final Class<T> type;
+    private final JAXBContextFactory jaxbContextFactory;
+    private final String elementName;
+    private final Response response;
+    private final XMLStreamReader reader;
+    private Unmarshaller unmarshaller;
+
+    private int depth;
+    // true once unmarshalling has left the reader on an event not yet looked at
+    private boolean positioned;
+    private boolean done;
+    private T current;
+
+    JAXBIterator(Class<T> type, JAXBContextFactory jaxbContextFactory, String elementName,
+        Response response, XMLStreamReader reader) throws JAXBException {
+      this.type = type;
+      this.jaxbContextFactory = jaxbContextFactory;
+      this.elementName = elementName;
+      this.response = response;
+      this.reader = reader;
+      this.unmarshaller = jaxbContextFactory.acquireUnmarshaller(type);
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null) {
+        current = readNext();
+      }
+      return current != null;
+    }
+
+    private T readNext() {
+      if (done) {
+        return null;
+      }
+      try {
+        if (!advance()) {
+          ensureClosed(this);
+          return null;
+        }
+        T result = unmarshaller.unmarshal(reader, type).getValue();
+        positioned = true; // unmarshal leaves the reader just past the element
+        return result;
+      } catch (XMLStreamException | JAXBException e) {
+        unmarshaller = null; // don't reuse it after a failure
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.toString(), response.request(), e);
+      }
+    }
+
+    /**
+     * Moves the reader to the start of the next element to unmarshal.
+     *
+     * @return false at the end of the document.
+     */
+    private boolean advance() throws XMLStreamException {
+      int event = positioned ? reader.getEventType() : reader.next();
+      positioned = false;
+      for (;; event = reader.next()) {
+        switch (event) {
+          case XMLStreamReader.START_ELEMENT:
+            if (elementName != null ? elementName.equals(reader.getLocalName()) : depth == 1) {
+              return true;
+            }
+            depth++;
+            break;
+          case XMLStreamReader.END_ELEMENT:
+            depth--;
+            break;
+          case XMLStreamReader.END_DOCUMENT:
+            return false;
+          default:
+            break;
+        }
+      }
+    }
+
+    @Override
+    public T next() {
+      if (current != null) {
+        T tmp = current;
+        current = null;
+        return tmp;
+      }
+      T next = readNext();
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (done) {
+        return;
+      }
+      done = true;
+      if (unmarshaller != null) {
+        jaxbContextFactory.releaseUnmarshaller(type, unmarshaller);
+        unmarshaller = null;
+      }
+      try {
+        reader.close();
+      } catch (XMLStreamException ignored) { // NOPMD
+      }
+      ensureClosed(this.response);
+    }
+  }
+}
@@ -22,6 +22,8 @@ import javax.xml.bind.Marshaller;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class JAXBContextFactoryTest {
@@ -76,6 +78,31 @@ public class JAXBContextFactoryTest {
     assertTrue((Boolean) marshaller.getProperty(Marshaller.JAXB_FRAGMENT));
   }
 
+  @Test
+  public void reusesReleasedMarshaller() throws Exception {
+    JAXBContextFactory factory = new JAXBContextFactory.Builder().build();
+
+    Marshaller marshaller = factory.acquireMarshaller(Object.class);
+    assertNotSame(marshaller, factory.acquireMarshaller(Object.class));
+
+    factory.releaseMarshaller(Object.class, marshaller);
+    assertSame(marshaller, factory.acquireMarshaller(Object.class));
+  }
+
+  @Test
+  public void poolSizeZeroDisablesReuse() throws Exception {
+    JAXBContextFactory factory = new JAXBContextFactory.Builder().withPoolSize(0).build();
+
+    Marshaller marshaller = factory.acquireMarshaller(Object.class);
+    factory.releaseMarshaller(Object.class, marshaller);
+    assertNotSame(marshaller, factory.acquireMarshaller(Object.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rejectsNegativePoolSize() {
+    new JAXBContextFactory.Builder().withPoolSize(-1);
+  }
+
   @Test
   public void testPreloadCache() throws Exception {
 
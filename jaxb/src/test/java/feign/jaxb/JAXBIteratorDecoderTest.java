@@ -0,0 +1,173 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jaxb;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.stream.StreamDecoder;
+
+public class JAXBIteratorDecoderTest {
+
+  interface Types {
+    Iterator<Item> iterator();
+
+    Stream<Item> stream();
+  }
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+  private final JAXBContextFactory jaxbContextFactory = new JAXBContextFactory.Builder().build();
+
+  @Test
+  public void decodesChildrenOfRoot() throws Exception {
+    Iterator<Item> items = iterator(JAXBIteratorDecoder.create(jaxbContextFactory),
+        "<?xml version=\"1.0\"?>\n<items>\n  <item id=\"1\"/>\n  <item id=\"2\"/>\n</items>");
+
+    assertThat(items.next()).isEqualTo(new Item("1"));
+    assertThat(closed).isFalse();
+    assertThat(items).containsExactly(new Item("2"));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void decodesNamedElementsAtAnyDepth() throws Exception {
+    Iterator<Item> items = iterator(JAXBIteratorDecoder.create(jaxbContextFactory, "item"),
+        "<export><meta><count>3</count></meta>"
+            + "<page><item id=\"1\"/><item id=\"2\"/></page>"
+            + "<page><item id=\"3\"/></page></export>");
+
+    assertThat(items).containsExactly(new Item("1"), new Item("2"), new Item("3"));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyRoot() throws Exception {
+    assertThat(iterator(JAXBIteratorDecoder.create(jaxbContextFactory), "<items/>")).isEmpty();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws Exception {
+    assertThat(iterator(JAXBIteratorDecoder.create(jaxbContextFactory), "")).isNull();
+  }
+
+  @Test
+  public void malformedElementThrowsDecodeExceptionAndCloses() throws Exception {
+    Iterator<Item> items = iterator(JAXBIteratorDecoder.create(jaxbContextFactory),
+        "<items><item id=\"1\"/><item id=\"2\"><id></items>");
+
+    assertThat(items.next()).isEqualTo(new Item("1"));
+    assertThatThrownBy(items::next).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void closeStopsIteration() throws Exception {
+    Iterator<Item> items = iterator(JAXBIteratorDecoder.create(jaxbContextFactory),
+        "<items><item id=\"1\"/><item id=\"2\"/></items>");
+
+    assertThat(items.next()).isEqualTo(new Item("1"));
+    ((Closeable) items).close();
+
+    assertThat(closed).isTrue();
+    assertThat(items.hasNext()).isFalse();
+  }
+
+  @Test
+  public void streamsWithStreamDecoder() throws Exception {
+    Type type = Types.class.getDeclaredMethod("stream").getGenericReturnType();
+
+    @SuppressWarnings("unchecked")
+    Stream<Item> items = (Stream<Item>) StreamDecoder
+        .create(JAXBIteratorDecoder.create(jaxbContextFactory))
+        .decode(response("<items><item id=\"1\"/><item id=\"2\"/><item id=\"3\"/></items>"),
+            type);
+
+    try (Stream<Item> stream = items) {
+      assertThat(stream.limit(2).collect(Collectors.toList()))
+          .isEqualTo(Arrays.asList(new Item("1"), new Item("2")));
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private Iterator<Item> iterator(JAXBIteratorDecoder decoder, String xml) throws Exception {
+    Type type = Types.class.getDeclaredMethod("iterator").getGenericReturnType();
+    return (Iterator<Item>) decoder.decode(response(xml), type);
+  }
+
+  private Response response(String xml) {
+    byte[] bytes = xml.getBytes(UTF_8);
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(bytes) {
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+            super.close();
+          }
+        }, bytes.length)
+        .build();
+  }
+
+  @XmlAccessorType(XmlAccessType.FIELD)
+  static class Item {
+
+    @XmlAttribute
+    String id;
+
+    Item() {}
+
+    Item(String id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof Item && id.equals(((Item) obj).id);
+    }
+
+    @Override
+    public int hashCode() {
+      return id.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      return "Item(" + id + ")";
+    }
+  }
+}
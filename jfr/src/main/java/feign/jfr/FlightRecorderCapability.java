@@ -0,0 +1,37 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import feign.Capability;
+import feign.InvocationListener;
+
+/**
+ * Records a {@code feign.Invocation} JDK Flight Recorder event for each call, carrying its status,
+ * sizes, retries and the time spent resolving, on the network and decoding.
+ *
+ * <pre>
+ * GitHub github = Feign.builder()
+ *     .addCapability(new FlightRecorderCapability())
+ *     .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ *
+ * Listeners registered with {@link feign.Feign.Builder#invocationListener} keep working alongside.
+ */
+public final class FlightRecorderCapability implements Capability {
+
+  @Override
+  public InvocationListener.Factory enrich(InvocationListener.Factory invocationListenerFactory) {
+    return new FlightRecorderListenerFactory(invocationListenerFactory);
+  }
+}
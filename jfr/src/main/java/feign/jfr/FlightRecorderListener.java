@@ -0,0 +1,130 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import feign.InvocationListener;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+
+/**
+ * Fills in an {@link InvocationEvent}, forwarding each callback to an optional delegate.
+ */
+final class FlightRecorderListener implements InvocationListener {
+
+  private final InvocationEvent event;
+  private final InvocationListener delegate;
+
+  private long startNanos;
+  private long sentNanos = -1;
+  private long decodeNanos = -1;
+
+  FlightRecorderListener(InvocationEvent event, InvocationListener delegate) {
+    this.event = event;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public void invocationStart(long nanoTime) {
+    event.begin();
+    startNanos = nanoTime;
+    if (delegate != null) {
+      delegate.invocationStart(nanoTime);
+    }
+  }
+
+  @Override
+  public void templateResolved(Request request, long nanoTime) {
+    if (event.retries == 0) {
+      event.resolveDuration = nanoTime - startNanos;
+    }
+    event.method = request.httpMethod().name();
+    event.url = request.url();
+    event.bytesOut = request.length();
+    if (delegate != null) {
+      delegate.templateResolved(request, nanoTime);
+    }
+  }
+
+  @Override
+  public void requestSent(Request request, long nanoTime) {
+    sentNanos = nanoTime;
+    if (delegate != null) {
+      delegate.requestSent(request, nanoTime);
+    }
+  }
+
+  @Override
+  public void firstByte(Response response, long nanoTime) {
+    endNetwork(nanoTime);
+    event.status = response.status();
+    Integer length = response.body() != null ? response.body().length() : null;
+    event.bytesIn = length != null ? length : -1;
+    if (delegate != null) {
+      delegate.firstByte(response, nanoTime);
+    }
+  }
+
+  @Override
+  public void decodeStart(Response response, long nanoTime) {
+    decodeNanos = nanoTime;
+    if (delegate != null) {
+      delegate.decodeStart(response, nanoTime);
+    }
+  }
+
+  @Override
+  public void decodeEnd(long nanoTime) {
+    if (decodeNanos >= 0) {
+      event.decodeDuration += nanoTime - decodeNanos;
+      decodeNanos = -1;
+    }
+    if (delegate != null) {
+      delegate.decodeEnd(nanoTime);
+    }
+  }
+
+  @Override
+  public void retryScheduled(RetryableException cause, long nanoTime) {
+    endNetwork(nanoTime);
+    event.retries++;
+    if (delegate != null) {
+      delegate.retryScheduled(cause, nanoTime);
+    }
+  }
+
+  @Override
+  public void invocationEnd(Throwable error, long nanoTime) {
+    endNetwork(nanoTime);
+    event.error = error != null ? error.getClass().getName() : null;
+    event.end();
+    if (event.shouldCommit()) {
+      event.commit();
+    }
+    if (delegate != null) {
+      delegate.invocationEnd(error, nanoTime);
+    }
+  }
+
+  /**
+   * Counts the time since the request was sent, unless a response already did. Requests that failed
+   * without a response are counted until the failure was noticed.
+   */
+  private void endNetwork(long nanoTime) {
+    if (sentNanos >= 0) {
+      event.networkDuration += nanoTime - sentNanos;
+      sentNanos = -1;
+    }
+  }
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import static feign.Util.checkNotNull;
+import feign.InvocationListener;
+import feign.MethodMetadata;
+import feign.Target;
+
+/**
+ * Records an {@link InvocationEvent} for each invocation while the event is enabled in a running
+ * recording. Use this directly with {@link feign.AsyncFeign}; {@link FlightRecorderCapability}
+ * installs it on {@link feign.Feign}.
+ */
+public final class FlightRecorderListenerFactory implements InvocationListener.Factory {
+
+  private final InvocationListener.Factory delegate;
+
+  public FlightRecorderListenerFactory() {
+    this(InvocationListener.Factory.NONE);
+  }
+
+  /**
+   * @param delegate whose listeners also receive every callback.
+   */
+  public FlightRecorderListenerFactory(InvocationListener.Factory delegate) {
+    this.delegate = checkNotNull(delegate, "delegate");
+  }
+
+  @Override
+  public InvocationListener create(Target<?> target, MethodMetadata metadata) {
+    InvocationListener listener = delegate.create(target, metadata);
+    InvocationEvent event = new InvocationEvent();
+    if (!event.isEnabled()) {
+      return listener;
+    }
+    event.configKey = metadata.configKey();
+    event.target = target instanceof Target.EmptyTarget ? null : target.url();
+    return new FlightRecorderListener(event, listener);
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One Feign method invocation, including any retries. The event's own duration spans the whole
+ * invocation; the phase durations below break it down.
+ */
+@Name("feign.Invocation")
+@Label("Feign Invocation")
+@Category("Feign")
+@Description("A call to a Feign client method")
+@StackTrace(false)
+public final class InvocationEvent extends Event {
+
+  @Label("Config Key")
+  String configKey;
+
+  @Label("Target")
+  @Description("Url of the target, without the path of the request")
+  String target;
+
+  @Label("HTTP Method")
+  String method;
+
+  @Label("Url")
+  String url;
+
+  @Label("Status")
+  @Description("Status of the last response, or -1 if none was received")
+  int status = -1;
+
+  @Label("Bytes Out")
+  @DataAmount
+  long bytesOut;
+
+  @Label("Bytes In")
+  @Description("Content length of the last response, or -1 if unknown")
+  @DataAmount
+  long bytesIn = -1;
+
+  @Label("Retries")
+  int retries;
+
+  @Label("Resolve Duration")
+  @Description("Time to build the first request, including interceptors and encoding")
+  @Timespan
+  long resolveDuration;
+
+  @Label("Network Duration")
+  @Description("Time from handing requests to the client until their responses arrived")
+  @Timespan
+  long networkDuration;
+
+  @Label("Decode Duration")
+  @Timespan
+  long decodeDuration;
+
+  @Label("Error")
+  @Description("Class of the exception thrown to the caller, if any")
+  String error;
+}
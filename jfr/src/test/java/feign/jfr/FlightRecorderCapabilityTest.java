@@ -0,0 +1,138 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import feign.AsyncFeign;
+import feign.Feign;
+import feign.FeignException;
+import feign.RequestLine;
+import feign.Retryer;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+
+public class FlightRecorderCapabilityTest {
+
+  @Rule
+  public final MockWebServer server = new MockWebServer();
+  @Rule
+  public final TemporaryFolder folder = new TemporaryFolder();
+
+  public interface Api {
+
+    @RequestLine("POST /")
+    String post(String body);
+  }
+
+  public interface AsyncApi {
+
+    @RequestLine("POST /")
+    CompletableFuture<String> post(String body);
+  }
+
+  @Test
+  public void recordsInvocation() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(503).addHeader("Retry-After", "0"));
+    server.enqueue(new MockResponse().setBody("pong"));
+    Api api = Feign.builder()
+        .addCapability(new FlightRecorderCapability())
+        .retryer(new Retryer.Default(1, 1, 2))
+        .target(Api.class, "http://localhost:" + server.getPort());
+
+    List<RecordedEvent> events = record(() -> assertThat(api.post("ping")).isEqualTo("pong"));
+
+    assertThat(events).hasSize(1);
+    RecordedEvent event = events.get(0);
+    assertThat(event.getString("configKey")).isEqualTo("Api#post(String)");
+    assertThat(event.getString("target")).isEqualTo("http://localhost:" + server.getPort());
+    assertThat(event.getString("method")).isEqualTo("POST");
+    assertThat(event.getInt("status")).isEqualTo(200);
+    assertThat(event.getLong("bytesOut")).isEqualTo(4);
+    assertThat(event.getLong("bytesIn")).isEqualTo(4);
+    assertThat(event.getInt("retries")).isEqualTo(1);
+    assertThat(event.getLong("networkDuration")).isPositive();
+    assertThat(event.getString("error")).isNull();
+    assertThat(event.getDuration().toNanos()).isGreaterThanOrEqualTo(
+        event.getLong("networkDuration"));
+  }
+
+  @Test
+  public void recordsErrors() throws Exception {
+    server.enqueue(new MockResponse().setResponseCode(400));
+    Api api = Feign.builder()
+        .addCapability(new FlightRecorderCapability())
+        .target(Api.class, "http://localhost:" + server.getPort());
+
+    List<RecordedEvent> events = record(() -> {
+      try {
+        api.post("ping");
+        fail();
+      } catch (FeignException.BadRequest expected) {
+      }
+    });
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getInt("status")).isEqualTo(400);
+    assertThat(events.get(0).getString("error"))
+        .isEqualTo(FeignException.BadRequest.class.getName());
+  }
+
+  @Test
+  public void recordsAsyncInvocation() throws Exception {
+    server.enqueue(new MockResponse().setBody("pong"));
+    AsyncApi api = AsyncFeign.<Void>asyncBuilder()
+        .invocationListener(new FlightRecorderListenerFactory())
+        .target(AsyncApi.class, "http://localhost:" + server.getPort());
+
+    List<RecordedEvent> events = record(() -> assertThat(api.post("ping").get()).isEqualTo("pong"));
+
+    assertThat(events).hasSize(1);
+    assertThat(events.get(0).getInt("status")).isEqualTo(200);
+    assertThat(events.get(0).getString("configKey")).isEqualTo("AsyncApi#post(String)");
+  }
+
+  @Test
+  public void doesNothingWhenNotRecording() {
+    assertThat(new FlightRecorderListenerFactory().create(null, null)).isNull();
+  }
+
+  interface Action {
+    void run() throws Exception;
+  }
+
+  private List<RecordedEvent> record(Action action) throws Exception {
+    Path file = folder.newFile("recording.jfr").toPath();
+    try (Recording recording = new Recording()) {
+      recording.enable(InvocationEvent.class).withThreshold(java.time.Duration.ZERO);
+      recording.start();
+      action.run();
+      recording.stop();
+      recording.dump(file);
+    }
+    return RecordingFile.readAllEvents(file).stream()
+        .filter(e -> e.getEventType().getName().equals("feign.Invocation"))
+        .collect(Collectors.toList());
+  }
+}
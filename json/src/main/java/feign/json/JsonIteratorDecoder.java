@@ -0,0 +1,182 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.json;
+
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import static feign.Util.ensureClosed;
+import static java.lang.String.format;
+
+/**
+ * Decodes a JSON array, or a sequence of top-level JSON values, into an {@code Iterator} that
+ * tokenizes each element as it is consumed. Elements are {@link JSONObject}, {@link JSONArray}, or
+ * for {@code Iterator<Object>} any value {@link JSONTokener#nextValue()} returns. The
+ * {@code Response} is closed once the iterator reaches the end or fails to parse; an iterator
+ * abandoned early must be cast to {@code Closeable} and closed.
+ * <p>
+ * Example with {@link feign.stream.StreamDecoder}:
+ *
+ * <pre>
+ *   interface GitHub {
+ *
+ *     {@literal @}RequestLine("GET /repos/{owner}/{repo}/contributors")
+ *     Stream&lt;JSONObject&gt; contributors({@literal @}Param("owner") String owner, {@literal @}Param("repo") String repo);
+ *
+ *   }
+ *
+ *   GitHub github = Feign.builder()
+ *                      .decoder(StreamDecoder.create(new JsonIteratorDecoder(), new JsonDecoder()))
+ *                      .doNotCloseAfterDecode()
+ *                      .target(GitHub.class, "https://api.github.com");
+ * </pre>
+ */
+public class JsonIteratorDecoder implements Decoder {
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException, DecodeException {
+    Class<?> elementType = elementType(response, type);
+    if (response.body() == null)
+      return null;
+    Reader reader = response.body().asReader(response.charset());
+    JSONTokener tokener = new JSONTokener(reader);
+    try {
+      char first = tokener.nextClean();
+      if (first == 0) {
+        ensureClosed(reader);
+        return null; // Empty body
+      }
+      if (first != '[') {
+        tokener.back();
+      }
+      return new JsonIterator<>(elementType, tokener, first == '[', response);
+    } catch (JSONException e) {
+      ensureClosed(reader);
+      throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+    }
+  }
+
+  private static Class<?> elementType(Response response, Type type) {
+    if (type instanceof ParameterizedType
+        && Iterator.class.equals(((ParameterizedType) type).getRawType())) {
+      Type elementType = ((ParameterizedType) type).getActualTypeArguments()[0];
+      if (JSONObject.class.equals(elementType) || JSONArray.class.equals(elementType)
+          || Object.class.equals(elementType)) {
+        return (Class<?>) elementType;
+      }
+    }
+    throw new DecodeException(response.status(),
+        format("%s is not a type supported by this decoder.", type), response.request());
+  }
+
+  static final class JsonIterator<T> implements Iterator<T>, Closeable {
+    private final Class<T> elementType;
+    private final JSONTokener tokener;
+    private final boolean inArray;
+    private final Response response;
+
+    private boolean started;
+    private boolean done;
+    private T current;
+
+    JsonIterator(Class<T> elementType, JSONTokener tokener, boolean inArray,
+        Response response) {
+      this.elementType = elementType;
+      this.tokener = tokener;
+      this.inArray = inArray;
+      this.response = response;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null) {
+        current = readNext();
+      }
+      return current != null;
+    }
+
+    private T readNext() {
+      if (done) {
+        return null;
+      }
+      try {
+        char c = tokener.nextClean();
+        if (inArray) {
+          if (c == ']') {
+            ensureClosed(this);
+            return null;
+          }
+          if (started) {
+            if (c != ',') {
+              throw tokener.syntaxError("Expected a ',' or ']'");
+            }
+          } else {
+            tokener.back();
+          }
+        } else if (c == 0) {
+          ensureClosed(this);
+          return null;
+        } else {
+          tokener.back();
+        }
+        started = true;
+        Object value = tokener.nextValue();
+        if (!elementType.isInstance(value)) {
+          throw new JSONException(format("Expected %s, but was %s", elementType.getSimpleName(),
+              value.getClass().getSimpleName()));
+        }
+        return elementType.cast(value);
+      } catch (JSONException e) {
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (current != null) {
+        T tmp = current;
+        current = null;
+        return tmp;
+      }
+      T next = readNext();
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      done = true;
+      ensureClosed(response);
+    }
+  }
+}
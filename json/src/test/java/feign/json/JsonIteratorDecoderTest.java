@@ -0,0 +1,163 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.json;
+
+import static feign.Util.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.stream.StreamDecoder;
+
+public class JsonIteratorDecoderTest {
+
+  interface Types {
+    Iterator<JSONObject> objects();
+
+    Iterator<Object> values();
+
+    Iterator<String> strings();
+
+    Stream<JSONObject> stream();
+  }
+
+  private final AtomicBoolean closed = new AtomicBoolean();
+
+  @Test
+  public void decodesArrayElements() throws IOException {
+    Iterator<JSONObject> objects = iterator("objects", "[{\"a\":1}, {\"b\":[2]} ]");
+
+    assertThat(objects.next().getInt("a")).isEqualTo(1);
+    assertThat(closed).isFalse();
+    assertThat(objects.next().getJSONArray("b").getInt(0)).isEqualTo(2);
+    assertThat(objects.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void decodesTopLevelSequence() throws IOException {
+    Iterator<Object> values = iterator("values", "{\"a\":1}\n[2]\n\"three\"\n");
+
+    assertThat(values.next()).isInstanceOf(JSONObject.class);
+    assertThat(((JSONArray) values.next()).getInt(0)).isEqualTo(2);
+    assertThat(values.next()).isEqualTo("three");
+    assertThat(values.hasNext()).isFalse();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyArray() throws IOException {
+    assertThat(iterator("objects", "[]")).isEmpty();
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void emptyBodyDecodesToNull() throws IOException {
+    assertThat(iterator("objects", "")).isNull();
+  }
+
+  @Test
+  public void malformedArrayThrowsDecodeExceptionAndCloses() throws IOException {
+    Iterator<JSONObject> objects = iterator("objects", "[{\"a\":1} {\"b\":2}]");
+
+    assertThat(objects.next().getInt("a")).isEqualTo(1);
+    assertThatThrownBy(objects::next).isInstanceOf(DecodeException.class);
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void unexpectedElementTypeThrowsDecodeException() throws IOException {
+    Iterator<JSONObject> objects = iterator("objects", "[1]");
+
+    assertThatThrownBy(objects::next).isInstanceOf(DecodeException.class)
+        .hasMessage("Expected JSONObject, but was Integer");
+  }
+
+  @Test
+  public void rejectsUnsupportedTypes() {
+    assertThatThrownBy(() -> iterator("strings", "[]"))
+        .isInstanceOf(DecodeException.class)
+        .hasMessageContaining("is not a type supported by this decoder");
+  }
+
+  @Test
+  public void closeStopsIteration() throws IOException {
+    Iterator<JSONObject> objects = iterator("objects", "[{\"a\":1},{\"a\":2}]");
+
+    assertThat(objects.next().getInt("a")).isEqualTo(1);
+    ((Closeable) objects).close();
+
+    assertThat(closed).isTrue();
+    assertThat(objects.hasNext()).isFalse();
+  }
+
+  @Test
+  public void streamsWithStreamDecoder() throws Exception {
+    @SuppressWarnings("unchecked")
+    Stream<JSONObject> objects = (Stream<JSONObject>) StreamDecoder
+        .create(new JsonIteratorDecoder())
+        .decode(response("[{\"a\":1},{\"a\":2}]"), type("stream"));
+
+    try (Stream<JSONObject> stream = objects) {
+      assertThat(stream.map(o -> o.getInt("a")).collect(Collectors.toList()))
+          .containsExactly(1, 2);
+    }
+    assertThat(closed).isTrue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Iterator<T> iterator(String method, String json) throws IOException {
+    return (Iterator<T>) new JsonIteratorDecoder().decode(response(json), type(method));
+  }
+
+  private static Type type(String method) {
+    try {
+      return Types.class.getMethod(method).getGenericReturnType();
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  private Response response(String json) {
+    byte[] bytes = json.getBytes(UTF_8);
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(new ByteArrayInputStream(bytes) {
+          @Override
+          public void close() throws IOException {
+            closed.set(true);
+            super.close();
+          }
+        }, bytes.length)
+        .build();
+  }
+}
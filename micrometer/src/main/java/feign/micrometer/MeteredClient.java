@@ -16,12 +16,17 @@ package feign.micrometer;
 import java.io.IOException;
 import feign.Client;
 import feign.FeignException;
+import feign.MethodMetadata;
 import feign.Request;
 import feign.Request.Options;
 import feign.RequestTemplate;
 import feign.Response;
+import feign.Target;
+import feign.metrics.MeterCache;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Warp feign {@link Client} with metrics.
@@ -31,6 +36,7 @@ public class MeteredClient implements Client {
   private final Client client;
   private final MeterRegistry meterRegistry;
   private final MetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredClient(Client client, MeterRegistry meterRegistry) {
     this(client, meterRegistry, new FeignMetricName(Client.class));
@@ -45,32 +51,16 @@ public class MeteredClient implements Client {
   @Override
   public Response execute(Request request, Options options) throws IOException {
     final RequestTemplate template = request.requestTemplate();
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
 
     try {
-      return meterRegistry.timer(
-          metricName.name(),
-          metricName.tag(template.methodMetadata(), template.feignTarget()))
-          .recordCallable(() -> {
-            Response response = client.execute(request, options);
-            meterRegistry.counter(
-                metricName.name("http_response_code"),
-                metricName.tag(
-                    template.methodMetadata(),
-                    template.feignTarget(),
-                    Tag.of("http_status", String.valueOf(response.status())),
-                    Tag.of("status_group", response.status() / 100 + "xx")))
-                .increment();
-            return response;
-          });
+      return meters.timer.recordCallable(() -> {
+        Response response = client.execute(request, options);
+        meters.responseCodes.get(response.status()).increment();
+        return response;
+      });
     } catch (FeignException e) {
-      meterRegistry.counter(
-          metricName.name("http_response_code"),
-          metricName.tag(
-              template.methodMetadata(),
-              template.feignTarget(),
-              Tag.of("http_status", String.valueOf(e.status())),
-              Tag.of("status_group", e.status() / 100 + "xx")))
-          .increment();
+      meters.responseCodes.get(e.status()).increment();
       throw e;
     } catch (IOException | RuntimeException e) {
       throw e;
@@ -79,4 +69,20 @@ public class MeteredClient implements Client {
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final MeterCache.ByStatus<Counter> responseCodes;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = meterRegistry.timer(metricName.name(), metricName.tag(methodMetadata, target));
+      this.responseCodes = new MeterCache.ByStatus<>(status -> meterRegistry.counter(
+          metricName.name("http_response_code"),
+          metricName.tag(
+              methodMetadata,
+              target,
+              Tag.of("http_status", String.valueOf(status)),
+              Tag.of("status_group", status / 100 + "xx"))));
+    }
+  }
 }
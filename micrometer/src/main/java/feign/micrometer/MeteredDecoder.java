@@ -17,13 +17,21 @@ package feign.micrometer;
 import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.FeignException;
+import feign.MethodMetadata;
 import feign.RequestTemplate;
 import feign.Response;
+import feign.Target;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
+import feign.metrics.MeterCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Warp feign {@link Decoder} with metrics.
@@ -33,6 +41,7 @@ public class MeteredDecoder implements Decoder {
   private final Decoder decoder;
   private final MeterRegistry meterRegistry;
   private final MetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredDecoder(Decoder decoder, MeterRegistry meterRegistry) {
     this(decoder, meterRegistry, new FeignMetricName(Decoder.class));
@@ -48,6 +57,7 @@ public class MeteredDecoder implements Decoder {
   public Object decode(Response response, Type type)
       throws IOException, DecodeException, FeignException {
     final RequestTemplate template = response.request().requestTemplate();
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
     final Optional<MeteredBody> body = Optional.ofNullable(response.body())
         .map(MeteredBody::new);
 
@@ -56,31 +66,42 @@ public class MeteredDecoder implements Decoder {
 
     Object decoded;
     try {
-      decoded = meterRegistry
-          .timer(metricName.name(),
-              metricName.tag(template.methodMetadata(), template.feignTarget()))
-          .recordCallable(() -> decoder.decode(meteredResponse, type));
+      decoded = meters.timer.recordCallable(() -> decoder.decode(meteredResponse, type));
     } catch (IOException | RuntimeException e) {
-      meterRegistry.counter(
-          metricName.name("error_count"),
-          metricName.tag(template.methodMetadata(), template.feignTarget())
-              .and(Tag.of("exception_name", e.getClass().getSimpleName())))
-          .count();
+      meters.errorCount(e).increment();
       throw e;
     } catch (Exception e) {
-      meterRegistry.counter(
-          metricName.name("error_count"),
-          metricName.tag(template.methodMetadata(), template.feignTarget())
-              .and(Tag.of("exception_name", e.getClass().getSimpleName())))
-          .count();
+      meters.errorCount(e).increment();
       throw new IOException(e);
     }
 
-    body.ifPresent(b -> meterRegistry.summary(
-        metricName.name("response_size"),
-        metricName.tag(template.methodMetadata(), template.feignTarget())).record(b.count()));
+    body.ifPresent(b -> meters.responseSize.record(b.count()));
 
     return decoded;
   }
 
+  private final class Meters {
+
+    final MethodMetadata methodMetadata;
+    final Target<?> target;
+    final Timer timer;
+    final DistributionSummary responseSize;
+    final ConcurrentMap<Class<?>, Counter> errorCounts = new ConcurrentHashMap<>();
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.methodMetadata = methodMetadata;
+      this.target = target;
+      this.timer = meterRegistry.timer(metricName.name(), metricName.tag(methodMetadata, target));
+      this.responseSize = meterRegistry.summary(
+          metricName.name("response_size"),
+          metricName.tag(methodMetadata, target));
+    }
+
+    Counter errorCount(Exception e) {
+      return errorCounts.computeIfAbsent(e.getClass(), type -> meterRegistry.counter(
+          metricName.name("error_count"),
+          metricName.tag(methodMetadata, target)
+              .and(Tag.of("exception_name", type.getSimpleName()))));
+    }
+  }
 }
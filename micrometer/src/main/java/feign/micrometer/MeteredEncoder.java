@@ -14,10 +14,15 @@
 package feign.micrometer;
 
 
+import feign.MethodMetadata;
 import feign.RequestTemplate;
+import feign.Target;
 import feign.codec.EncodeException;
 import feign.codec.Encoder;
+import feign.metrics.MeterCache;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.lang.reflect.Type;
 
 /**
@@ -28,6 +33,7 @@ public class MeteredEncoder implements Encoder {
   private final Encoder encoder;
   private final MeterRegistry meterRegistry;
   private final MetricName metricName;
+  private final MeterCache<Meters> meters = new MeterCache<>(Meters::new);
 
   public MeteredEncoder(Encoder encoder, MeterRegistry meterRegistry) {
     this(encoder, meterRegistry, new FeignMetricName(Encoder.class));
@@ -42,17 +48,24 @@ public class MeteredEncoder implements Encoder {
   @Override
   public void encode(Object object, Type bodyType, RequestTemplate template)
       throws EncodeException {
-    meterRegistry.timer(
-        metricName.name(),
-        metricName.tag(template.methodMetadata(), template.feignTarget()))
-        .record(() -> encoder.encode(object, bodyType, template));
+    final Meters meters = this.meters.get(template.methodMetadata(), template.feignTarget());
+    meters.timer.record(() -> encoder.encode(object, bodyType, template));
 
     if (template.body() != null) {
-      meterRegistry.summary(
-          metricName.name("request_size"),
-          metricName.tag(template.methodMetadata(), template.feignTarget()))
-          .record(template.body().length);
+      meters.requestSize.record(template.body().length);
     }
   }
 
+  private final class Meters {
+
+    final Timer timer;
+    final DistributionSummary requestSize;
+
+    Meters(MethodMetadata methodMetadata, Target<?> target) {
+      this.timer = meterRegistry.timer(metricName.name(), metricName.tag(methodMetadata, target));
+      this.requestSize = meterRegistry.summary(
+          metricName.name("request_size"),
+          metricName.tag(methodMetadata, target));
+    }
+  }
 }
@@ -17,15 +17,21 @@ package feign.micrometer;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import feign.Feign;
 import feign.FeignException;
 import feign.InvocationHandlerFactory;
 import feign.Target;
 import feign.Util;
+import feign.metrics.MeterCache;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Warp feign {@link InvocationHandler} with metrics.
@@ -62,46 +68,66 @@ public class MeteredInvocationHandleFactory implements InvocationHandlerFactory
     final Class clientClass = target.type();
 
     final InvocationHandler invocationHandle = invocationHandler.create(target, dispatch);
+    final Map<Method, Meters> meters = new HashMap<>();
+    for (Method method : dispatch.keySet()) {
+      if (!JAVA_OBJECT_METHODS.contains(method.getName()) && !Util.isDefault(method)) {
+        meters.put(method, new Meters(clientClass, method, target.url()));
+      }
+    }
     return (proxy, method, args) -> {
-
-      if (JAVA_OBJECT_METHODS.contains(method.getName())
-          || Util.isDefault(method)) {
+      final Meters methodMeters = meters.get(method);
+      if (methodMeters == null) {
         return invocationHandle.invoke(proxy, method, args);
       }
 
       try {
-        return meterRegistry.timer(
-            metricName.name(),
-            metricName.tag(clientClass, method, target.url()))
-            .recordCallable(() -> {
-              try {
-                return invocationHandle.invoke(proxy, method, args);
-              } catch (Exception e) {
-                throw e;
-              } catch (Throwable e) {
-                throw new Exception(e);
-              }
-            });
+        return methodMeters.timer.recordCallable(() -> {
+          try {
+            return invocationHandle.invoke(proxy, method, args);
+          } catch (Exception e) {
+            throw e;
+          } catch (Throwable e) {
+            throw new Exception(e);
+          }
+        });
       } catch (final FeignException e) {
-        meterRegistry.counter(
-            metricName.name("http_error"),
-            metricName.tag(clientClass, method, target.url(),
-                Tag.of("http_status", String.valueOf(e.status())),
-                Tag.of("error_group", e.status() / 100 + "xx")))
-            .increment();
+        methodMeters.httpErrors.get(e.status()).increment();
 
         throw e;
       } catch (final Throwable e) {
-        meterRegistry.counter(
-            metricName.name("exception"),
-            metricName.tag(clientClass, method, target.url(),
-                Tag.of("exception_name", e.getClass().getSimpleName())))
-            .increment();
+        methodMeters.exception(e).increment();
 
         throw e;
       }
     };
   }
 
-
+  private final class Meters {
+
+    final Class<?> clientClass;
+    final Method method;
+    final String url;
+    final Timer timer;
+    final MeterCache.ByStatus<Counter> httpErrors;
+    final ConcurrentMap<Class<?>, Counter> exceptions = new ConcurrentHashMap<>();
+
+    Meters(Class<?> clientClass, Method method, String url) {
+      this.clientClass = clientClass;
+      this.method = method;
+      this.url = url;
+      this.timer = meterRegistry.timer(metricName.name(), metricName.tag(clientClass, method, url));
+      this.httpErrors = new MeterCache.ByStatus<>(status -> meterRegistry.counter(
+          metricName.name("http_error"),
+          metricName.tag(clientClass, method, url,
+              Tag.of("http_status", String.valueOf(status)),
+              Tag.of("error_group", status / 100 + "xx"))));
+    }
+
+    Counter exception(Throwable e) {
+      return exceptions.computeIfAbsent(e.getClass(), type -> meterRegistry.counter(
+          metricName.name("exception"),
+          metricName.tag(clientClass, method, url,
+              Tag.of("exception_name", type.getSimpleName()))));
+    }
+  }
 }
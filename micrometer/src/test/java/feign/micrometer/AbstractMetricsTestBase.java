@@ -15,6 +15,7 @@ package feign.micrometer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.aMapWithSize;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
@@ -72,6 +73,25 @@ public abstract class AbstractMetricsTestBase<MR, METRIC_ID, METRIC> {
         doesMetricIncludeHost(metricId)));
   }
 
+  @Test
+  public final void reusesMetricsAcrossCalls() {
+    final SimpleSource source = Feign.builder()
+        .client(new MockClient()
+            .ok(HttpMethod.GET, "/get", "1234567890abcde"))
+        .addCapability(createMetricCapability())
+        .target(new MockTarget<>(SimpleSource.class));
+
+    for (int i = 0; i < 3; i++) {
+      source.get("0x3456789");
+    }
+
+    assertThat(getFeignMetrics(), aMapWithSize(7));
+    assertThat(
+        getMetricCount(
+            getMetric("http_response_code", "http_status", "200", "status_group", "2xx")),
+        equalTo(3L));
+  }
+
   protected abstract boolean doesMetricIncludeHost(METRIC_ID metricId);
 
   protected abstract boolean doesMetricIncludeVerb(METRIC_ID metricId, String verb);
@@ -109,6 +129,8 @@ public abstract class AbstractMetricsTestBase<MR, METRIC_ID, METRIC> {
 
   protected abstract METRIC getMetric(String suffix, String... tags);
 
+  protected abstract long getMetricCount(METRIC metric);
+
   @Test
   public void decoderPropagatesUncheckedException() {
     final AtomicReference<FeignException.NotFound> notFound = new AtomicReference<>();
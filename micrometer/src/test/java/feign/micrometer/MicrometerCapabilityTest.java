@@ -22,6 +22,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import feign.Capability;
 import feign.Util;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Meter;
 import io.micrometer.core.instrument.Meter.Id;
 import io.micrometer.core.instrument.MockClock;
@@ -97,5 +98,8 @@ public class MicrometerCapabilityTest
         .orElse(null);
   }
 
-
+  @Override
+  protected long getMetricCount(Meter metric) {
+    return (long) ((Counter) metric).count();
+  }
 }
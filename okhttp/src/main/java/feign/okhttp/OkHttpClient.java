@@ -16,6 +16,7 @@ package feign.okhttp;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Map;
@@ -137,6 +138,11 @@ public final class OkHttpClient implements Client {
         return input.byteStream();
       }
 
+      @Override
+      public ReadableByteChannel asReadableByteChannel() {
+        return input.source();
+      }
+
       @SuppressWarnings("deprecation")
       @Override
       public Reader asReader() throws IOException {
@@ -0,0 +1,55 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Looks up, once per message class, the {@link Parser} generated code exposes through its static
+ * {@code getDefaultInstance()} method.
+ */
+final class MessageParsers {
+
+  private final ConcurrentMap<Type, Parser<?>> parsers = new ConcurrentHashMap<>();
+
+  Parser<?> get(Type type) {
+    Parser<?> parser = parsers.get(type);
+    if (parser == null) {
+      parser = parsers.computeIfAbsent(type, MessageParsers::lookup);
+    }
+    return parser;
+  }
+
+  private static Parser<?> lookup(Type type) {
+    if (!(type instanceof Class) || !MessageLite.class.isAssignableFrom((Class<?>) type)) {
+      throw new IllegalArgumentException(type + " is not a protobuf message");
+    }
+    try {
+      Method getDefaultInstance = ((Class<?>) type).getMethod("getDefaultInstance");
+      if (!Modifier.isStatic(getDefaultInstance.getModifiers())) {
+        throw new NoSuchMethodException("getDefaultInstance");
+      }
+      return ((MessageLite) getDefaultInstance.invoke(null)).getParserForType();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException(
+          type + " is not a generated protobuf message: it has no getDefaultInstance()", e);
+    }
+  }
+}
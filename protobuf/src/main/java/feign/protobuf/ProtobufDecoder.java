@@ -0,0 +1,41 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import feign.Response;
+import feign.codec.Decoder;
+
+/**
+ * Decodes responses into the generated protobuf message class named by the method's return type,
+ * parsing straight from the body's stream. An empty body decodes to the message's default instance,
+ * as in protobuf itself; a missing body decodes to null.
+ *
+ * @see ProtobufIteratorDecoder for length-delimited sequences of messages.
+ */
+public class ProtobufDecoder implements Decoder {
+
+  private final MessageParsers parsers = new MessageParsers();
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    try (InputStream in = response.body().asInputStream()) {
+      return parsers.get(type).parseFrom(in);
+    }
+  }
+}
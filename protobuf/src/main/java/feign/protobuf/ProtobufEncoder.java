@@ -0,0 +1,49 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import com.google.protobuf.MessageLite;
+import java.lang.reflect.Type;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+
+/**
+ * Encodes {@link MessageLite protobuf messages} in the binary wire format. Unless the request
+ * already has one, a {@code Content-Type} of {@value #MEDIA_TYPE} is added.
+ *
+ * <pre>
+ * Feign.builder()
+ *     .encoder(new ProtobufEncoder())
+ *     .decoder(new ProtobufDecoder())
+ *     .target(Inventory.class, "https://inventory.example.com");
+ * </pre>
+ */
+public class ProtobufEncoder implements Encoder {
+
+  public static final String MEDIA_TYPE = "application/x-protobuf";
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    if (!(object instanceof MessageLite)) {
+      throw new EncodeException(
+          String.format("%s is not a protobuf message", object != null ? object.getClass() : null));
+    }
+    // sized exactly from getSerializedSize(), so this is the only copy made
+    template.body(((MessageLite) object).toByteArray(), null);
+    if (!template.headers().containsKey("Content-Type")) {
+      template.header("Content-Type", MEDIA_TYPE);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import com.google.protobuf.Parser;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import feign.Response;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import static feign.Util.ensureClosed;
+
+/**
+ * Decodes a body of length-delimited protobuf messages, as written by
+ * {@code MessageLite.writeDelimitedTo}, into an {@code Iterator} that parses each message as it is
+ * consumed. The response is closed once the body is exhausted or parsing fails; an iterator
+ * abandoned early must be cast to {@code Closeable} and closed.
+ *
+ * <p>
+ * Combine with {@link feign.stream.StreamDecoder} to return a {@code Stream}:
+ *
+ * <pre>
+ * Feign.builder()
+ *   .decoder(StreamDecoder.create(ProtobufIteratorDecoder.create()))
+ *   .doNotCloseAfterDecode() // Required for streaming
+ *   .target(Inventory.class, "https://inventory.example.com");
+ * interface Inventory {
+ *  {@literal @}RequestLine("GET /items")
+ *   Stream&lt;Item&gt; items();
+ * }
+ * </pre>
+ */
+public final class ProtobufIteratorDecoder implements Decoder {
+
+  private final MessageParsers parsers = new MessageParsers();
+
+  ProtobufIteratorDecoder() {}
+
+  public static ProtobufIteratorDecoder create() {
+    return new ProtobufIteratorDecoder();
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.body() == null)
+      return null;
+    Parser<?> parser = parsers.get(actualIteratorTypeArgument(type));
+    return new DelimitedIterator<>(parser, response, response.body().asInputStream());
+  }
+
+  private static Type actualIteratorTypeArgument(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      throw new IllegalArgumentException("Not supported type " + type.toString());
+    }
+    ParameterizedType parameterizedType = (ParameterizedType) type;
+    if (!Iterator.class.equals(parameterizedType.getRawType())) {
+      throw new IllegalArgumentException(
+          "Not an iterator type " + parameterizedType.getRawType().toString());
+    }
+    return parameterizedType.getActualTypeArguments()[0];
+  }
+
+  static final class DelimitedIterator<T> implements Iterator<T>, Closeable {
+    private final Parser<T> parser;
+    private final Response response;
+    private final InputStream in;
+
+    private T current;
+    private boolean done;
+
+    DelimitedIterator(Parser<T> parser, Response response, InputStream in) {
+      this.parser = parser;
+      this.response = response;
+      this.in = in;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (current == null) {
+        current = readNext();
+      }
+      return current != null;
+    }
+
+    private T readNext() {
+      if (done) {
+        return null;
+      }
+      try {
+        T next = parser.parseDelimitedFrom(in); // null at end of stream
+        if (next == null) {
+          ensureClosed(this);
+        }
+        return next;
+      } catch (IOException e) {
+        ensureClosed(this);
+        throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
+      }
+    }
+
+    @Override
+    public T next() {
+      if (current != null) {
+        T tmp = current;
+        current = null;
+        return tmp;
+      }
+      T next = readNext();
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      return next;
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void close() throws IOException {
+      done = true;
+      ensureClosed(in);
+      ensureClosed(response);
+    }
+  }
+}
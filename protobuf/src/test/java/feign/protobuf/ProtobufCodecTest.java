@@ -0,0 +1,203 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.protobuf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import com.google.protobuf.StringValue;
+import com.google.protobuf.Timestamp;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.Test;
+import feign.Feign;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestLine;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.EncodeException;
+import feign.stream.StreamDecoder;
+
+public class ProtobufCodecTest {
+
+  private static final Type ITERATOR;
+
+  static {
+    try {
+      ITERATOR = Clock.class.getMethod("tickIterator").getGenericReturnType();
+    } catch (NoSuchMethodException e) {
+      throw new AssertionError(e);
+    }
+  }
+
+  interface Clock {
+
+    @RequestLine("POST /sync")
+    Timestamp sync(Timestamp local);
+
+    @RequestLine("GET /ticks")
+    Stream<Timestamp> ticks();
+
+    @RequestLine("GET /ticks")
+    Iterator<Timestamp> tickIterator();
+  }
+
+  @Test
+  public void encodesWireFormat() throws IOException {
+    Timestamp timestamp = timestamp(1624000000);
+    RequestTemplate template = new RequestTemplate();
+
+    new ProtobufEncoder().encode(timestamp, Timestamp.class, template);
+
+    assertThat(template.body()).isEqualTo(timestamp.toByteArray());
+    assertThat(template.headers().get("Content-Type")).containsExactly("application/x-protobuf");
+  }
+
+  @Test
+  public void encodeRejectsOtherTypes() {
+    assertThatThrownBy(
+        () -> new ProtobufEncoder().encode("text", String.class, new RequestTemplate()))
+            .isInstanceOf(EncodeException.class)
+            .hasMessage("class java.lang.String is not a protobuf message");
+  }
+
+  @Test
+  public void decodesFromStream() throws IOException {
+    Timestamp timestamp = timestamp(1624000000);
+
+    assertThat(new ProtobufDecoder().decode(response(timestamp.toByteArray()), Timestamp.class))
+        .isEqualTo(timestamp);
+  }
+
+  @Test
+  public void emptyBodyDecodesToDefaultInstance() throws IOException {
+    assertThat(new ProtobufDecoder().decode(response(new byte[0]), StringValue.class))
+        .isEqualTo(StringValue.getDefaultInstance());
+  }
+
+  @Test
+  public void decodeRejectsOtherTypes() {
+    assertThatThrownBy(() -> new ProtobufDecoder().decode(response(new byte[0]), String.class))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("class java.lang.String is not a protobuf message");
+  }
+
+  @Test
+  public void iteratesDelimitedMessages() throws IOException {
+    AtomicBoolean closed = new AtomicBoolean();
+    byte[] body = delimited(timestamp(1), timestamp(2), timestamp(3));
+    Response response = response(new ByteArrayInputStream(body) {
+      @Override
+      public void close() throws IOException {
+        closed.set(true);
+        super.close();
+      }
+    });
+
+    @SuppressWarnings("unchecked")
+    Iterator<Timestamp> ticks = (Iterator<Timestamp>) ProtobufIteratorDecoder.create()
+        .decode(response, ITERATOR);
+
+    assertThat(ticks.next()).isEqualTo(timestamp(1));
+    assertThat(closed).isFalse();
+    assertThat(ticks).containsExactly(timestamp(2), timestamp(3));
+    assertThat(closed).isTrue();
+  }
+
+  @Test
+  public void truncatedMessageFailsIteration() throws IOException {
+    byte[] body = delimited(timestamp(1), timestamp(2));
+    byte[] truncated = new byte[body.length - 1];
+    System.arraycopy(body, 0, truncated, 0, truncated.length);
+
+    Iterator<?> ticks = (Iterator<?>) ProtobufIteratorDecoder.create()
+        .decode(response(truncated), ITERATOR);
+
+    assertThat(ticks.next()).isEqualTo(timestamp(1));
+    assertThatThrownBy(ticks::next).isInstanceOf(DecodeException.class);
+  }
+
+  @Test
+  public void iteratorCanBeClosedEarly() throws IOException {
+    Iterator<?> ticks = (Iterator<?>) ProtobufIteratorDecoder.create()
+        .decode(response(delimited(timestamp(1), timestamp(2))),
+            ITERATOR);
+
+    assertThat(ticks.next()).isEqualTo(timestamp(1));
+    ((Closeable) ticks).close();
+    assertThat(ticks.hasNext()).isFalse();
+  }
+
+  @Test
+  public void worksWithFeign() throws IOException {
+    byte[] ticks = delimited(timestamp(1), timestamp(2));
+    Clock clock = Feign.builder()
+        .encoder(new ProtobufEncoder())
+        .decoder(StreamDecoder.create(ProtobufIteratorDecoder.create(), new ProtobufDecoder()))
+        .doNotCloseAfterDecode()
+        .client((request, options) -> {
+          byte[] body = request.url().endsWith("/sync")
+              ? Timestamp.parseFrom(request.body()).toBuilder().setNanos(5).build().toByteArray()
+              : ticks;
+          return Response.builder()
+              .status(200)
+              .request(request)
+              .headers(Collections.emptyMap())
+              .body(body)
+              .build();
+        })
+        .target(Clock.class, "http://localhost");
+
+    assertThat(clock.sync(timestamp(1))).isEqualTo(timestamp(1).toBuilder().setNanos(5).build());
+    try (Stream<Timestamp> stream = clock.ticks()) {
+      assertThat(stream.collect(Collectors.toList())).containsExactly(timestamp(1), timestamp(2));
+    }
+  }
+
+  private static Timestamp timestamp(long seconds) {
+    return Timestamp.newBuilder().setSeconds(seconds).build();
+  }
+
+  private static byte[] delimited(Timestamp... messages) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (Timestamp message : messages) {
+      message.writeDelimitedTo(out);
+    }
+    return out.toByteArray();
+  }
+
+  private static Response response(byte[] body) {
+    return response(new ByteArrayInputStream(body));
+  }
+
+  private static Response response(ByteArrayInputStream body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(body, body.available())
+        .build();
+  }
+}
@@ -100,7 +100,7 @@ public final class LBClient extends
     if (clientConfig.get(CommonClientConfigKey.OkToRetryOnAllOperations, false)) {
       return new RequestSpecificRetryHandler(true, true, this.getRetryHandler(), requestConfig);
     }
-    if (request.toRequest().httpMethod() != HttpMethod.GET) {
+    if (request.request.httpMethod() != HttpMethod.GET) {
       return new RequestSpecificRetryHandler(true, false, this.getRetryHandler(), requestConfig);
     } else {
       return new RequestSpecificRetryHandler(true, true, this.getRetryHandler(), requestConfig);
@@ -111,24 +111,43 @@ public final class LBClient extends
 
     private final Request request;
     private final Client client;
+    // shared by clones, as each server tried gets its own
+    private Map<String, Collection<String>> headers;
 
     RibbonRequest(Client client, Request request, URI uri) {
+      this(client, request, uri, null);
+    }
+
+    private RibbonRequest(Client client, Request request, URI uri,
+        Map<String, Collection<String>> headers) {
       this.client = client;
       this.request = request;
+      this.headers = headers;
       setUri(uri);
     }
 
     @SuppressWarnings("deprecation")
     Request toRequest() {
-      // add header "Content-Length" according to the request body
-      final byte[] body = request.body();
-      final int bodyLength = body != null ? body.length : 0;
-      // create a new Map to avoid side effect, not to change the old headers
-      Map<String, Collection<String>> headers = new LinkedHashMap<String, Collection<String>>();
-      headers.putAll(request.headers());
-      headers.put(Util.CONTENT_LENGTH, Collections.singletonList(String.valueOf(bodyLength)));
-      return Request.create(request.httpMethod(), getUri().toASCIIString(), headers, body,
-          request.charset());
+      return Request.create(request.httpMethod(), getUri().toASCIIString(), headers(),
+          request.body(), request.charset());
+    }
+
+    /**
+     * The original headers plus a "Content-Length" according to the request body, copied once so
+     * that the original request isn't changed.
+     */
+    private Map<String, Collection<String>> headers() {
+      if (headers == null) {
+        final byte[] body = request.body();
+        final int bodyLength = body != null ? body.length : 0;
+        Map<String, Collection<String>> original = request.headers();
+        Map<String, Collection<String>> copy =
+            new LinkedHashMap<String, Collection<String>>(original.size() + 2);
+        copy.putAll(original);
+        copy.put(Util.CONTENT_LENGTH, Collections.singletonList(String.valueOf(bodyLength)));
+        headers = Collections.unmodifiableMap(copy);
+      }
+      return headers;
     }
 
     Client client() {
@@ -136,7 +155,7 @@ public final class LBClient extends
     }
 
     public Object clone() {
-      return new RibbonRequest(client, request, getUri());
+      return new RibbonRequest(client, request, getUri(), headers());
     }
   }
 
@@ -19,6 +19,9 @@ import com.netflix.client.config.DefaultClientConfigImpl;
 import com.netflix.client.config.IClientConfig;
 import com.netflix.client.config.IClientConfigKey;
 import com.netflix.loadbalancer.ILoadBalancer;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import static feign.Util.checkNotNull;
 
 public interface LBClientFactory {
 
@@ -37,6 +40,34 @@ public interface LBClientFactory {
     }
   }
 
+  /**
+   * Creates each named {@link LBClient} once, instead of on every request. Config is read when the
+   * client is created, so later changes to properties such as {@code RetryableStatusCodes} aren't
+   * picked up. Connect and read timeouts still follow {@link feign.Request.Options} per request.
+   */
+  public static final class Caching implements LBClientFactory {
+
+    private final LBClientFactory delegate;
+    private final ConcurrentMap<String, LBClient> clients = new ConcurrentHashMap<>();
+
+    public Caching() {
+      this(new Default());
+    }
+
+    public Caching(LBClientFactory delegate) {
+      this.delegate = checkNotNull(delegate, "delegate");
+    }
+
+    @Override
+    public LBClient create(String clientName) {
+      LBClient client = clients.get(clientName);
+      if (client == null) {
+        client = clients.computeIfAbsent(clientName, delegate::create);
+      }
+      return client;
+    }
+  }
+
   IClientConfigKey<String> RetryableStatusCodes =
       new CommonClientConfigKey<String>("RetryableStatusCodes") {};
 
@@ -38,6 +38,8 @@ public class RibbonClient implements Client {
 
   private final Client delegate;
   private final LBClientFactory lbClientFactory;
+  // options are usually the same instance on every call, so their ribbon view is reused
+  private volatile FeignOptionsClientConfig lastClientConfig;
 
 
   public static RibbonClient create() {
@@ -61,7 +63,7 @@ public class RibbonClient implements Client {
    */
   @Deprecated
   public RibbonClient(Client delegate) {
-    this(delegate, new LBClientFactory.Default());
+    this(delegate, new LBClientFactory.Caching());
   }
 
   RibbonClient(Client delegate, LBClientFactory lbClientFactory) {
@@ -72,13 +74,16 @@ public class RibbonClient implements Client {
   @Override
   public Response execute(Request request, Request.Options options) throws IOException {
     try {
-      URI asUri = URI.create(request.url());
-      String clientName = asUri.getHost();
-      URI uriWithoutHost = cleanUrl(request.url(), clientName);
+      String url = request.url();
+      String clientName = clientName(url);
+      if (clientName == null) {
+        clientName = URI.create(url).getHost();
+      }
+      URI uriWithoutHost = cleanUrl(url, clientName);
       LBClient.RibbonRequest ribbonRequest =
           new LBClient.RibbonRequest(delegate, request, uriWithoutHost);
       return lbClient(clientName).executeWithLoadBalancer(ribbonRequest,
-          new FeignOptionsClientConfig(options)).toResponse();
+          clientConfig(options)).toResponse();
     } catch (ClientException e) {
       propagateFirstIOException(e);
       throw new RuntimeException(e);
@@ -95,16 +100,58 @@ public class RibbonClient implements Client {
   }
 
   static URI cleanUrl(String originalUrl, String host) {
-    return URI.create(originalUrl.replaceFirst(host, ""));
+    int schemeEnd = originalUrl.indexOf("://");
+    int index = originalUrl.indexOf(host, schemeEnd < 0 ? 0 : schemeEnd + 3);
+    if (index < 0) {
+      return URI.create(originalUrl);
+    }
+    return URI.create(
+        originalUrl.substring(0, index) + originalUrl.substring(index + host.length()));
+  }
+
+  /**
+   * Reads the host of {@code url} without parsing a {@link URI}, which is most of the cost of
+   * routing a request. Returns null for urls this can't handle simply, such as ones with user info
+   * or IPv6 literals.
+   */
+  static String clientName(String url) {
+    int hostStart = url.indexOf("://");
+    if (hostStart < 0) {
+      return null;
+    }
+    hostStart += 3;
+    int hostEnd = hostStart;
+    for (; hostEnd < url.length(); hostEnd++) {
+      char c = url.charAt(hostEnd);
+      if (c == ':' || c == '/' || c == '?' || c == '#') {
+        break;
+      }
+      if (c == '@' || c == '[' || c == '%') {
+        return null;
+      }
+    }
+    return hostEnd > hostStart ? url.substring(hostStart, hostEnd) : null;
   }
 
   private LBClient lbClient(String clientName) {
     return lbClientFactory.create(clientName);
   }
 
+  private FeignOptionsClientConfig clientConfig(Request.Options options) {
+    FeignOptionsClientConfig config = lastClientConfig;
+    if (config == null || config.options != options) {
+      config = new FeignOptionsClientConfig(options);
+      lastClientConfig = config;
+    }
+    return config;
+  }
+
   static class FeignOptionsClientConfig extends DefaultClientConfigImpl {
 
+    private final Request.Options options;
+
     public FeignOptionsClientConfig(Request.Options options) {
+      this.options = options;
       setProperty(CommonClientConfigKey.ConnectTimeout, options.connectTimeoutMillis());
       setProperty(CommonClientConfigKey.ReadTimeout, options.readTimeoutMillis());
       setProperty(CommonClientConfigKey.FollowRedirects, options.isFollowRedirects());
@@ -142,7 +189,7 @@ public class RibbonClient implements Client {
     public RibbonClient build() {
       return new RibbonClient(
           delegate != null ? delegate : new Client.Default(null, null),
-          lbClientFactory != null ? lbClientFactory : new LBClientFactory.Default());
+          lbClientFactory != null ? lbClientFactory : new LBClientFactory.Caching());
     }
   }
 }
@@ -14,6 +14,7 @@
 package feign.ribbon;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import org.junit.Test;
 import com.netflix.client.ClientFactory;
 
@@ -26,4 +27,12 @@ public class LBClientFactoryTest {
     assertEquals("clientName", client.getClientName());
     assertEquals(ClientFactory.getNamedLoadBalancer("clientName"), client.getLoadBalancer());
   }
+
+  @Test
+  public void testCachingReusesLBClient() {
+    LBClientFactory.Caching lbClientFactory = new LBClientFactory.Caching();
+    LBClient client = lbClientFactory.create("clientName");
+    assertSame(client, lbClientFactory.create("clientName"));
+    assertEquals("otherClientName", lbClientFactory.create("otherClientName").getClientName());
+  }
 }
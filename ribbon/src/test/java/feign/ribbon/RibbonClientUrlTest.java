@@ -0,0 +1,54 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.ribbon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import java.net.URI;
+import org.junit.Test;
+
+public class RibbonClientUrlTest {
+
+  @Test
+  public void cleanUrl() {
+    URI uri = RibbonClient.cleanUrl("http://myservice/questions/answer/123", "myservice");
+    assertEquals("http:///questions/answer/123", uri.toString());
+  }
+
+  @Test
+  public void cleanUrlWithHostInScheme() {
+    URI uri = RibbonClient.cleanUrl("http://http/questions/answer/123", "http");
+    assertEquals("http:///questions/answer/123", uri.toString());
+  }
+
+  @Test
+  public void cleanUrlWithHostAsRegex() {
+    URI uri = RibbonClient.cleanUrl("http://my.service/a/myXservice", "my.service");
+    assertEquals("http:///a/myXservice", uri.toString());
+  }
+
+  @Test
+  public void clientName() {
+    assertEquals("myservice", RibbonClient.clientName("http://myservice/questions"));
+    assertEquals("myservice", RibbonClient.clientName("https://myservice:8443?q=1"));
+    assertEquals("myservice", RibbonClient.clientName("http://myservice"));
+  }
+
+  @Test
+  public void clientNameFallsBackForComplexAuthorities() {
+    assertNull(RibbonClient.clientName("http://user@myservice/questions"));
+    assertNull(RibbonClient.clientName("http://[::1]:8080/questions"));
+    assertNull(RibbonClient.clientName("/questions"));
+  }
+}
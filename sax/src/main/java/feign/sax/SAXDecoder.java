@@ -24,6 +24,8 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Type;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import feign.Response;
 import feign.codec.DecodeException;
 import feign.codec.Decoder;
@@ -48,7 +50,12 @@ import static feign.Util.resolveLastTypeParameter;
  */
 public class SAXDecoder implements Decoder {
 
+  private static final int XML_READER_POOL_SIZE = 16;
+
   private final Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories;
+  // configured readers are reused, as creating and configuring one costs more than a small parse
+  private final BlockingQueue<XMLReader> xmlReaders =
+      new ArrayBlockingQueue<>(XML_READER_POOL_SIZE);
 
   private SAXDecoder(Map<Type, ContentHandlerWithResult.Factory<?>> handlerFactories) {
     this.handlerFactories = handlerFactories;
@@ -67,14 +74,7 @@ public class SAXDecoder implements Decoder {
         handlerFactories.keySet());
     ContentHandlerWithResult<?> handler = handlerFactory.create();
     try {
-      XMLReader xmlReader = XMLReaderFactory.createXMLReader();
-      xmlReader.setFeature("http://xml.org/sax/features/namespaces", false);
-      xmlReader.setFeature("http://xml.org/sax/features/validation", false);
-      /* Explicitly control sax configuration to prevent XXE attacks */
-      xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
-      xmlReader.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-      xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
-      xmlReader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+      XMLReader xmlReader = acquireXMLReader();
       xmlReader.setContentHandler(handler);
       InputStream inputStream = response.body().asInputStream();
       try {
@@ -82,12 +82,31 @@ public class SAXDecoder implements Decoder {
       } finally {
         ensureClosed(inputStream);
       }
+      // don't retain the handler, and only reuse readers which completed normally
+      xmlReader.setContentHandler(null);
+      xmlReaders.offer(xmlReader);
       return handler.result();
     } catch (SAXException e) {
       throw new DecodeException(response.status(), e.getMessage(), response.request(), e);
     }
   }
 
+  private XMLReader acquireXMLReader() throws SAXException {
+    XMLReader xmlReader = xmlReaders.poll();
+    if (xmlReader != null) {
+      return xmlReader;
+    }
+    xmlReader = XMLReaderFactory.createXMLReader();
+    xmlReader.setFeature("http://xml.org/sax/features/namespaces", false);
+    xmlReader.setFeature("http://xml.org/sax/features/validation", false);
+    /* Explicitly control sax configuration to prevent XXE attacks */
+    xmlReader.setFeature("http://xml.org/sax/features/external-general-entities", false);
+    xmlReader.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+    xmlReader.setFeature("http://apache.org/xml/features/disallow-doctype-decl", false);
+    xmlReader.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+    return xmlReader;
+  }
+
   /**
    * Implementations are not intended to be shared across requests.
    */
@@ -87,6 +87,8 @@ public class SOAPDecoder implements Decoder {
   private final JAXBContextFactory jaxbContextFactory;
   private final String soapProtocol;
   private final boolean useFirstChild;
+  // looked up once, as that costs more than decoding a typical message
+  private volatile MessageFactory messageFactory;
 
   public SOAPDecoder(JAXBContextFactory jaxbContextFactory) {
     this.jaxbContextFactory = jaxbContextFactory;
@@ -117,20 +119,23 @@ public class SOAPDecoder implements Decoder {
 
     try {
       SOAPMessage message =
-          MessageFactory.newInstance(soapProtocol).createMessage(null,
-              response.body().asInputStream());
+          messageFactory().createMessage(null, response.body().asInputStream());
       if (message.getSOAPBody() != null) {
         if (message.getSOAPBody().hasFault()) {
           throw new SOAPFaultException(message.getSOAPBody().getFault());
         }
 
-        Unmarshaller unmarshaller = jaxbContextFactory.createUnmarshaller((Class<?>) type);
+        Class<?> clazz = (Class<?>) type;
+        Unmarshaller unmarshaller = jaxbContextFactory.acquireUnmarshaller(clazz);
 
+        Object result;
         if (this.useFirstChild) {
-          return unmarshaller.unmarshal(message.getSOAPBody().getFirstChild());
+          result = unmarshaller.unmarshal(message.getSOAPBody().getFirstChild());
         } else {
-          return unmarshaller.unmarshal(message.getSOAPBody().extractContentAsDocument());
+          result = unmarshaller.unmarshal(message.getSOAPBody().extractContentAsDocument());
         }
+        jaxbContextFactory.releaseUnmarshaller(clazz, unmarshaller);
+        return result;
       }
     } catch (SOAPException | JAXBException e) {
       throw new DecodeException(response.status(), e.toString(), response.request(), e);
@@ -144,6 +149,15 @@ public class SOAPDecoder implements Decoder {
   }
 
 
+  private MessageFactory messageFactory() throws SOAPException {
+    MessageFactory result = messageFactory;
+    if (result == null) {
+      // racing threads may each create one, which is harmless
+      messageFactory = result = MessageFactory.newInstance(soapProtocol);
+    }
+    return result;
+  }
+
   public static class Builder {
     String soapProtocol = SOAPConstants.DEFAULT_SOAP_PROTOCOL;
     JAXBContextFactory jaxbContextFactory;
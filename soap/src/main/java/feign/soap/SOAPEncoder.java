@@ -18,8 +18,11 @@ import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.soap.MessageFactory;
@@ -86,6 +89,7 @@ import feign.jaxb.JAXBContextFactory;
 public class SOAPEncoder implements Encoder {
 
   private static final String DEFAULT_SOAP_PROTOCOL = SOAPConstants.SOAP_1_1_PROTOCOL;
+  private static final int DOCUMENT_BUILDER_POOL_SIZE = 16;
 
   private final boolean writeXmlDeclaration;
   private final boolean formattedOutput;
@@ -93,6 +97,14 @@ public class SOAPEncoder implements Encoder {
   private final JAXBContextFactory jaxbContextFactory;
   private final String soapProtocol;
 
+  // Looking these factories up is far more expensive than encoding a typical message, so each is
+  // found once. MessageFactory implementations keep no per-message state.
+  private volatile MessageFactory messageFactory;
+  private DocumentBuilderFactory documentBuilderFactory; // guarded by this
+  private TransformerFactory transformerFactory; // guarded by this
+  private final BlockingQueue<DocumentBuilder> documentBuilders =
+      new ArrayBlockingQueue<>(DOCUMENT_BUILDER_POOL_SIZE);
+
   private SOAPEncoder(Builder builder) {
     this.jaxbContextFactory = builder.jaxbContextFactory;
     this.writeXmlDeclaration = builder.writeXmlDeclaration;
@@ -116,17 +128,22 @@ public class SOAPEncoder implements Encoder {
           "SOAP only supports encoding raw types. Found " + bodyType);
     }
     try {
-      Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-      Marshaller marshaller = jaxbContextFactory.createMarshaller((Class<?>) bodyType);
+      DocumentBuilder documentBuilder = acquireDocumentBuilder();
+      Document document = documentBuilder.newDocument();
+      documentBuilder.reset();
+      documentBuilders.offer(documentBuilder);
+      Class<?> clazz = (Class<?>) bodyType;
+      Marshaller marshaller = jaxbContextFactory.acquireMarshaller(clazz);
       marshaller.marshal(object, document);
-      SOAPMessage soapMessage = MessageFactory.newInstance(soapProtocol).createMessage();
+      jaxbContextFactory.releaseMarshaller(clazz, marshaller);
+      SOAPMessage soapMessage = messageFactory().createMessage();
       soapMessage.setProperty(SOAPMessage.WRITE_XML_DECLARATION,
           Boolean.toString(writeXmlDeclaration));
       soapMessage.setProperty(SOAPMessage.CHARACTER_SET_ENCODING, charsetEncoding.displayName());
       soapMessage.getSOAPBody().addDocument(document);
       ByteArrayOutputStream bos = new ByteArrayOutputStream();
       if (formattedOutput) {
-        Transformer t = TransformerFactory.newInstance().newTransformer();
+        Transformer t = newTransformer();
         t.setOutputProperty(OutputKeys.INDENT, "yes");
         t.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "4");
         t.transform(new DOMSource(soapMessage.getSOAPPart()), new StreamResult(bos));
@@ -140,6 +157,35 @@ public class SOAPEncoder implements Encoder {
     }
   }
 
+  private MessageFactory messageFactory() throws SOAPException {
+    MessageFactory result = messageFactory;
+    if (result == null) {
+      // racing threads may each create one, which is harmless
+      messageFactory = result = MessageFactory.newInstance(soapProtocol);
+    }
+    return result;
+  }
+
+  private DocumentBuilder acquireDocumentBuilder() throws ParserConfigurationException {
+    DocumentBuilder documentBuilder = documentBuilders.poll();
+    if (documentBuilder != null) {
+      return documentBuilder;
+    }
+    synchronized (this) { // DocumentBuilderFactory isn't thread-safe
+      if (documentBuilderFactory == null) {
+        documentBuilderFactory = DocumentBuilderFactory.newInstance();
+      }
+      return documentBuilderFactory.newDocumentBuilder();
+    }
+  }
+
+  private synchronized Transformer newTransformer() throws TransformerException {
+    if (transformerFactory == null) {
+      transformerFactory = TransformerFactory.newInstance();
+    }
+    return transformerFactory.newTransformer();
+  }
+
   /**
    * Creates instances of {@link SOAPEncoder}.
    */
@@ -0,0 +1,230 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.soap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.soap.MessageFactory;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPMessage;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.ws.soap.SOAPFaultException;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.codec.Decoder;
+import feign.jaxb.JAXBContextFactory;
+
+/**
+ * Decodes SOAP responses like {@link SOAPDecoder}, but reads the envelope with StAX and unmarshals
+ * the body element directly from the stream. No SAAJ message tree is built, so memory use doesn't
+ * grow with the size of the response beyond the decoded object itself.
+ *
+ * <p>
+ * Both SOAP 1.1 and 1.2 envelopes are accepted. A fault in the body is still thrown as a
+ * {@link SOAPFaultException}; only then is the (small) fault element parsed with SAAJ.
+ * </p>
+ *
+ * @see StAXSOAPEncoder
+ */
+public class StAXSOAPDecoder implements Decoder {
+
+  private static final XMLInputFactory INPUT_FACTORY = XMLInputFactory.newInstance();
+  private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+  static {
+    // SOAP forbids DTDs, and refusing them also rules out XXE
+    INPUT_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    INPUT_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  private final JAXBContextFactory jaxbContextFactory;
+
+  public StAXSOAPDecoder(JAXBContextFactory jaxbContextFactory) {
+    this.jaxbContextFactory = Util.checkNotNull(jaxbContextFactory, "jaxbContextFactory");
+  }
+
+  @Override
+  public Object decode(Response response, Type type) throws IOException {
+    if (response.status() == 404)
+      return Util.emptyValueOf(type);
+    if (response.body() == null)
+      return null;
+    while (type instanceof ParameterizedType) {
+      ParameterizedType ptype = (ParameterizedType) type;
+      type = ptype.getRawType();
+    }
+    if (!(type instanceof Class)) {
+      throw new UnsupportedOperationException(
+          "SOAP only supports decoding raw types. Found " + type);
+    }
+
+    XMLStreamReader reader = null;
+    try {
+      reader = INPUT_FACTORY.createXMLStreamReader(response.body().asInputStream());
+      reader.nextTag();
+      String envelopeNamespace = reader.getNamespaceURI();
+      if (!"Envelope".equals(reader.getLocalName())
+          || !(SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE.equals(envelopeNamespace)
+              || SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(envelopeNamespace))) {
+        throw new DecodeException(response.status(),
+            "Expected a SOAP Envelope, but found " + reader.getName(), response.request());
+      }
+      // faults may use prefixes declared on their ancestors, such as in faultcode values
+      Map<String, String> namespaces = new LinkedHashMap<>();
+      collectNamespaces(reader, namespaces);
+
+      while (reader.nextTag() == XMLStreamReader.START_ELEMENT
+          && !isEnvelopeElement(reader, envelopeNamespace, "Body")) {
+        skipElement(reader); // Header
+      }
+      if (reader.getEventType() != XMLStreamReader.START_ELEMENT) {
+        return Util.emptyValueOf(type); // no Body
+      }
+      collectNamespaces(reader, namespaces);
+
+      if (reader.nextTag() != XMLStreamReader.START_ELEMENT) {
+        return Util.emptyValueOf(type); // empty Body
+      }
+      if (isEnvelopeElement(reader, envelopeNamespace, "Fault")) {
+        throw new SOAPFaultException(readFault(reader, envelopeNamespace, namespaces)
+            .getSOAPBody().getFault());
+      }
+
+      Class<?> clazz = (Class<?>) type;
+      Unmarshaller unmarshaller = jaxbContextFactory.acquireUnmarshaller(clazz);
+      Object result = unmarshaller.unmarshal(reader, clazz).getValue();
+      jaxbContextFactory.releaseUnmarshaller(clazz, unmarshaller);
+      return result;
+    } catch (XMLStreamException | JAXBException | SOAPException e) {
+      throw new DecodeException(response.status(), e.toString(), response.request(), e);
+    } finally {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (XMLStreamException ignored) { // NOPMD
+        }
+      }
+      response.body().close();
+    }
+  }
+
+  private static boolean isEnvelopeElement(XMLStreamReader reader,
+                                           String envelopeNamespace,
+                                           String localName) {
+    return localName.equals(reader.getLocalName())
+        && envelopeNamespace.equals(reader.getNamespaceURI());
+  }
+
+  private static void collectNamespaces(XMLStreamReader reader, Map<String, String> namespaces) {
+    for (int i = 0; i < reader.getNamespaceCount(); i++) {
+      String prefix = reader.getNamespacePrefix(i);
+      namespaces.put(prefix != null ? prefix : "", reader.getNamespaceURI(i));
+    }
+  }
+
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    for (int depth = 1; depth > 0;) {
+      int event = reader.next();
+      if (event == XMLStreamReader.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamReader.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * Copies the fault element under the reader into a minimal envelope and parses that with SAAJ, so
+   * callers get the same {@link javax.xml.soap.SOAPFault} as from {@link SOAPDecoder}.
+   */
+  private static SOAPMessage readFault(XMLStreamReader reader,
+                                       String envelopeNamespace,
+                                       Map<String, String> namespaces)
+      throws XMLStreamException, SOAPException, IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    XMLStreamWriter writer = OUTPUT_FACTORY.createXMLStreamWriter(bos, "UTF-8");
+    writer.writeStartDocument("UTF-8", "1.0");
+    writer.writeStartElement(SOAPConstants.SOAP_ENV_PREFIX, "Envelope", envelopeNamespace);
+    writer.writeNamespace(SOAPConstants.SOAP_ENV_PREFIX, envelopeNamespace);
+    for (Map.Entry<String, String> namespace : namespaces.entrySet()) {
+      if (!namespace.getKey().equals(SOAPConstants.SOAP_ENV_PREFIX)) {
+        writer.writeNamespace(namespace.getKey(), namespace.getValue());
+      }
+    }
+    writer.writeStartElement(SOAPConstants.SOAP_ENV_PREFIX, "Body", envelopeNamespace);
+    copyElement(reader, writer);
+    writer.writeEndDocument();
+    writer.close();
+
+    String protocol = SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE.equals(envelopeNamespace)
+        ? SOAPConstants.SOAP_1_2_PROTOCOL
+        : SOAPConstants.SOAP_1_1_PROTOCOL;
+    return MessageFactory.newInstance(protocol)
+        .createMessage(null, new ByteArrayInputStream(bos.toByteArray()));
+  }
+
+  private static void copyElement(XMLStreamReader reader, XMLStreamWriter writer)
+      throws XMLStreamException {
+    for (int depth = 0;; reader.next()) {
+      switch (reader.getEventType()) {
+        case XMLStreamReader.START_ELEMENT:
+          depth++;
+          writer.writeStartElement(nullToEmpty(reader.getPrefix()), reader.getLocalName(),
+              nullToEmpty(reader.getNamespaceURI()));
+          for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            writer.writeNamespace(nullToEmpty(reader.getNamespacePrefix(i)),
+                reader.getNamespaceURI(i));
+          }
+          for (int i = 0; i < reader.getAttributeCount(); i++) {
+            writer.writeAttribute(nullToEmpty(reader.getAttributePrefix(i)),
+                nullToEmpty(reader.getAttributeNamespace(i)), reader.getAttributeLocalName(i),
+                reader.getAttributeValue(i));
+          }
+          break;
+        case XMLStreamReader.END_ELEMENT:
+          depth--;
+          writer.writeEndElement();
+          break;
+        case XMLStreamReader.CHARACTERS:
+        case XMLStreamReader.CDATA:
+        case XMLStreamReader.SPACE:
+          writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(),
+              reader.getTextLength());
+          break;
+        default:
+          break;
+      }
+      if (depth == 0) {
+        return;
+      }
+    }
+  }
+
+  private static String nullToEmpty(String value) {
+    return value != null ? value : "";
+  }
+}
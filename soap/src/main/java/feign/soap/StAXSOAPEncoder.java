@@ -0,0 +1,162 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.soap;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import feign.RequestTemplate;
+import feign.codec.EncodeException;
+import feign.codec.Encoder;
+import feign.jaxb.JAXBContextFactory;
+
+/**
+ * Encodes requests like {@link SOAPEncoder}, but writes the envelope with StAX and marshals the
+ * body straight into it. No DOM {@code Document} or {@code SOAPMessage} is built, so the only copy
+ * of the request is the encoded bytes.
+ *
+ * <pre>
+ * api = Feign.builder()
+ *     .encoder(new StAXSOAPEncoder(jaxbFactory))
+ *     .decoder(new StAXSOAPDecoder(jaxbFactory))
+ *     .target(MyApi.class, "http://api");
+ * </pre>
+ *
+ * <p>
+ * Unlike {@link SOAPEncoder}, formatted output isn't supported.
+ * </p>
+ */
+public class StAXSOAPEncoder implements Encoder {
+
+  private static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+  private final JAXBContextFactory jaxbContextFactory;
+  private final boolean writeXmlDeclaration;
+  private final Charset charsetEncoding;
+  private final String envelopeNamespace;
+  private final String envelopePrefix;
+
+  public StAXSOAPEncoder(JAXBContextFactory jaxbContextFactory) {
+    this(new Builder().withJAXBContextFactory(jaxbContextFactory));
+  }
+
+  private StAXSOAPEncoder(Builder builder) {
+    this.jaxbContextFactory = builder.jaxbContextFactory;
+    this.writeXmlDeclaration = builder.writeXmlDeclaration;
+    this.charsetEncoding = builder.charsetEncoding;
+    this.envelopeNamespace = builder.envelopeNamespace;
+    this.envelopePrefix = builder.envelopePrefix;
+  }
+
+  @Override
+  public void encode(Object object, Type bodyType, RequestTemplate template) {
+    if (!(bodyType instanceof Class)) {
+      throw new UnsupportedOperationException(
+          "SOAP only supports encoding raw types. Found " + bodyType);
+    }
+    Class<?> clazz = (Class<?>) bodyType;
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    try {
+      XMLStreamWriter writer =
+          OUTPUT_FACTORY.createXMLStreamWriter(bos, charsetEncoding.name());
+      if (writeXmlDeclaration) {
+        writer.writeStartDocument(charsetEncoding.name(), "1.0");
+      }
+      writer.setPrefix(envelopePrefix, envelopeNamespace);
+      writer.writeStartElement(envelopePrefix, "Envelope", envelopeNamespace);
+      writer.writeNamespace(envelopePrefix, envelopeNamespace);
+      writer.writeEmptyElement(envelopePrefix, "Header", envelopeNamespace);
+      writer.writeStartElement(envelopePrefix, "Body", envelopeNamespace);
+
+      Marshaller marshaller = jaxbContextFactory.acquireMarshaller(clazz);
+      Object fragment = marshaller.getProperty(Marshaller.JAXB_FRAGMENT);
+      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+      marshaller.marshal(object, writer);
+      marshaller.setProperty(Marshaller.JAXB_FRAGMENT, fragment);
+      jaxbContextFactory.releaseMarshaller(clazz, marshaller);
+
+      writer.writeEndElement(); // Body
+      writer.writeEndElement(); // Envelope
+      writer.writeEndDocument();
+      writer.close();
+    } catch (JAXBException | XMLStreamException e) {
+      throw new EncodeException(e.toString(), e);
+    }
+    template.body(bos.toByteArray(), charsetEncoding);
+  }
+
+  /**
+   * Creates instances of {@link StAXSOAPEncoder}.
+   */
+  public static class Builder {
+
+    private JAXBContextFactory jaxbContextFactory;
+    private boolean writeXmlDeclaration = true;
+    private Charset charsetEncoding = StandardCharsets.UTF_8;
+    private String envelopeNamespace = SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE;
+    private String envelopePrefix = "SOAP-ENV";
+
+    /** The {@link JAXBContextFactory} for body part. */
+    public Builder withJAXBContextFactory(JAXBContextFactory jaxbContextFactory) {
+      this.jaxbContextFactory = jaxbContextFactory;
+      return this;
+    }
+
+    /** Write the xml declaration if true. Default is true */
+    public Builder withWriteXmlDeclaration(boolean writeXmlDeclaration) {
+      this.writeXmlDeclaration = writeXmlDeclaration;
+      return this;
+    }
+
+    /** Specify the charset encoding. Default is UTF-8. */
+    public Builder withCharsetEncoding(Charset charsetEncoding) {
+      this.charsetEncoding = charsetEncoding;
+      return this;
+    }
+
+    /**
+     * The protocol of the envelope. Default is "SOAP 1.1 Protocol". Envelope prefixes are the same
+     * as SAAJ uses.
+     *
+     * @param soapProtocol either {@link SOAPConstants#SOAP_1_1_PROTOCOL} or
+     *        {@link SOAPConstants#SOAP_1_2_PROTOCOL}.
+     */
+    public Builder withSOAPProtocol(String soapProtocol) {
+      if (SOAPConstants.SOAP_1_1_PROTOCOL.equals(soapProtocol)) {
+        this.envelopeNamespace = SOAPConstants.URI_NS_SOAP_1_1_ENVELOPE;
+        this.envelopePrefix = "SOAP-ENV";
+      } else if (SOAPConstants.SOAP_1_2_PROTOCOL.equals(soapProtocol)) {
+        this.envelopeNamespace = SOAPConstants.URI_NS_SOAP_1_2_ENVELOPE;
+        this.envelopePrefix = SOAPConstants.SOAP_ENV_PREFIX;
+      } else {
+        throw new IllegalArgumentException("Unsupported SOAP protocol: " + soapProtocol);
+      }
+      return this;
+    }
+
+    public StAXSOAPEncoder build() {
+      if (jaxbContextFactory == null) {
+        throw new IllegalStateException("JAXBContextFactory must be non-null");
+      }
+      return new StAXSOAPEncoder(this);
+    }
+  }
+}
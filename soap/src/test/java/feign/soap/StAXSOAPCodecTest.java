@@ -0,0 +1,194 @@
+/**
+ * Copyright 2012-2021 The Feign Authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package feign.soap;
+
+import static feign.Util.UTF_8;
+import static feign.assertj.FeignAssertions.assertThat;
+import java.io.IOException;
+import java.util.Collections;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.soap.SOAPConstants;
+import javax.xml.ws.soap.SOAPFaultException;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import feign.Request;
+import feign.Request.HttpMethod;
+import feign.RequestTemplate;
+import feign.Response;
+import feign.Util;
+import feign.codec.DecodeException;
+import feign.jaxb.JAXBContextFactory;
+
+public class StAXSOAPCodecTest {
+
+  @Rule
+  public final ExpectedException thrown = ExpectedException.none();
+
+  private final JAXBContextFactory jaxbContextFactory = new JAXBContextFactory.Builder().build();
+
+  @Test
+  public void encodesSoap() {
+    RequestTemplate template = new RequestTemplate();
+    new StAXSOAPEncoder(jaxbContextFactory).encode(new GetPrice("Apples"), GetPrice.class,
+        template);
+
+    assertThat(template).hasBody("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+        + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+        + "<SOAP-ENV:Header/>"
+        + "<SOAP-ENV:Body>"
+        + "<GetPrice><Item>Apples</Item></GetPrice>"
+        + "</SOAP-ENV:Body>"
+        + "</SOAP-ENV:Envelope>");
+  }
+
+  @Test
+  public void encodesSoap1_2WithoutXmlDeclaration() {
+    RequestTemplate template = new RequestTemplate();
+    new StAXSOAPEncoder.Builder()
+        .withJAXBContextFactory(jaxbContextFactory)
+        .withSOAPProtocol(SOAPConstants.SOAP_1_2_PROTOCOL)
+        .withWriteXmlDeclaration(false)
+        .build()
+        .encode(new GetPrice("Apples"), GetPrice.class, template);
+
+    assertThat(template).hasBody(
+        "<env:Envelope xmlns:env=\"http://www.w3.org/2003/05/soap-envelope\">"
+            + "<env:Header/>"
+            + "<env:Body>"
+            + "<GetPrice><Item>Apples</Item></GetPrice>"
+            + "</env:Body>"
+            + "</env:Envelope>");
+  }
+
+  @Test
+  public void decodesWhatSOAPEncoderWrites() throws IOException {
+    RequestTemplate template = new RequestTemplate();
+    new SOAPEncoder(jaxbContextFactory).encode(new GetPrice("Apples"), GetPrice.class, template);
+
+    Object decoded =
+        new StAXSOAPDecoder(jaxbContextFactory).decode(response(template.body()), GetPrice.class);
+
+    assertThat(decoded).isEqualTo(new GetPrice("Apples"));
+  }
+
+  @Test
+  public void decodesUsingNamespacesDeclaredOnEnvelope() throws IOException {
+    String envelope = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+        + "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" "
+        + "xmlns:xsd=\"http://www.w3.org/2001/XMLSchema\">"
+        + "<soap:Header><Session>abc</Session></soap:Header>"
+        + "<soap:Body>"
+        + "<GetPrice><Item xsi:type=\"xsd:string\">Apples</Item></GetPrice>"
+        + "</soap:Body>"
+        + "</soap:Envelope>";
+
+    Object decoded = new StAXSOAPDecoder(jaxbContextFactory)
+        .decode(response(envelope.getBytes(UTF_8)), GetPrice.class);
+
+    assertThat(decoded).isEqualTo(new GetPrice("Apples"));
+  }
+
+  @Test
+  public void emptyBodyDecodesToEmpty() throws IOException {
+    String envelope =
+        "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<SOAP-ENV:Body/>"
+            + "</SOAP-ENV:Envelope>";
+
+    assertThat(new StAXSOAPDecoder(jaxbContextFactory)
+        .decode(response(envelope.getBytes(UTF_8)), GetPrice.class)).isNull();
+  }
+
+  @Test
+  public void throwsSOAPFaultException1_1() throws IOException {
+    thrown.expect(SOAPFaultException.class);
+    thrown.expectMessage("Message was not SOAP 1.1 compliant");
+
+    new StAXSOAPDecoder(jaxbContextFactory)
+        .decode(response(resource("/samples/SOAP_1_1_FAULT.xml")), GetPrice.class);
+  }
+
+  @Test
+  public void throwsSOAPFaultException1_2() throws IOException {
+    thrown.expect(SOAPFaultException.class);
+    thrown.expectMessage("Processing error");
+
+    new StAXSOAPDecoder(jaxbContextFactory)
+        .decode(response(resource("/samples/SOAP_1_2_FAULT.xml")), GetPrice.class);
+  }
+
+  @Test
+  public void rejectsNonEnvelope() throws IOException {
+    thrown.expect(DecodeException.class);
+    thrown.expectMessage("Expected a SOAP Envelope, but found GetPrice");
+
+    new StAXSOAPDecoder(jaxbContextFactory).decode(
+        response("<GetPrice><Item>Apples</Item></GetPrice>".getBytes(UTF_8)), GetPrice.class);
+  }
+
+  @Test
+  public void notFoundDecodesToEmpty() throws IOException {
+    Response response = Response.builder()
+        .status(404)
+        .reason("NOT FOUND")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .build();
+
+    assertThat((byte[]) new StAXSOAPDecoder(jaxbContextFactory).decode(response, byte[].class))
+        .isEmpty();
+  }
+
+  private static Response response(byte[] body) {
+    return Response.builder()
+        .status(200)
+        .reason("OK")
+        .request(Request.create(HttpMethod.GET, "/api", Collections.emptyMap(), null, Util.UTF_8))
+        .headers(Collections.emptyMap())
+        .body(body)
+        .build();
+  }
+
+  private static byte[] resource(String path) throws IOException {
+    return Util.toByteArray(StAXSOAPCodecTest.class.getResourceAsStream(path));
+  }
+
+  @XmlRootElement(name = "GetPrice")
+  @XmlAccessorType(XmlAccessType.FIELD)
+  static class GetPrice {
+
+    @XmlElement(name = "Item")
+    String item;
+
+    GetPrice() {}
+
+    GetPrice(String item) {
+      this.item = item;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof GetPrice && item.equals(((GetPrice) obj).item);
+    }
+
+    @Override
+    public int hashCode() {
+      return item.hashCode();
+    }
+  }
+}